@@ -17,6 +17,12 @@ repositories {
 
 dependencies {
     implementation("com.discord4j:discord4j-core:3.2.3")
+    // Optional, only needed by bots using MicrometerInteractionMetrics
+    compileOnly("io.micrometer:micrometer-core:1.8.5")
+
+    testImplementation("org.junit.jupiter:junit-jupiter:5.8.2")
+    // The inline mock maker is needed to mock the final entity classes of D4J
+    testImplementation("org.mockito:mockito-inline:4.11.0")
 }
 
 group = "dev.hc224"
@@ -48,3 +54,7 @@ publishing {
 tasks.withType<JavaCompile>() {
     options.encoding = "UTF-8"
 }
+
+tasks.withType<Test>() {
+    useJUnitPlatform()
+}
@@ -0,0 +1,38 @@
+package dev.hc224.slashlib;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the {@link Scheduler} used to execute commands with {@link dev.hc224.slashlib.commands.ExecutionMode#BLOCKING}.
+ *
+ * Virtual threads are used when the JVM supports them. As this library targets Java 8 they are found reflectively,
+ *  falling back to {@link Schedulers#boundedElastic()}.
+ */
+final class BlockingSchedulers {
+    private static final Logger logger = Loggers.getLogger(BlockingSchedulers.class);
+
+    private BlockingSchedulers() {}
+
+    /**
+     * @return a scheduler running each task on a new virtual thread, or the bounded elastic scheduler if unsupported
+     */
+    static Scheduler create() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService executor = (ExecutorService) method.invoke(null);
+            logger.debug("Executing blocking commands on virtual threads");
+            return Schedulers.fromExecutorService(executor, "slashlib-virtual");
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Not available before Java 21, or a preview feature before then
+            logger.debug("Virtual threads are unavailable, executing blocking commands on the bounded elastic scheduler");
+            return Schedulers.boundedElastic();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package dev.hc224.slashlib;
+
+import discord4j.common.util.Snowflake;
+import discord4j.core.event.EventDispatcher;
+import discord4j.core.event.domain.guild.GuildDeleteEvent;
+import discord4j.core.event.domain.guild.MemberLeaveEvent;
+import discord4j.core.event.domain.guild.MemberUpdateEvent;
+import discord4j.core.event.domain.role.RoleDeleteEvent;
+import discord4j.core.event.domain.role.RoleUpdateEvent;
+import discord4j.core.object.entity.Member;
+import discord4j.core.object.entity.Role;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cache of the bot's own member in each guild and its roles, used by
+ *  {@link dev.hc224.slashlib.context.ContextBuilder#requireBotMember()} and
+ *  {@link dev.hc224.slashlib.context.ContextBuilder#requestBotMember()} so the bot member is only fetched again
+ *  when it changed.
+ *
+ * When registered through {@link GenericSlashLib#registerAsListener(EventDispatcher)} the member of a guild is
+ *  removed when the bot member is updated or one of its roles is deleted, and the roles are removed when a role of
+ *  the guild is updated. Everything stored for a guild is removed when the bot leaves it. Entries are also dropped once older than the time to live, in case
+ *  an event was missed.
+ *
+ * Set with {@link GenericSlashLibBuilder#setBotMemberCache(BotMemberCache)}, no cache is used by default.
+ */
+public class BotMemberCache {
+    private static final Logger logger = Loggers.getLogger(BotMemberCache.class);
+
+    private final Map<Long, Entry> entries;
+    // The generation of each guild, incremented to stop a member fetched during an invalidation being stored
+    private final Map<Long, AtomicLong> guildGenerations;
+    private final long timeToLiveNanos;
+
+    /**
+     * @param timeToLive how long a member can be used for, even without any invalidating events
+     */
+    public BotMemberCache(Duration timeToLive) {
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("The time to live must be positive");
+        }
+        this.entries = new ConcurrentHashMap<>();
+        this.guildGenerations = new ConcurrentHashMap<>();
+        this.timeToLiveNanos = timeToLive.toNanos();
+    }
+
+    /**
+     * @param guildId the ID of the guild
+     * @param fetch fetches the bot member if it isn't cached
+     * @return the member of the bot in the guild, from the cache if present
+     */
+    public Mono<Member> getBotMember(Snowflake guildId, Mono<Member> fetch) {
+        return Mono.defer(() -> {
+            Entry entry = getEntry(guildId.asLong());
+            if (entry != null) {
+                return Mono.just(entry.member);
+            }
+            long generation = getGeneration(guildId.asLong());
+            return fetch.doOnNext(member -> {
+                // The bot member was invalidated while it was fetched, it may already be outdated
+                if (generation == getGeneration(guildId.asLong())) {
+                    entries.put(guildId.asLong(), new Entry(member, System.nanoTime()));
+                }
+            });
+        });
+    }
+
+    /**
+     * @param guildId the ID of the guild
+     * @param fetch fetches the bot member if it isn't cached
+     * @return the roles of the bot in the guild, from the cache if present
+     */
+    public Mono<List<Role>> getBotRoles(Snowflake guildId, Mono<Member> fetch) {
+        return getBotMember(guildId, fetch)
+            .flatMap(member -> {
+                Entry entry = getEntry(guildId.asLong());
+                // Not stored as it was invalidated while fetched, the roles are fetched without being stored
+                if (entry == null || entry.member != member) {
+                    return member.getRoles().collectList();
+                }
+                // Removed so a failed fetch is retried instead of the error being cached
+                return entry.getRoles().doOnError(t -> invalidateRoles(guildId));
+            });
+    }
+
+    /**
+     * Remove the bot member and roles of a guild.
+     *
+     * @param guildId the ID of the guild
+     */
+    public void invalidateGuild(Snowflake guildId) {
+        guildGenerations.computeIfAbsent(guildId.asLong(), id -> new AtomicLong()).incrementAndGet();
+        entries.remove(guildId.asLong());
+    }
+
+    /**
+     * Remove the bot member of a guild the bot left, and forget the guild.
+     *
+     * @param guildId the ID of the guild
+     */
+    public void removeGuild(Snowflake guildId) {
+        // Dropped rather than incremented so left guilds aren't kept, a fetch which started before it was dropped
+        //  can still store the bot member until it expires
+        guildGenerations.remove(guildId.asLong());
+        entries.remove(guildId.asLong());
+    }
+
+    /**
+     * Remove the roles of the bot in a guild, keeping the member.
+     *
+     * @param guildId the ID of the guild
+     */
+    public void invalidateRoles(Snowflake guildId) {
+        entries.computeIfPresent(guildId.asLong(), (id, entry) -> new Entry(entry.member, entry.createdAt));
+    }
+
+    /**
+     * Remove every bot member.
+     */
+    public void invalidateAll() {
+        guildGenerations.values().forEach(AtomicLong::incrementAndGet);
+        entries.clear();
+    }
+
+    /**
+     * @return the amount of guilds with a stored bot member, including expired members not yet removed
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Listen for the events which change the bot member or its roles and invalidate them.
+     * Called by {@link GenericSlashLib#registerAsListener(EventDispatcher)}.
+     *
+     * @param eventDispatcher the event dispatcher to listen to
+     */
+    void registerInvalidation(EventDispatcher eventDispatcher) {
+        Flux.merge(
+                eventDispatcher.on(MemberUpdateEvent.class)
+                    .filter(event -> event.getMemberId().equals(event.getClient().getSelfId()))
+                    .doOnNext(event -> invalidateGuild(event.getGuildId())),
+                eventDispatcher.on(MemberLeaveEvent.class)
+                    .filter(event -> event.getUser().getId().equals(event.getClient().getSelfId()))
+                    .doOnNext(event -> removeGuild(event.getGuildId())),
+                eventDispatcher.on(GuildDeleteEvent.class)
+                    .doOnNext(event -> {
+                        // An unavailable guild is only in an outage, the bot is still in it
+                        if (event.isUnavailable()) {
+                            invalidateGuild(event.getGuildId());
+                        } else {
+                            removeGuild(event.getGuildId());
+                        }
+                    }),
+                // The bot member lists the IDs of its roles, a deleted role may be one of them
+                eventDispatcher.on(RoleDeleteEvent.class)
+                    .doOnNext(event -> invalidateGuild(event.getGuildId())),
+                eventDispatcher.on(RoleUpdateEvent.class)
+                    .doOnNext(event -> invalidateRoles(event.getCurrent().getGuildId())))
+            .onErrorResume(t -> {
+                logger.error("Error while invalidating cached bot members");
+                logger.error(t.getClass().getCanonicalName() + ": " + t.getMessage());
+                return Mono.empty();
+            })
+            .subscribe();
+    }
+
+    /**
+     * @param guildId the ID of the guild
+     * @return the entry of the guild, null if not stored or expired
+     */
+    private Entry getEntry(long guildId) {
+        Entry entry = entries.get(guildId);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.createdAt > timeToLiveNanos) {
+            entries.remove(guildId, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private long getGeneration(long guildId) {
+        AtomicLong generation = guildGenerations.get(guildId);
+        return (generation == null) ? 0 : generation.get();
+    }
+
+    /**
+     * A stored bot member, with its roles fetched on first use.
+     */
+    private static final class Entry {
+        private final Member member;
+        private final long createdAt;
+        private final Mono<List<Role>> roles;
+
+        private Entry(Member member, long createdAt) {
+            this.member = member;
+            this.createdAt = createdAt;
+            this.roles = member.getRoles().collectList().cache();
+        }
+
+        private Mono<List<Role>> getRoles() {
+            return roles;
+        }
+    }
+}
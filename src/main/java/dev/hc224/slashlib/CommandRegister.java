@@ -5,20 +5,30 @@ import dev.hc224.slashlib.commands.generic.GenericChatCommand;
 import dev.hc224.slashlib.commands.generic.GenericMessageCommand;
 import dev.hc224.slashlib.commands.generic.GenericUserCommand;
 import dev.hc224.slashlib.context.*;
+import dev.hc224.slashlib.jfr.FlightEvents;
 import discord4j.common.util.Snowflake;
+import discord4j.core.event.EventDispatcher;
+import discord4j.core.event.domain.guild.GuildDeleteEvent;
 import discord4j.core.object.command.ApplicationCommand;
 import discord4j.discordjson.Id;
 import discord4j.discordjson.json.ApplicationCommandData;
 import discord4j.discordjson.json.ApplicationCommandRequest;
 import discord4j.discordjson.possible.Possible;
 import discord4j.rest.service.ApplicationService;
+import reactor.core.publisher.Mono;
 import reactor.util.Logger;
 import reactor.util.Loggers;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
 
 /**
  * Logic to interact with Discord and create/modify/delete guild and global commands.
@@ -38,14 +48,22 @@ public class CommandRegister<
         > {
     private static final Logger logger = Loggers.getLogger(CommandRegister.class);
 
-    // Internal Command Structure used to lookup commands
-    private final CommandStructure<IC, IB, UC, UB, MC, MB> commandStructure;
+    // Internal Command Structure used to lookup commands, swapped for a new snapshot on every change
+    private final AtomicReference<CommandStructure<IC, IB, UC, UB, MC, MB>> commandStructure;
     // The provider of guild command state, used when registering/validating guild commands with discord
     private final GuildCommandStateProvider guildCommandStateProvider;
+    // The result of the last synchronization with Discord, null if commands were never synchronized
+    private volatile CommandSyncResult lastSyncResult;
 
     protected CommandRegister(GuildCommandStateProvider guildCommandStateProvider) {
-        this.commandStructure = new CommandStructure<>();
+        this(new CommandStructure<>(), guildCommandStateProvider);
+    }
+
+    protected CommandRegister(CommandStructure<IC, IB, UC, UB, MC, MB> commandStructure,
+                              GuildCommandStateProvider guildCommandStateProvider) {
+        this.commandStructure = new AtomicReference<>(commandStructure);
         this.guildCommandStateProvider = guildCommandStateProvider;
+        this.lastSyncResult = null;
     }
 
     /**
@@ -72,34 +90,34 @@ public class CommandRegister<
                    List<GenericMessageCommand<MC, MB>> guildMessageCommands,
                    GuildCommandStateProvider guildCommandStateProvider) {
         logger.debug("Creating CommandRegister");
-        CommandRegister<IC, IB, UC, UB, MC, MB> commandRegister = new CommandRegister<>(guildCommandStateProvider);
+        CommandStructure.Builder<IC, IB, UC, UB, MC, MB> structureBuilder = CommandStructure.builder();
         for (GenericChatCommand<IC, IB> command : globalChatCommands) {
             logger.debug("Adding Global Chat Command: " + command.getName());
-            commandRegister.commandStructure.addGlobalChatCommand(command);
+            structureBuilder.addGlobalChatCommand(command);
         }
         for (GenericUserCommand<UC, UB> command : globalUserCommands) {
             logger.debug("Adding Global User Command: " + command.getName());
-            commandRegister.commandStructure.addGlobalUserCommand(command);
+            structureBuilder.addGlobalUserCommand(command);
         }
         for (GenericMessageCommand<MC, MB> command : globalMessageCommands) {
             logger.debug("Adding Global Message Command: " + command.getName());
-            commandRegister.commandStructure.addGlobalMessageCommand(command);
+            structureBuilder.addGlobalMessageCommand(command);
         }
         for (GenericChatCommand<IC, IB> command : guildChatCommands) {
             logger.debug("Adding Guild Chat Command: " + command.getName());
-            commandRegister.commandStructure.addGuildChatCommand(command);
+            structureBuilder.addGuildChatCommand(command);
         }
         for (GenericUserCommand<UC, UB> command : guildUserCommands) {
             logger.debug("Adding Guild User Command: " + command.getName());
-            commandRegister.commandStructure.addGuildUserCommand(command);
+            structureBuilder.addGuildUserCommand(command);
         }
         for (GenericMessageCommand<MC, MB> command : guildMessageCommands) {
             logger.debug("Adding Guild Message Command: " + command.getName());
-            commandRegister.commandStructure.addGuildMessageCommand(command);
+            structureBuilder.addGuildMessageCommand(command);
         }
 
         logger.debug("CommandRegister created");
-        return commandRegister;
+        return new CommandRegister<>(structureBuilder.build(), guildCommandStateProvider);
     }
 
     /**
@@ -115,6 +133,17 @@ public class CommandRegister<
      *                               (bot has an interaction type registered this library didn't create)
      */
     public int registerGlobalCommands(ApplicationService applicationService, long applicationId) {
+        return recordSyncResult(true, () -> FlightEvents.recordSync(0, () -> syncGlobalCommands(applicationService, applicationId)));
+    }
+
+    /**
+     * Synchronize all global application commands with Discord, see {@link #registerGlobalCommands(ApplicationService, long)}.
+     *
+     * @param applicationService the bots {@link ApplicationService}
+     * @param applicationId the bots Application ID, must match the service
+     * @return the number of application commands created/modified/deleted
+     */
+    private int syncGlobalCommands(ApplicationService applicationService, long applicationId) {
         logger.debug("Registering application commands with Discord");
 
         // Since Chat, User, and Message commands can have name collisions we need to allow for that
@@ -152,10 +181,14 @@ public class CommandRegister<
             .blockLast();
 
         // finally, validate the local application commands with the registered ones
+        // The IDs are collected and published in a single new snapshot once all commands are validated
+        CommandStructure<IC, IB, UC, UB, MC, MB> structure = getCommandStructure();
+        Map<BaseCommand, Id> commandIds = new HashMap<>();
         int totalChanges = 0;
-        totalChanges += validateGlobalCommands(applicationService, applicationId, discordGlobalChatCommands, commandStructure.getGlobalChatCommands());
-        totalChanges += validateGlobalCommands(applicationService, applicationId, discordGlobalUserCommands, commandStructure.getGlobalUserCommands());
-        totalChanges += validateGlobalCommands(applicationService, applicationId, discordGlobalMessageCommands, commandStructure.getGlobalMessageCommands());
+        totalChanges += validateGlobalCommands(applicationService, applicationId, discordGlobalChatCommands, structure.getGlobalChatCommands(), commandIds);
+        totalChanges += validateGlobalCommands(applicationService, applicationId, discordGlobalUserCommands, structure.getGlobalUserCommands(), commandIds);
+        totalChanges += validateGlobalCommands(applicationService, applicationId, discordGlobalMessageCommands, structure.getGlobalMessageCommands(), commandIds);
+        updateCommandStructure(builder -> commandIds.forEach((command, id) -> builder.putGlobalCommandId(command, id.asLong())));
 
         logger.info("Created/Updated/Deleted " + totalChanges + " global application commands");
         return totalChanges;
@@ -175,75 +208,123 @@ public class CommandRegister<
      *                               (bot has an interaction type registered this library didn't create)
      */
     public int registerGuildCommands(ApplicationService applicationService, long applicationId, List<Long> guildIds) {
+        return recordSyncResult(false, () -> syncGuildCommands(applicationService, applicationId, guildIds));
+    }
+
+    /**
+     * Synchronize the guild application commands of each guild with Discord,
+     *  see {@link #registerGuildCommands(ApplicationService, long, List)}.
+     *
+     * @param applicationService the bots {@link ApplicationService}
+     * @param applicationId the bots Application ID, must match the service
+     * @param guildIds the {@link Snowflake} ID of each guild to register commands for
+     * @return the number of guilds which had their application commands created/modified/deleted
+     */
+    private int syncGuildCommands(ApplicationService applicationService, long applicationId, List<Long> guildIds) {
         logger.debug("Registering guild application commands with Discord for " + guildIds.size() + " guilds.");
 
+        CommandStructure<IC, IB, UC, UB, MC, MB> structure = getCommandStructure();
+        // The IDs of every guild are collected and published in a single new snapshot, as each snapshot copies
+        //  the IDs of every guild
+        Map<Long, Map<BaseCommand, Long>> guildCommandIds = new HashMap<>();
         int totalChanges = 0;
-        for (long guildId : guildIds) {
-            // Since Chat, User, and Message commands can have name collisions we need to allow for that
-            //  possibility by spitting them into multiple containers
-            Map<String, ApplicationCommandData> discordGuildChatCommands = new HashMap<>();
-            Map<String, ApplicationCommandData> discordGuildUserCommands = new HashMap<>();
-            Map<String, ApplicationCommandData> discordGuildMessageCommands = new HashMap<>();
-
-            // Get the application commands and put them into their own maps based on type
-            // Also ensure we understand all types
-            applicationService
-                .getGuildApplicationCommands(applicationId, guildId)
-                .doOnNext(acd -> {
-                    if (!acd.type().isAbsent()) {
-                        if (acd.type().get() == ApplicationCommand.Type.CHAT_INPUT.getValue()) {
-                            logger.debug("Received Guild 'CHAT_INPUT' application command with name: " + acd.name());
-                            discordGuildChatCommands.put(acd.name(), acd);
-                        } else if (acd.type().get() == ApplicationCommand.Type.USER.getValue()) {
-                            logger.debug("Received Guild '      USER' application command with name: " + acd.name());
-                            discordGuildUserCommands.put(acd.name(), acd);
-                        } else if (acd.type().get() == ApplicationCommand.Type.MESSAGE.getValue()) {
-                            logger.debug("Received Guild '   MESSAGE' application command with name: " + acd.name());
-                            discordGuildMessageCommands.put(acd.name(), acd);
-                        } else {
-                            // This should never reasonably occur but in the event it does we do not want to continue
-                            //  with updating the commands as an unknown interaction was registered externally.
-                            throw new IllegalStateException("Unknown interaction type (" + acd.type().get() + ") with name: " + acd.name());
-                        }
-                    } else {
-                        // Thanks Discord, as a solution, do not call this logic until Discord fixes this.
-                        // Unfortunately that must be implemented on the user's side.
-                        throw new IllegalStateException("Discord did not return a type for an interaction with name: " + acd.name());
-                    }
-                })
-                .blockLast();
-
-            // finally, validate the local application commands with the registered ones
-            int localChanges = 0;
-            localChanges += validateGuildCommands(
-                    applicationService,
-                    applicationId,
-                    guildId,
-                    discordGuildChatCommands,
-                    commandStructure.getGuildChatCommands(),
-                    guildCommandStateProvider.getGuildChatCommands(Snowflake.of(guildId)));
-            localChanges += validateGuildCommands(
-                    applicationService,
-                    applicationId,
-                    guildId,
-                    discordGuildUserCommands,
-                    commandStructure.getGuildUserCommands(),
-                    guildCommandStateProvider.getGuildUserCommands(Snowflake.of(guildId)));
-            localChanges += validateGuildCommands(
-                    applicationService,
-                    applicationId,
-                    guildId,
-                    discordGuildMessageCommands,
-                    commandStructure.getGuildMessageCommands(),
-                    guildCommandStateProvider.getGuildMessageCommands(Snowflake.of(guildId)));
-            logger.info("Created/Updated/Deleted " + totalChanges + " guild application commands for guild " + guildId);
-            if (localChanges > 0) totalChanges++;
+        try {
+            for (long guildId : guildIds) {
+                Map<BaseCommand, Long> commandIds = new HashMap<>();
+                int localChanges = FlightEvents.recordSync(guildId, () -> syncGuildCommands(applicationService, applicationId, guildId, structure, commandIds));
+                guildCommandIds.put(guildId, commandIds);
+                if (localChanges > 0) totalChanges++;
+            }
+        } finally {
+            // Keep the IDs of the guilds which were registered before a failure
+            if (!guildCommandIds.isEmpty()) {
+                updateCommandStructure(builder -> guildCommandIds.forEach(builder::putGuildCommandIds));
+            }
         }
 
         logger.info("Created/Updated/Deleted " + totalChanges + " guild application commands");
         return totalChanges;
     }
 
+    /**
+     * Synchronize the guild application commands of a single guild with Discord.
+     *
+     * @param applicationService the bots {@link ApplicationService}
+     * @param applicationId the bots Application ID, must match the service
+     * @param guildId the ID of the guild to register commands for
+     * @param structure the command structure to register the guild commands of
+     * @param commandIds the map to put the ID of each guild command in once it's created/updated/validated
+     * @return the number of application commands created/modified/deleted in the guild
+     */
+    private int syncGuildCommands(ApplicationService applicationService,
+                                  long applicationId,
+                                  long guildId,
+                                  CommandStructure<IC, IB, UC, UB, MC, MB> structure,
+                                  Map<BaseCommand, Long> commandIds) {
+        // Since Chat, User, and Message commands can have name collisions we need to allow for that
+        //  possibility by spitting them into multiple containers
+        Map<String, ApplicationCommandData> discordGuildChatCommands = new HashMap<>();
+        Map<String, ApplicationCommandData> discordGuildUserCommands = new HashMap<>();
+        Map<String, ApplicationCommandData> discordGuildMessageCommands = new HashMap<>();
+
+        // Get the application commands and put them into their own maps based on type
+        // Also ensure we understand all types
+        applicationService
+            .getGuildApplicationCommands(applicationId, guildId)
+            .doOnNext(acd -> {
+                if (!acd.type().isAbsent()) {
+                    if (acd.type().get() == ApplicationCommand.Type.CHAT_INPUT.getValue()) {
+                        logger.debug("Received Guild 'CHAT_INPUT' application command with name: " + acd.name());
+                        discordGuildChatCommands.put(acd.name(), acd);
+                    } else if (acd.type().get() == ApplicationCommand.Type.USER.getValue()) {
+                        logger.debug("Received Guild '      USER' application command with name: " + acd.name());
+                        discordGuildUserCommands.put(acd.name(), acd);
+                    } else if (acd.type().get() == ApplicationCommand.Type.MESSAGE.getValue()) {
+                        logger.debug("Received Guild '   MESSAGE' application command with name: " + acd.name());
+                        discordGuildMessageCommands.put(acd.name(), acd);
+                    } else {
+                        // This should never reasonably occur but in the event it does we do not want to continue
+                        //  with updating the commands as an unknown interaction was registered externally.
+                        throw new IllegalStateException("Unknown interaction type (" + acd.type().get() + ") with name: " + acd.name());
+                    }
+                } else {
+                    // Thanks Discord, as a solution, do not call this logic until Discord fixes this.
+                    // Unfortunately that must be implemented on the user's side.
+                    throw new IllegalStateException("Discord did not return a type for an interaction with name: " + acd.name());
+                }
+            })
+            .blockLast();
+
+        // finally, validate the local application commands with the registered ones
+        int localChanges = 0;
+        localChanges += validateGuildCommands(
+                applicationService,
+                applicationId,
+                guildId,
+                discordGuildChatCommands,
+                structure.getGuildChatCommands(),
+                guildCommandStateProvider.getGuildChatCommands(Snowflake.of(guildId)),
+                commandIds);
+        localChanges += validateGuildCommands(
+                applicationService,
+                applicationId,
+                guildId,
+                discordGuildUserCommands,
+                structure.getGuildUserCommands(),
+                guildCommandStateProvider.getGuildUserCommands(Snowflake.of(guildId)),
+                commandIds);
+        localChanges += validateGuildCommands(
+                applicationService,
+                applicationId,
+                guildId,
+                discordGuildMessageCommands,
+                structure.getGuildMessageCommands(),
+                guildCommandStateProvider.getGuildMessageCommands(Snowflake.of(guildId)),
+                commandIds);
+        logger.info("Created/Updated/Deleted " + localChanges + " guild application commands for guild " + guildId);
+        return localChanges;
+    }
+
     /*
      * Bulk Override all commands with the local state. This *should* use the server-side logic
      *  to diff and update changed commands. Which *should* be equivalent to
@@ -279,13 +360,15 @@ public class CommandRegister<
      * @param applicationId the bots application id for the application service
      * @param registeredCommands the commands registered with discord
      * @param localCommands the commands created locally
+     * @param commandIds the map to put the ID of each local command in once it's created/updated/validated
      * @return the number of commands changed
      */
     @SuppressWarnings("ConstantConditions") // The ID of the ApplicationCommandData will be present
     private <B extends BaseCommand> int validateGlobalCommands(ApplicationService applicationService,
                                                                long applicationId,
                                                                Map<String, ApplicationCommandData> registeredCommands,
-                                                               Map<String, B> localCommands) {
+                                                               Map<String, B> localCommands,
+                                                               Map<BaseCommand, Id> commandIds) {
         int changes = 0;
         // Create/Update commands
         for (BaseCommand localCommand : localCommands.values()) {
@@ -294,7 +377,7 @@ public class CommandRegister<
             if (registeredCommands.get(request.name()) == null) {
                 logger.info("Creating Global " + ApplicationCommand.Type.of(request.type().get()) + " Command: " + request.name());
                 ApplicationCommandData acd = applicationService.createGlobalApplicationCommand(applicationId, request).block();
-                assignGuildCommandId(localCommand, acd.id());
+                commandIds.put(localCommand, acd.id());
                 changes++;
                 continue;
             }
@@ -303,10 +386,10 @@ public class CommandRegister<
             if (!commandDataEqualsRequest(discordCmd, request)) {
                 logger.info("Updating Global " + ApplicationCommand.Type.of(request.type().get()) + " Command: " + discordCmd.name());
                 ApplicationCommandData acd = applicationService.modifyGlobalApplicationCommand(applicationId, discordCmd.id().asLong(), request).block();
-                assignGuildCommandId(localCommand, acd.id());
+                commandIds.put(localCommand, acd.id());
                 changes++;
             } else {
-                assignGuildCommandId(localCommand, registeredCommands.get(request.name()).id());
+                commandIds.put(localCommand, registeredCommands.get(request.name()).id());
             }
         }
 
@@ -332,14 +415,17 @@ public class CommandRegister<
      * @param registeredCommands the commands registered with discord
      * @param localCommands the commands created locally
      * @param allowedCommands the commands the guild is allowed to have
+     * @param commandIds the map to put the ID of each local command in once it's created/updated/validated
      * @return the number of commands changed
      */
+    @SuppressWarnings("ConstantConditions") // The ID of the ApplicationCommandData will be present
     private <B extends BaseCommand> int validateGuildCommands(ApplicationService applicationService,
                                                               long applicationId,
                                                               long guildId,
                                                               Map<String, ApplicationCommandData> registeredCommands,
                                                               Map<String, B> localCommands,
-                                                              Set<String> allowedCommands) {
+                                                              Set<String> allowedCommands,
+                                                              Map<BaseCommand, Long> commandIds) {
         int changes = 0;
         // Create/Update commands
         for (BaseCommand localCommand : localCommands.values()) {
@@ -352,7 +438,8 @@ public class CommandRegister<
             // Command doesn't exist discord side, create it
             if (registeredCommands.get(request.name()) == null) {
                 logger.info("Creating Guild (" + guildId + ") " + ApplicationCommand.Type.of(request.type().get()) + " Command: " + request.name());
-                applicationService.createGuildApplicationCommand(applicationId, guildId, request).block();
+                ApplicationCommandData acd = applicationService.createGuildApplicationCommand(applicationId, guildId, request).block();
+                commandIds.put(localCommand, acd.id().asLong());
                 changes++;
                 continue;
             }
@@ -360,10 +447,11 @@ public class CommandRegister<
             ApplicationCommandData discordCmd = registeredCommands.get(request.name());
             if (!commandDataEqualsRequest(discordCmd, request)) {
                 logger.info("Updating Guild (" + guildId + ") " + ApplicationCommand.Type.of(request.type().get()) + " Command: " + discordCmd.name());
-                applicationService.modifyGuildApplicationCommand(applicationId, guildId, discordCmd.id().asLong(), request).block();
+                ApplicationCommandData acd = applicationService.modifyGuildApplicationCommand(applicationId, guildId, discordCmd.id().asLong(), request).block();
+                commandIds.put(localCommand, acd.id().asLong());
                 changes++;
             } else {
-                assignGuildCommandId(localCommand, registeredCommands.get(request.name()).id());
+                commandIds.put(localCommand, discordCmd.id().asLong());
             }
         }
 
@@ -379,27 +467,6 @@ public class CommandRegister<
         return changes;
     }
 
-    /**
-     * Create an entry in the {@link CommandStructure} mapping a global commands ID to it's class.
-     *
-     * As the logic for registering global commands is generified, and it doesn't make sense to just return
-     *  existing/created/updated commands, we check the class type of the created/modified command to create the
-     *  correct mapping.
-     *
-     * @param command the command to map by its id
-     * @param id the id of the command
-     */
-    @SuppressWarnings("unchecked") // No errors observed when casting in testing
-    private void assignGuildCommandId(BaseCommand command, Id id) {
-        if (command instanceof GenericChatCommand) {
-            commandStructure.addGlobalChatCommand((GenericChatCommand<IC, IB>) command, Snowflake.of(id));
-        } else if (command instanceof GenericUserCommand) {
-            commandStructure.addGlobalUserCommand((GenericUserCommand<UC, UB>) command, Snowflake.of(id));
-        } else if (command instanceof GenericMessageCommand) {
-            commandStructure.addGlobalMessageCommand((GenericMessageCommand<MC, MB>) command, Snowflake.of(id));
-        }
-    }
-
     /**
      * Check if a slash commands data returned by Discord matches the local slash command request.
      * The names of each parameter should be the same.
@@ -441,6 +508,92 @@ public class CommandRegister<
         return p1.toOptional().orElse(true) == p2.toOptional().orElse(true);
     }
 
-    public CommandStructure<IC, IB, UC, UB, MC, MB> getCommandStructure() { return commandStructure; }
+    /**
+     * Run a synchronization with Discord and keep its result, including the failure if it throws.
+     *
+     * @param global true if global commands are synchronized, false if guild commands are
+     * @param sync synchronizes the commands, returning the amount of changes
+     * @return the amount of changes
+     */
+    private int recordSyncResult(boolean global, IntSupplier sync) {
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        try {
+            int changes = sync.getAsInt();
+            lastSyncResult = new CommandSyncResult(global, startedAt, Duration.ofNanos(System.nanoTime() - start), changes, null);
+            return changes;
+        } catch (RuntimeException e) {
+            lastSyncResult = new CommandSyncResult(global, startedAt, Duration.ofNanos(System.nanoTime() - start), -1,
+                e.getClass().getSimpleName() + ": " + e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Forget the command IDs registered in a guild, such as when the bot leaves it.
+     * The commands are not deleted from Discord, interactions from the guild are resolved by name
+     *  until its commands are registered again.
+     *
+     * @param guildId the {@link Snowflake} ID of the guild
+     */
+    public void removeGuild(Snowflake guildId) {
+        // Most guilds have no IDs registered by this instance, don't publish an unchanged snapshot for them
+        if (getCommandStructure().getGuildCommandIds(guildId.asLong()).length > 0) {
+            updateCommandStructure(builder -> builder.removeGuild(guildId.asLong()));
+        }
+    }
+
+    /**
+     * Listen for the bot leaving guilds and forget the command IDs registered in them.
+     * Called by {@link GenericSlashLib#registerAsListener(EventDispatcher)}.
+     *
+     * @param eventDispatcher the event dispatcher to listen to
+     */
+    void registerInvalidation(EventDispatcher eventDispatcher) {
+        eventDispatcher.on(GuildDeleteEvent.class)
+            // An unavailable guild is only in an outage, the bot is still in it
+            .filter(event -> !event.isUnavailable())
+            .doOnNext(event -> removeGuild(event.getGuildId()))
+            .onErrorResume(t -> {
+                logger.error("Error while removing the command IDs of a guild");
+                logger.error(t.getClass().getCanonicalName() + ": " + t.getMessage());
+                return Mono.empty();
+            })
+            .subscribe();
+    }
+
+    /**
+     * Change the commands in use at runtime. The update is applied to a copy of the current snapshot which
+     *  is then published atomically, interactions being processed keep the snapshot they started with.
+     *
+     * The update may be applied more than once if another update is published at the same time,
+     *  so it should only change the builder.
+     * Commands added or removed this way still need to be synchronized with Discord, such as with
+     *  {@link CommandRegister#registerGlobalCommands(ApplicationService, long)}.
+     *
+     * @param update a consumer which changes the commands of a builder copied from the current snapshot
+     * @return the new snapshot which was published
+     */
+    public CommandStructure<IC, IB, UC, UB, MC, MB> updateCommandStructure(Consumer<CommandStructure.Builder<IC, IB, UC, UB, MC, MB>> update) {
+        CommandStructure<IC, IB, UC, UB, MC, MB> current;
+        CommandStructure<IC, IB, UC, UB, MC, MB> updated;
+        do {
+            current = commandStructure.get();
+            CommandStructure.Builder<IC, IB, UC, UB, MC, MB> builder = current.toBuilder();
+            update.accept(builder);
+            updated = builder.build();
+        } while (!commandStructure.compareAndSet(current, updated));
+        return updated;
+    }
+
+    /**
+     * @return the current snapshot of the {@link CommandStructure}
+     */
+    public CommandStructure<IC, IB, UC, UB, MC, MB> getCommandStructure() { return commandStructure.get(); }
+
+    /**
+     * @return the result of the last global or guild command synchronization, empty if commands were never synchronized
+     */
+    public Optional<CommandSyncResult> getLastSyncResult() { return Optional.ofNullable(lastSyncResult); }
     public GuildCommandStateProvider getGuildCommandStateProvider() { return guildCommandStateProvider; }
 }
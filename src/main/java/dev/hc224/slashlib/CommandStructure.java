@@ -1,16 +1,20 @@
 package dev.hc224.slashlib;
 
-import dev.hc224.slashlib.commands.generic.GenericChatCommand;
-import dev.hc224.slashlib.commands.generic.GenericMessageCommand;
-import dev.hc224.slashlib.commands.generic.GenericUserCommand;
+import dev.hc224.slashlib.commands.BaseCommand;
+import dev.hc224.slashlib.commands.InvalidCommandLocationException;
+import dev.hc224.slashlib.commands.generic.*;
 import dev.hc224.slashlib.context.*;
 import dev.hc224.slashlib.utility.CommandOptionPair;
-import discord4j.common.util.Snowflake;
+import dev.hc224.slashlib.utility.SnowflakeMap;
+import dev.hc224.slashlib.utility.SnowflakeMapView;
 import discord4j.core.event.domain.interaction.MessageInteractionEvent;
 import discord4j.core.event.domain.interaction.UserInteractionEvent;
 import discord4j.core.object.command.ApplicationCommandInteraction;
 import discord4j.core.object.command.ApplicationCommandInteractionOption;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -59,6 +63,16 @@ import java.util.Map;
  *
  * Guild commands are all in their own hashmaps to prevent name collisions as well, global commands have a second
  *  hashmap with their ID as the key for fast determination of guild/global commands.
+ * Guild commands also get an ID index once they are registered in a guild, along with the IDs registered in each
+ *  guild so they can be removed together.
+ *
+ * When a snapshot is built the chat command trees are also compiled into routes keyed by the command ID or name,
+ *  with the group and sub command names nested below, so an incoming interaction is resolved with one lookup
+ *  for each level of the path and no strings or pairs are allocated.
+ *
+ * Each instance is an immutable snapshot, changes are made with a copy-on-write {@link Builder} and the new snapshot
+ *  is published by {@link CommandRegister#updateCommandStructure(java.util.function.Consumer)}. Interactions are
+ *  always resolved against a single consistent snapshot without locking.
  */
 public class CommandStructure<
         CI extends ChatContext, CB extends ChatContextBuilder,
@@ -70,159 +84,591 @@ public class CommandStructure<
     private final Map<String, GenericMessageCommand<MC, MB>> globalMessageCommands;
 
     // Admittedly a bit redundant, but used to determine if a command is global
-    private final Map<Snowflake, GenericChatCommand<CI, CB>> globalChatCommandsById;
-    private final Map<Snowflake, GenericUserCommand<UC, UB>> globalUserCommandsById;
-    private final Map<Snowflake, GenericMessageCommand<MC, MB>> globalMessageCommandsById;
+    // Keyed by the primitive ID so a lookup doesn't allocate
+    private final SnowflakeMap<GenericChatCommand<CI, CB>> globalChatCommandsById;
+    private final SnowflakeMap<GenericUserCommand<UC, UB>> globalUserCommandsById;
+    private final SnowflakeMap<GenericMessageCommand<MC, MB>> globalMessageCommandsById;
 
     private final Map<String, GenericChatCommand<CI, CB>> guildChatCommands;
     private final Map<String, GenericUserCommand<UC, UB>> guildUserCommands;
     private final Map<String, GenericMessageCommand<MC, MB>> guildMessageCommands;
 
+    // Guild commands by the ID Discord gave them in each guild, filled when guild commands are registered
+    private final SnowflakeMap<GenericChatCommand<CI, CB>> guildChatCommandsById;
+    private final SnowflakeMap<GenericUserCommand<UC, UB>> guildUserCommandsById;
+    private final SnowflakeMap<GenericMessageCommand<MC, MB>> guildMessageCommandsById;
+    // The IDs of every command registered in a guild, used to remove them when a guild is removed or re-registered
+    private final SnowflakeMap<long[]> guildCommandIds;
+
+    // The chat command trees compiled into routes, nested by group and sub command name
+    private final SnowflakeMap<ChatRoute<CI, CB>> globalChatRoutesById;
+    private final SnowflakeMap<ChatRoute<CI, CB>> guildChatRoutesById;
+    private final Map<String, ChatRoute<CI, CB>> guildChatRoutes;
+
     /**
-     * Create the Command Structure used for Slash Commands
+     * Create an empty Command Structure, use {@link #builder()} or {@link #toBuilder()} to create one with commands.
      */
     public CommandStructure() {
-        globalChatCommands = new HashMap<>();
-        globalUserCommands = new HashMap<>();
-        globalMessageCommands = new HashMap<>();
+        this(new Builder<>());
+    }
+
+    /**
+     * Create a snapshot of the Command Structure from a builder, the maps of the builder are copied.
+     *
+     * @param builder the builder with the commands of this snapshot
+     */
+    private CommandStructure(Builder<CI, CB, UC, UB, MC, MB> builder) {
+        globalChatCommands = Collections.unmodifiableMap(new HashMap<>(builder.globalChatCommands));
+        globalUserCommands = Collections.unmodifiableMap(new HashMap<>(builder.globalUserCommands));
+        globalMessageCommands = Collections.unmodifiableMap(new HashMap<>(builder.globalMessageCommands));
+
+        globalChatCommandsById = new SnowflakeMap<>(builder.globalChatCommandsById);
+        globalUserCommandsById = new SnowflakeMap<>(builder.globalUserCommandsById);
+        globalMessageCommandsById = new SnowflakeMap<>(builder.globalMessageCommandsById);
+
+        guildChatCommands = Collections.unmodifiableMap(new HashMap<>(builder.guildChatCommands));
+        guildUserCommands = Collections.unmodifiableMap(new HashMap<>(builder.guildUserCommands));
+        guildMessageCommands = Collections.unmodifiableMap(new HashMap<>(builder.guildMessageCommands));
+
+        guildChatCommandsById = new SnowflakeMap<>(builder.guildChatCommandsById);
+        guildUserCommandsById = new SnowflakeMap<>(builder.guildUserCommandsById);
+        guildMessageCommandsById = new SnowflakeMap<>(builder.guildMessageCommandsById);
+        guildCommandIds = new SnowflakeMap<>(builder.guildCommandIds);
 
-        globalChatCommandsById = new HashMap<>();
-        globalUserCommandsById = new HashMap<>();
-        globalMessageCommandsById = new HashMap<>();
+        // The routes are always rebuilt from the commands so removed commands can't be left behind
+        Map<String, ChatRoute<CI, CB>> globalRoutes = routeCommands(globalChatCommands);
+        globalChatRoutesById = routeIds(globalChatCommandsById, globalRoutes);
+        guildChatRoutes = Collections.unmodifiableMap(routeCommands(guildChatCommands));
+        guildChatRoutesById = routeIds(guildChatCommandsById, guildChatRoutes);
 
-        guildChatCommands = new HashMap<>();
-        guildUserCommands = new HashMap<>();
-        guildMessageCommands = new HashMap<>();
+        // Compile the data requirements of every callable command once, commands which are already compiled are skipped
+        globalUserCommands.values().forEach(BaseCommand::compileFetchPlan);
+        globalMessageCommands.values().forEach(BaseCommand::compileFetchPlan);
+        guildUserCommands.values().forEach(BaseCommand::compileFetchPlan);
+        guildMessageCommands.values().forEach(BaseCommand::compileFetchPlan);
+    }
+
+    /**
+     * @return a new empty builder for a Command Structure
+     */
+    public static <CI extends ChatContext, CB extends ChatContextBuilder,
+            UC extends UserContext, UB extends UserContextBuilder,
+            MC extends MessageContext, MB extends MessageContextBuilder
+            > Builder<CI, CB, UC, UB, MC, MB> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * @return a new builder with a copy of the commands in this snapshot, this snapshot is not changed by the builder
+     */
+    public Builder<CI, CB, UC, UB, MC, MB> toBuilder() {
+        return new Builder<>(this);
     }
 
     /**
      * Get a Chat Command for an incoming event. First attempts to get a global by ID then a guild by name.
      *
+     * Prefer {@link CommandStructure#resolveChatCommand(ApplicationCommandInteraction)} on hot paths,
+     *  this method is kept for custom receivers which want both values at once.
+     *
      * @param aci the command interaction from the event received
-     * @return the {@link GenericUserCommand} that corresponds to the event
+     * @return the {@link GenericChatCommand} that corresponds to the event and the options for it
      */
     public CommandOptionPair<CI, CB> searchForChatCommand(ApplicationCommandInteraction aci) {
-        // Attempt to get the command by its ID if it is a global command, if not then get the guild command.
-        //noinspection OptionalGetWithoutIsPresent
-        GenericChatCommand<CI, CB> command = this.globalChatCommandsById
-                .getOrDefault(aci.getId().get(), this.guildChatCommands.get(aci.getName().get()));
-        List<ApplicationCommandInteractionOption> options = aci.getOptions();
-        // If there is only one option and it's a GenericSubCommand or SubCommandGroup option then search for it
-        if (options.size() == 1 && options.get(0).getType().getValue() < 3) {
-            return searchForChatCommand(command, options);
-        } else {
-            return new CommandOptionPair<>(command, options);
-        }
+        return new CommandOptionPair<>(resolveChatCommand(aci), getCallableOptions(aci.getOptions()));
     }
 
     /**
-     * Search for a second or third level command recursively
-     * @param command the command to check and search
-     * @param options the options for this command
-     * @return a callable command
+     * Get the callable Chat Command for an incoming event from the compiled routes.
+     * Global commands are found by their ID, then guild commands by their ID. A guild command is only
+     *  searched for by name if both fail, such as when guild commands weren't registered by this instance.
+     *
+     * Top level commands resolve with a single lookup, each group or sub command takes one more lookup
+     *  of its option name in the route above it. No path is built.
+     *
+     * @param aci the command interaction from the event received
+     * @return the callable {@link GenericChatCommand} that corresponds to the event, null if it is unknown
      */
-    private CommandOptionPair<CI, CB> searchForChatCommand(GenericChatCommand<CI, CB> command, List<ApplicationCommandInteractionOption> options) {
-        // If there is only one option and it's a GenericSubCommand or SubCommandGroup option then search for it
-        if (options.size() == 1 && options.get(0).getType().getValue() < 3) {
+    public GenericChatCommand<CI, CB> resolveChatCommand(ApplicationCommandInteraction aci) {
+        //noinspection OptionalGetWithoutIsPresent
+        long id = aci.getId().get().asLong();
+        ChatRoute<CI, CB> route = this.globalChatRoutesById.get(id);
+        if (route == null) route = this.guildChatRoutesById.get(id);
+        //noinspection OptionalGetWithoutIsPresent
+        if (route == null) route = this.guildChatRoutes.get(aci.getName().get());
+
+        List<ApplicationCommandInteractionOption> options = aci.getOptions();
+        while (route != null && route.command == null) {
+            if (!isSubCommandOption(options)) {
+                return null;
+            }
             ApplicationCommandInteractionOption option = options.get(0);
-            return searchForChatCommand(command.getSubCommand(option.getName()), option.getOptions());
-        } else {
-            return new CommandOptionPair<>(command, options);
+            route = route.subRoutes.get(option.getName());
+            options = option.getOptions();
         }
+        return (route == null) ? null : route.command;
     }
 
     /**
-     * Get a User Context Command for an incoming event. First attempts to get a global by ID then a guild by name.
+     * Get the full path of the callable command of an interaction e.g. "command group_command sub_command".
      *
-     * @param event the event received
-     * @return the {@link GenericUserCommand} that corresponds to the event
+     * @param aci the command interaction from the event received
+     * @return the path of the callable command with each name separated by a space
      */
-    public GenericUserCommand<UC, UB> searchForUserCommand(UserInteractionEvent event) {
-        return this.globalUserCommandsById.getOrDefault(event.getCommandId(), this.guildUserCommands.get(event.getCommandName()));
+    public static String getCommandPath(ApplicationCommandInteraction aci) {
+        //noinspection OptionalGetWithoutIsPresent
+        return buildPath(aci.getName().get(), aci.getOptions());
     }
 
     /**
-     * Get a Message Context Command for an incoming event. First attempts to get a global by ID then a guild by name.
+     * Get the options for the callable command of an interaction, which are the options of the last
+     *  sub command option if there are any.
      *
-     * @param event the event received
-     * @return the {@link GenericUserCommand} that corresponds to the event
+     * @param options the top level options of the command interaction
+     * @return the options provided to the callable command
      */
-    public GenericMessageCommand<MC, MB> searchForMessageCommand(MessageInteractionEvent event) {
-        return this.globalMessageCommandsById.getOrDefault(event.getCommandId(), this.guildMessageCommands.get(event.getCommandName()));
+    public static List<ApplicationCommandInteractionOption> getCallableOptions(List<ApplicationCommandInteractionOption> options) {
+        while (isSubCommandOption(options)) {
+            options = options.get(0).getOptions();
+        }
+        return options;
     }
 
     /**
-     * @param command a global chat command to add to the name hashmap.
+     * @param options the options of a command or sub command option
+     * @return true if there is only one option, and it's a GenericSubCommand or SubCommandGroup option
      */
-    void addGlobalChatCommand(GenericChatCommand<CI, CB> command) {
-        globalChatCommands.put(command.getName(), command);
+    private static boolean isSubCommandOption(List<ApplicationCommandInteractionOption> options) {
+        return options.size() == 1 && options.get(0).getType().getValue() < 3;
     }
 
     /**
-     * @param command a global user command to add to the name hashmap.
+     * Build the full path of a callable command, the root name is returned as-is for top level commands.
+     *
+     * @param root the name of the top level command
+     * @param options the top level options of the command interaction
+     * @return the path of the callable command with each name separated by a space
      */
-    void addGlobalUserCommand(GenericUserCommand<UC, UB> command) {
-        globalUserCommands.put(command.getName(), command);
+    private static String buildPath(String root, List<ApplicationCommandInteractionOption> options) {
+        if (!isSubCommandOption(options)) {
+            return root;
+        }
+        StringBuilder path = new StringBuilder(root);
+        while (isSubCommandOption(options)) {
+            ApplicationCommandInteractionOption option = options.get(0);
+            path.append(' ').append(option.getName());
+            options = option.getOptions();
+        }
+        return path.toString();
     }
 
     /**
-     * @param command a global message command to add to the name hashmap.
+     * @param commands top level chat commands by name
+     * @return the route of each command by name
      */
-    void addGlobalMessageCommand(GenericMessageCommand<MC, MB> command) {
-        globalMessageCommands.put(command.getName(), command);
+    private static <CI extends ChatContext, CB extends ChatContextBuilder>
+            Map<String, ChatRoute<CI, CB>> routeCommands(Map<String, GenericChatCommand<CI, CB>> commands) {
+        Map<String, ChatRoute<CI, CB>> routes = new HashMap<>(commands.size() * 2);
+        commands.forEach((name, command) -> routes.put(name, new ChatRoute<>(command)));
+        return routes;
     }
 
     /**
-     * @param command a global chat command to add to the id hashmap.
+     * @param ids top level chat commands by ID
+     * @param routes the route of each command by name
+     * @return the route of each command by ID
      */
-    void addGlobalChatCommand(GenericChatCommand<CI, CB> command, Snowflake id) {
-        globalChatCommandsById.put(id, command);
+    private static <CI extends ChatContext, CB extends ChatContextBuilder>
+            SnowflakeMap<ChatRoute<CI, CB>> routeIds(SnowflakeMap<GenericChatCommand<CI, CB>> ids, Map<String, ChatRoute<CI, CB>> routes) {
+        SnowflakeMap<ChatRoute<CI, CB>> routesById = new SnowflakeMap<>(ids.size());
+        ids.forEach((id, command) -> {
+            ChatRoute<CI, CB> route = routes.get(command.getName());
+            if (route != null) routesById.put(id, route);
+        });
+        return routesById;
     }
 
     /**
-     * @param command a global user command to add to the id hashmap.
+     * Get a User Context Command for an incoming event. First attempts to get a global by ID, then a guild by ID,
+     *  then a guild by name.
+     *
+     * @param event the event received
+     * @return the {@link GenericUserCommand} that corresponds to the event
      */
-    void addGlobalUserCommand(GenericUserCommand<UC, UB> command, Snowflake id) {
-        globalUserCommandsById.put(id, command);
+    public GenericUserCommand<UC, UB> searchForUserCommand(UserInteractionEvent event) {
+        long id = event.getCommandId().asLong();
+        GenericUserCommand<UC, UB> command = this.globalUserCommandsById.get(id);
+        if (command == null) command = this.guildUserCommandsById.get(id);
+        return (command != null) ? command : this.guildUserCommands.get(event.getCommandName());
     }
 
     /**
-     * @param command a global message command to add to the id hashmap.
+     * Get a Message Context Command for an incoming event. First attempts to get a global by ID, then a guild by ID,
+     *  then a guild by name.
+     *
+     * @param event the event received
+     * @return the {@link GenericUserCommand} that corresponds to the event
      */
-    void addGlobalMessageCommand(GenericMessageCommand<MC, MB> command, Snowflake id) {
-        globalMessageCommandsById.put(id, command);
+    public GenericMessageCommand<MC, MB> searchForMessageCommand(MessageInteractionEvent event) {
+        long id = event.getCommandId().asLong();
+        GenericMessageCommand<MC, MB> command = this.globalMessageCommandsById.get(id);
+        if (command == null) command = this.guildMessageCommandsById.get(id);
+        return (command != null) ? command : this.guildMessageCommands.get(event.getCommandName());
     }
 
+    public Map<String, GenericChatCommand<CI, CB>> getGlobalChatCommands() { return this.globalChatCommands; }
+    public Map<String, GenericUserCommand<UC, UB>> getGlobalUserCommands() { return this.globalUserCommands; }
+    public Map<String, GenericMessageCommand<MC, MB>> getGlobalMessageCommands() { return this.globalMessageCommands; }
+
+    public Map<Snowflake, GenericChatCommand<CI, CB>> getGlobalChatCommandsById() { return this.globalChatCommandsById.asMap(); }
+    public Map<Snowflake, GenericUserCommand<UC, UB>> getGlobalUserCommandsById() { return this.globalUserCommandsById.asMap(); }
+    public Map<Snowflake, GenericMessageCommand<MC, MB>> getGlobalMessageCommandsById() { return this.globalMessageCommandsById.asMap(); }
+
+    public SnowflakeMapView<GenericChatCommand<CI, CB>> getGlobalChatCommandsByIdView() { return this.globalChatCommandsById.readOnlyView(); }
+    public SnowflakeMapView<GenericUserCommand<UC, UB>> getGlobalUserCommandsByIdView() { return this.globalUserCommandsById.readOnlyView(); }
+    public SnowflakeMapView<GenericMessageCommand<MC, MB>> getGlobalMessageCommandsByIdView() { return this.globalMessageCommandsById.readOnlyView(); }
+
+    public Map<String, GenericChatCommand<CI, CB>> getGuildChatCommands() { return this.guildChatCommands; }
+    public Map<String, GenericUserCommand<UC, UB>> getGuildUserCommands() { return this.guildUserCommands; }
+    public Map<String, GenericMessageCommand<MC, MB>> getGuildMessageCommands() { return this.guildMessageCommands; }
+
+    public Map<Snowflake, GenericChatCommand<CI, CB>> getGuildChatCommandsById() { return this.guildChatCommandsById.asMap(); }
+    public Map<Snowflake, GenericUserCommand<UC, UB>> getGuildUserCommandsById() { return this.guildUserCommandsById.asMap(); }
+    public Map<Snowflake, GenericMessageCommand<MC, MB>> getGuildMessageCommandsById() { return this.guildMessageCommandsById.asMap(); }
+
+    public SnowflakeMapView<GenericChatCommand<CI, CB>> getGuildChatCommandsByIdView() { return this.guildChatCommandsById.readOnlyView(); }
+    public SnowflakeMapView<GenericUserCommand<UC, UB>> getGuildUserCommandsByIdView() { return this.guildUserCommandsById.readOnlyView(); }
+    public SnowflakeMapView<GenericMessageCommand<MC, MB>> getGuildMessageCommandsByIdView() { return this.guildMessageCommandsById.readOnlyView(); }
+
     /**
-     * @param command a guild chat command to add.
+     * @param guildId the ID of a guild
+     * @return the IDs of the commands registered in the guild, empty if none were registered by this instance
      */
-    void addGuildChatCommand(GenericChatCommand<CI, CB> command) {
-        guildChatCommands.put(command.getName(), command);
+    public long[] getGuildCommandIds(long guildId) {
+        long[] ids = this.guildCommandIds.get(guildId);
+        return (ids == null) ? new long[0] : ids.clone();
     }
 
     /**
-     * @param command a guild user command to add.
+     * A chat command compiled for resolving, either a callable command or the routes of its group or sub commands.
      */
-    void addGuildUserCommand(GenericUserCommand<UC, UB> command) {
-        guildUserCommands.put(command.getName(), command);
+    private static final class ChatRoute<CI extends ChatContext, CB extends ChatContextBuilder> {
+        // The callable command, null for a group
+        private final GenericChatCommand<CI, CB> command;
+        // The routes of the group or sub commands by name, null for a callable command
+        private final Map<String, ChatRoute<CI, CB>> subRoutes;
+
+        private ChatRoute(GenericChatCommand<CI, CB> command) {
+            if (command.getSubCommands() == null) {
+                this.command = command;
+                this.subRoutes = null;
+                // Only callable commands have data requirements to compile
+                command.compileFetchPlan();
+            } else {
+                this.command = null;
+                Map<String, ChatRoute<CI, CB>> routes = new HashMap<>(command.getSubCommands().size() * 2);
+                command.getSubCommands().forEach((name, subCommand) -> routes.put(name, new ChatRoute<>(subCommand)));
+                this.subRoutes = routes;
+            }
+        }
     }
 
     /**
-     * @param command a guild message command to add.
+     * A copy-on-write builder for a {@link CommandStructure}, used to add, replace, and remove commands.
+     * Building creates a new snapshot, existing snapshots are never changed.
+     *
+     * Adding a command with the same name as an existing command of the same type and scope replaces it,
+     *  the ID of a replaced global command is moved to the new command.
      */
-    void addGuildMessageCommand(GenericMessageCommand<MC, MB> command) {
-        guildMessageCommands.put(command.getName(), command);
-    }
+    public static class Builder<
+            CI extends ChatContext, CB extends ChatContextBuilder,
+            UC extends UserContext, UB extends UserContextBuilder,
+            MC extends MessageContext, MB extends MessageContextBuilder
+            > {
+        private final Map<String, GenericChatCommand<CI, CB>> globalChatCommands;
+        private final Map<String, GenericUserCommand<UC, UB>> globalUserCommands;
+        private final Map<String, GenericMessageCommand<MC, MB>> globalMessageCommands;
 
-    public Map<String, GenericChatCommand<CI, CB>> getGlobalChatCommands() { return this.globalChatCommands; }
-    public Map<String, GenericUserCommand<UC, UB>> getGlobalUserCommands() { return this.globalUserCommands; }
-    public Map<String, GenericMessageCommand<MC, MB>> getGlobalMessageCommands() { return this.globalMessageCommands; }
+        private final SnowflakeMap<GenericChatCommand<CI, CB>> globalChatCommandsById;
+        private final SnowflakeMap<GenericUserCommand<UC, UB>> globalUserCommandsById;
+        private final SnowflakeMap<GenericMessageCommand<MC, MB>> globalMessageCommandsById;
 
-    public Map<Snowflake, GenericChatCommand<CI, CB>> getGlobalChatCommandsById() { return this.globalChatCommandsById; }
-    public Map<Snowflake, GenericUserCommand<UC, UB>> getGlobalUserCommandsById() { return this.globalUserCommandsById; }
-    public Map<Snowflake, GenericMessageCommand<MC, MB>> getGlobalMessageCommandsById() { return this.globalMessageCommandsById; }
+        private final Map<String, GenericChatCommand<CI, CB>> guildChatCommands;
+        private final Map<String, GenericUserCommand<UC, UB>> guildUserCommands;
+        private final Map<String, GenericMessageCommand<MC, MB>> guildMessageCommands;
 
-    public Map<String, GenericChatCommand<CI, CB>> getGuildChatCommands() { return this.guildChatCommands; }
-    public Map<String, GenericUserCommand<UC, UB>> getGuildUserCommands() { return this.guildUserCommands; }
-    public Map<String, GenericMessageCommand<MC, MB>> getGuildMessageCommands() { return this.guildMessageCommands; }
+        private final SnowflakeMap<GenericChatCommand<CI, CB>> guildChatCommandsById;
+        private final SnowflakeMap<GenericUserCommand<UC, UB>> guildUserCommandsById;
+        private final SnowflakeMap<GenericMessageCommand<MC, MB>> guildMessageCommandsById;
+        private final SnowflakeMap<long[]> guildCommandIds;
+
+        private Builder() {
+            globalChatCommands = new HashMap<>();
+            globalUserCommands = new HashMap<>();
+            globalMessageCommands = new HashMap<>();
+
+            globalChatCommandsById = new SnowflakeMap<>();
+            globalUserCommandsById = new SnowflakeMap<>();
+            globalMessageCommandsById = new SnowflakeMap<>();
+
+            guildChatCommands = new HashMap<>();
+            guildUserCommands = new HashMap<>();
+            guildMessageCommands = new HashMap<>();
+
+            guildChatCommandsById = new SnowflakeMap<>();
+            guildUserCommandsById = new SnowflakeMap<>();
+            guildMessageCommandsById = new SnowflakeMap<>();
+            guildCommandIds = new SnowflakeMap<>();
+        }
+
+        private Builder(CommandStructure<CI, CB, UC, UB, MC, MB> structure) {
+            globalChatCommands = new HashMap<>(structure.globalChatCommands);
+            globalUserCommands = new HashMap<>(structure.globalUserCommands);
+            globalMessageCommands = new HashMap<>(structure.globalMessageCommands);
+
+            globalChatCommandsById = new SnowflakeMap<>(structure.globalChatCommandsById);
+            globalUserCommandsById = new SnowflakeMap<>(structure.globalUserCommandsById);
+            globalMessageCommandsById = new SnowflakeMap<>(structure.globalMessageCommandsById);
+
+            guildChatCommands = new HashMap<>(structure.guildChatCommands);
+            guildUserCommands = new HashMap<>(structure.guildUserCommands);
+            guildMessageCommands = new HashMap<>(structure.guildMessageCommands);
+
+            guildChatCommandsById = new SnowflakeMap<>(structure.guildChatCommandsById);
+            guildUserCommandsById = new SnowflakeMap<>(structure.guildUserCommandsById);
+            guildMessageCommandsById = new SnowflakeMap<>(structure.guildMessageCommandsById);
+            guildCommandIds = new SnowflakeMap<>(structure.guildCommandIds);
+        }
+
+        /**
+         * @param command a global chat command to add or replace, must be a top level command
+         * @return this instance
+         */
+        public Builder<CI, CB, UC, UB, MC, MB> addGlobalChatCommand(GenericChatCommand<CI, CB> command) {
+            checkTopLevel(command);
+            replaceIds(globalChatCommandsById, globalChatCommands.put(command.getName(), command), command);
+            return this;
+        }
+
+        /**
+         * @param command a global user command to add or replace
+         * @return this instance
+         */
+        public Builder<CI, CB, UC, UB, MC, MB> addGlobalUserCommand(GenericUserCommand<UC, UB> command) {
+            replaceIds(globalUserCommandsById, globalUserCommands.put(command.getName(), command), command);
+            return this;
+        }
+
+        /**
+         * @param command a global message command to add or replace
+         * @return this instance
+         */
+        public Builder<CI, CB, UC, UB, MC, MB> addGlobalMessageCommand(GenericMessageCommand<MC, MB> command) {
+            replaceIds(globalMessageCommandsById, globalMessageCommands.put(command.getName(), command), command);
+            return this;
+        }
+
+        /**
+         * @param command a guild chat command to add or replace, must be a top level command
+         * @return this instance
+         */
+        public Builder<CI, CB, UC, UB, MC, MB> addGuildChatCommand(GenericChatCommand<CI, CB> command) {
+            checkTopLevel(command);
+            replaceIds(guildChatCommandsById, guildChatCommands.put(command.getName(), command), command);
+            return this;
+        }
+
+        /**
+         * @param command a guild user command to add or replace
+         * @return this instance
+         */
+        public Builder<CI, CB, UC, UB, MC, MB> addGuildUserCommand(GenericUserCommand<UC, UB> command) {
+            replaceIds(guildUserCommandsById, guildUserCommands.put(command.getName(), command), command);
+            return this;
+        }
+
+        /**
+         * @param command a guild message command to add or replace
+         * @return this instance
+         */
+        public Builder<CI, CB, UC, UB, MC, MB> addGuildMessageCommand(GenericMessageCommand<MC, MB> command) {
+            replaceIds(guildMessageCommandsById, guildMessageCommands.put(command.getName(), command), command);
+            return this;
+        }
+
+        /**
+         * @param name the name of the global chat command to remove, along with its ID
+         * @return this instance
+         */
+        public Builder<CI, CB, UC, UB, MC, MB> removeGlobalChatCommand(String name) {
+            replaceIds(globalChatCommandsById, globalChatCommands.remove(name), null);
+            return this;
+        }
+
+        /**
+         * @param name the name of the global user command to remove, along with its ID
+         * @return this instance
+         */
+        public Builder<CI, CB, UC, UB, MC, MB> removeGlobalUserCommand(String name) {
+            replaceIds(globalUserCommandsById, globalUserCommands.remove(name), null);
+            return this;
+        }
+
+        /**
+         * @param name the name of the global message command to remove, along with its ID
+         * @return this instance
+         */
+        public Builder<CI, CB, UC, UB, MC, MB> removeGlobalMessageCommand(String name) {
+            replaceIds(globalMessageCommandsById, globalMessageCommands.remove(name), null);
+            return this;
+        }
+
+        /**
+         * @param name the name of the guild chat command to remove, along with its IDs in each guild
+         * @return this instance
+         */
+        public Builder<CI, CB, UC, UB, MC, MB> removeGuildChatCommand(String name) {
+            replaceIds(guildChatCommandsById, guildChatCommands.remove(name), null);
+            return this;
+        }
+
+        /**
+         * @param name the name of the guild user command to remove, along with its IDs in each guild
+         * @return this instance
+         */
+        public Builder<CI, CB, UC, UB, MC, MB> removeGuildUserCommand(String name) {
+            replaceIds(guildUserCommandsById, guildUserCommands.remove(name), null);
+            return this;
+        }
+
+        /**
+         * @param name the name of the guild message command to remove, along with its IDs in each guild
+         * @return this instance
+         */
+        public Builder<CI, CB, UC, UB, MC, MB> removeGuildMessageCommand(String name) {
+            replaceIds(guildMessageCommandsById, guildMessageCommands.remove(name), null);
+            return this;
+        }
+
+        /**
+         * Map a global commands ID to it's class, the type of the command determines which ID map is used.
+         * Commands that are no longer part of this builder are ignored, they may have been removed while
+         *  the commands were synchronized with Discord.
+         *
+         * @param command the command to map by its id
+         * @param id the id of the command
+         * @return this instance
+         */
+        @SuppressWarnings("unchecked") // No errors observed when casting in testing
+        Builder<CI, CB, UC, UB, MC, MB> putGlobalCommandId(BaseCommand command, long id) {
+            if (command instanceof GenericChatCommand) {
+                if (globalChatCommands.get(command.getName()) == command) {
+                    globalChatCommandsById.put(id, (GenericChatCommand<CI, CB>) command);
+                }
+            } else if (command instanceof GenericUserCommand) {
+                if (globalUserCommands.get(command.getName()) == command) {
+                    globalUserCommandsById.put(id, (GenericUserCommand<UC, UB>) command);
+                }
+            } else if (command instanceof GenericMessageCommand) {
+                if (globalMessageCommands.get(command.getName()) == command) {
+                    globalMessageCommandsById.put(id, (GenericMessageCommand<MC, MB>) command);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Replace the IDs of the commands registered in a guild, the previous IDs of the guild are removed.
+         * Commands that are no longer part of this builder are ignored.
+         *
+         * @param guildId the ID of the guild the commands are registered in
+         * @param commandIds the guild commands mapped to their ID in the guild
+         * @return this instance
+         */
+        @SuppressWarnings("unchecked") // No errors observed when casting in testing
+        Builder<CI, CB, UC, UB, MC, MB> putGuildCommandIds(long guildId, Map<BaseCommand, Long> commandIds) {
+            removeGuild(guildId);
+            long[] ids = new long[commandIds.size()];
+            int count = 0;
+            for (Map.Entry<BaseCommand, Long> entry : commandIds.entrySet()) {
+                BaseCommand command = entry.getKey();
+                long id = entry.getValue();
+                if (command instanceof GenericChatCommand && guildChatCommands.get(command.getName()) == command) {
+                    guildChatCommandsById.put(id, (GenericChatCommand<CI, CB>) command);
+                } else if (command instanceof GenericUserCommand && guildUserCommands.get(command.getName()) == command) {
+                    guildUserCommandsById.put(id, (GenericUserCommand<UC, UB>) command);
+                } else if (command instanceof GenericMessageCommand && guildMessageCommands.get(command.getName()) == command) {
+                    guildMessageCommandsById.put(id, (GenericMessageCommand<MC, MB>) command);
+                } else {
+                    continue;
+                }
+                ids[count++] = id;
+            }
+            if (count > 0) {
+                guildCommandIds.put(guildId, Arrays.copyOf(ids, count));
+            }
+            return this;
+        }
+
+        /**
+         * Remove the IDs of every command registered in a guild, the guild commands themselves are kept.
+         * Interactions from the guild will be resolved by name until its commands are registered again.
+         *
+         * @param guildId the ID of the guild to remove
+         * @return this instance
+         */
+        public Builder<CI, CB, UC, UB, MC, MB> removeGuild(long guildId) {
+            long[] ids = guildCommandIds.remove(guildId);
+            if (ids != null) {
+                // IDs are unique across command types, so only one of these will have each ID
+                for (long id : ids) {
+                    guildChatCommandsById.remove(id);
+                    guildUserCommandsById.remove(id);
+                    guildMessageCommandsById.remove(id);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * @return a new immutable {@link CommandStructure} with the commands of this builder
+         */
+        public CommandStructure<CI, CB, UC, UB, MC, MB> build() {
+            return new CommandStructure<>(this);
+        }
+
+        /**
+         * @param command a chat command to check
+         * @throws InvalidCommandLocationException if the command cannot be a top level command
+         */
+        private static void checkTopLevel(GenericChatCommand<?, ?> command) {
+            if (!(command instanceof GenericTopCommand || command instanceof GenericTopGroupCommand)) {
+                throw new InvalidCommandLocationException(command);
+            }
+        }
+
+        /**
+         * Point every ID of a replaced command to the new command, or remove them if there is no new command.
+         *
+         * @param ids the ID map of the command type
+         * @param previous the command that was replaced, may be null
+         * @param replacement the command replacing it, null if it was removed
+         */
+        private static <B extends BaseCommand> void replaceIds(SnowflakeMap<B> ids, B previous, B replacement) {
+            if (previous == null || previous == replacement) {
+                return;
+            }
+            List<Long> previousIds = new ArrayList<>(1);
+            ids.forEach((id, command) -> {
+                if (command == previous) previousIds.add(id);
+            });
+            for (long id : previousIds) {
+                if (replacement == null) {
+                    ids.remove(id);
+                } else {
+                    ids.put(id, replacement);
+                }
+            }
+        }
+    }
 }
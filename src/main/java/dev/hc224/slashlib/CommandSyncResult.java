@@ -0,0 +1,44 @@
+package dev.hc224.slashlib;
+
+import reactor.util.annotation.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * The result of the last synchronization of commands with Discord by the {@link CommandRegister}.
+ */
+public class CommandSyncResult {
+    private final boolean global;
+    private final Instant startedAt;
+    private final Duration duration;
+    private final int changes;
+    private final String error;
+
+    CommandSyncResult(boolean global, Instant startedAt, Duration duration, int changes, @Nullable String error) {
+        this.global = global;
+        this.startedAt = startedAt;
+        this.duration = duration;
+        this.changes = changes;
+        this.error = error;
+    }
+
+    /**
+     * @return true if global commands were synchronized, false if guild commands were
+     */
+    public boolean isGlobal() { return global; }
+    public Instant getStartedAt() { return startedAt; }
+    public Duration getDuration() { return duration; }
+
+    /**
+     * @return the amount of commands (global) or guilds (guild) changed, -1 if the synchronization failed
+     */
+    public int getChanges() { return changes; }
+
+    /**
+     * @return the message of the exception the synchronization failed with, empty if it succeeded
+     */
+    public Optional<String> getError() { return Optional.ofNullable(error); }
+    public boolean isSuccessful() { return error == null; }
+}
@@ -0,0 +1,136 @@
+package dev.hc224.slashlib;
+
+import dev.hc224.slashlib.context.*;
+import discord4j.core.event.domain.interaction.ChatInputInteractionEvent;
+import discord4j.core.object.command.ApplicationCommandInteraction;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Creates the factories used by {@link GenericSlashLibBuilder} when it is only given the context classes.
+ *
+ * The constructor of each builder class is turned into a plain lambda with {@link LambdaMetafactory} so creating a
+ *  builder for every interaction is a direct call. If the class cannot be linked this way, such as when it was loaded
+ *  by another class loader, the constructor is called reflectively instead.
+ */
+final class ContextFactories {
+    private static final Logger logger = Loggers.getLogger(ContextFactories.class);
+
+    private ContextFactories() {}
+
+    /**
+     * @param builderClass the chat input context builder class
+     * @param <IB> The {@link Class} used for {@link ChatContextBuilder}
+     * @return a factory which calls the constructor of the builder class
+     * @throws NoSuchMethodException if the builder class doesn't have a public constructor matching
+     *                               {@link ChatContextBuilder#ChatContextBuilder(ChatInputInteractionEvent, ApplicationCommandInteraction, List)}
+     */
+    @SuppressWarnings("unchecked")
+    static <IB extends ChatContextBuilder> ChatContextBuilderFactory<IB> chatContextBuilderFactory(Class<IB> builderClass)
+            throws NoSuchMethodException {
+        Constructor<IB> constructor = builderClass.getConstructor(
+                ChatInputInteractionEvent.class,
+                ApplicationCommandInteraction.class,
+                List.class);
+        ChatContextBuilderFactory<IB> factory = (ChatContextBuilderFactory<IB>) metafactory(
+                constructor,
+                ChatContextBuilderFactory.class,
+                "create",
+                MethodType.methodType(ChatContextBuilder.class,
+                        ChatInputInteractionEvent.class, ApplicationCommandInteraction.class, List.class));
+        return (factory != null) ? factory : (event, aci, options) -> newInstance(constructor, event, aci, options);
+    }
+
+    /**
+     * @param builderClass the user or message context builder class
+     * @param eventClass the class of the event given to the constructor of the builder
+     * @param <E> the type of interaction event
+     * @param <B> the type of context builder
+     * @return a factory which calls the constructor of the builder class
+     * @throws NoSuchMethodException if the builder class doesn't have a public constructor with only the event
+     */
+    @SuppressWarnings("unchecked")
+    static <E, B extends ContextBuilder> Function<E, B> eventContextBuilderFactory(Class<B> builderClass, Class<E> eventClass)
+            throws NoSuchMethodException {
+        Constructor<B> constructor = builderClass.getConstructor(eventClass);
+        Function<E, B> factory = (Function<E, B>) metafactory(
+                constructor,
+                Function.class,
+                "apply",
+                MethodType.methodType(Object.class, Object.class));
+        return (factory != null) ? factory : event -> newInstance(constructor, event);
+    }
+
+    /**
+     * Builders created before factories were supported return the base context type from {@link ContextBuilder#build()},
+     *  so the built context is cast. A builder which doesn't override {@link ContextBuilder#build()} fails with a
+     *  {@link ClassCastException} instead of its commands being dropped.
+     *
+     * @param contextClass the context class the builder is expected to build
+     * @param <B> the type of context builder
+     * @param <C> the type of context
+     * @return a function which builds a context from a builder
+     */
+    static <B extends ContextBuilder, C extends Context> Function<B, C> contextFactory(Class<C> contextClass) {
+        return builder -> contextClass.cast(builder.build());
+    }
+
+    /**
+     * Link a constructor to a functional interface.
+     *
+     * @param constructor the public constructor to call
+     * @param functionalInterface the interface to implement
+     * @param methodName the name of the single abstract method of the interface
+     * @param erasedType the erased type of the abstract method
+     * @return an instance of the interface, null if the constructor couldn't be linked
+     */
+    private static Object metafactory(Constructor<?> constructor, Class<?> functionalInterface, String methodName, MethodType erasedType) {
+        Class<?> declaringClass = constructor.getDeclaringClass();
+        try {
+            // The lambda is defined alongside this class, so the builder class must be visible from our class loader
+            if (Class.forName(declaringClass.getName(), false, ContextFactories.class.getClassLoader()) != declaringClass) {
+                return null;
+            }
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflectConstructor(constructor);
+            CallSite callSite = LambdaMetafactory.metafactory(
+                    lookup,
+                    methodName,
+                    MethodType.methodType(functionalInterface),
+                    erasedType,
+                    handle,
+                    handle.type());
+            return callSite.getTarget().invoke();
+        } catch (Throwable t) {
+            logger.debug("Couldn't link constructor of " + declaringClass.getName() + ", using reflection instead: " + t);
+            return null;
+        }
+    }
+
+    /**
+     * @param constructor the constructor to call
+     * @param args the arguments of the constructor
+     * @param <T> the type created
+     * @return a new instance from the constructor
+     */
+    private static <T> T newInstance(Constructor<T> constructor, Object... args) {
+        try {
+            return constructor.newInstance(args);
+        } catch (InvocationTargetException ite) {
+            Throwable cause = ite.getCause();
+            throw (cause instanceof RuntimeException) ? (RuntimeException) cause : new RuntimeException(cause);
+        } catch (ReflectiveOperationException roe) {
+            throw new RuntimeException(roe);
+        }
+    }
+}
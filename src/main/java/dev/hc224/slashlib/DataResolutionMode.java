@@ -0,0 +1,20 @@
+package dev.hc224.slashlib;
+
+/**
+ * How the context builders find the users, members and messages a user or message command was called on.
+ *
+ * Set with {@link GenericSlashLibBuilder#setDataResolutionMode(DataResolutionMode)}.
+ */
+public enum DataResolutionMode {
+    /**
+     * Fetch the targets through D4J, which may require requests to Discord if the entities aren't cached.
+     */
+    FETCH,
+    /**
+     * Use the targets Discord sends in the resolved data of the interaction. The target user, member and message
+     *  are read from the payload, and a target member is known to be missing without a request if the payload
+     *  doesn't have it. The author of a target message is read as a member if the payload has it.
+     *  {@link #FETCH} is used for anything the payload doesn't have.
+     */
+    PAYLOAD
+}
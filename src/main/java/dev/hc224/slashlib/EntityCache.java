@@ -0,0 +1,375 @@
+package dev.hc224.slashlib;
+
+import dev.hc224.slashlib.utility.BoundedCache;
+import discord4j.common.util.Snowflake;
+import discord4j.core.event.EventDispatcher;
+import discord4j.core.event.domain.UserUpdateEvent;
+import discord4j.core.event.domain.channel.NewsChannelDeleteEvent;
+import discord4j.core.event.domain.channel.NewsChannelUpdateEvent;
+import discord4j.core.event.domain.channel.TextChannelDeleteEvent;
+import discord4j.core.event.domain.channel.TextChannelUpdateEvent;
+import discord4j.core.event.domain.channel.VoiceChannelDeleteEvent;
+import discord4j.core.event.domain.channel.VoiceChannelUpdateEvent;
+import discord4j.core.event.domain.guild.GuildDeleteEvent;
+import discord4j.core.event.domain.guild.GuildUpdateEvent;
+import discord4j.core.event.domain.guild.MemberLeaveEvent;
+import discord4j.core.event.domain.guild.MemberUpdateEvent;
+import discord4j.core.object.entity.Guild;
+import discord4j.core.object.entity.Member;
+import discord4j.core.object.entity.User;
+import discord4j.core.object.entity.channel.MessageChannel;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * A bounded cache of the guilds, channels, members and users fetched by the context builders, so a bot can run
+ *  the gateway with a minimal store and still avoid fetching the entities of busy guilds for every interaction.
+ *
+ * Entities are dropped once they are older than the time to live, or when the cache is full and they are used less
+ *  often than newer entities, see {@link BoundedCache}.
+ *
+ * When registered through {@link GenericSlashLib#registerAsListener(EventDispatcher)} entities are removed when
+ *  they are updated or deleted, and every entity of a guild is removed when the guild is deleted. An entity fetched
+ *  while one in the same guild was updated isn't stored, as it may already be outdated. Only text, news, voice and
+ *  private channels are stored, other channels such as threads are fetched every time as their updates aren't
+ *  listened for.
+ *
+ * Set with {@link GenericSlashLibBuilder#setEntityCache(EntityCache)}, no cache is used by default.
+ */
+public class EntityCache {
+    private static final Logger logger = Loggers.getLogger(EntityCache.class);
+
+    // Used as the guild of entities which aren't in a guild
+    private static final long NO_GUILD = 0L;
+
+    private final BoundedCache<Key, Entry> entries;
+    // The generation of each guild, incremented when an entity of the guild is updated
+    private final Map<Long, AtomicLong> guildGenerations;
+    private final long timeToLiveNanos;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    /**
+     * @param maximumSize the maximum amount of entities to keep
+     * @param timeToLive how long an entity can be used for, even without any invalidating events
+     */
+    public EntityCache(int maximumSize, Duration timeToLive) {
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("The time to live must be positive");
+        }
+        this.entries = new BoundedCache<>(maximumSize);
+        this.guildGenerations = new ConcurrentHashMap<>();
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+    }
+
+    /**
+     * @param guildId the ID of the guild
+     * @param fetch fetches the guild if it isn't cached
+     * @return the guild, from the cache if present
+     */
+    public Mono<Guild> getGuild(Snowflake guildId, Mono<Guild> fetch) {
+        return get(new Key(EntityType.GUILD, guildId.asLong(), guildId.asLong()), fetch, guild -> true);
+    }
+
+    /**
+     * Find a guild without fetching it, not counted as a hit or miss.
+     *
+     * @param guildId the ID of the guild
+     * @return the guild if it is cached and not expired
+     */
+    public Optional<Guild> getCachedGuild(Snowflake guildId) {
+        Entry entry = entries.get(new Key(EntityType.GUILD, guildId.asLong(), guildId.asLong()));
+        if (entry == null || System.nanoTime() - entry.createdAt > timeToLiveNanos) {
+            return Optional.empty();
+        }
+        return Optional.of((Guild) entry.value);
+    }
+
+    /**
+     * @param guildId the ID of the guild the channel is in, null for private channels
+     * @param channelId the ID of the channel
+     * @param fetch fetches the channel if it isn't cached
+     * @return the channel, from the cache if present
+     */
+    public Mono<MessageChannel> getChannel(@Nullable Snowflake guildId, Snowflake channelId, Mono<MessageChannel> fetch) {
+        return get(new Key(EntityType.CHANNEL, (guildId == null) ? NO_GUILD : guildId.asLong(), channelId.asLong()),
+            fetch, EntityCache::isStorableChannel);
+    }
+
+    /**
+     * @param guildId the ID of the guild of the member
+     * @param userId the ID of the user of the member
+     * @param fetch fetches the member if it isn't cached
+     * @return the member, from the cache if present
+     */
+    public Mono<Member> getMember(Snowflake guildId, Snowflake userId, Mono<Member> fetch) {
+        return get(new Key(EntityType.MEMBER, guildId.asLong(), userId.asLong()), fetch, member -> true);
+    }
+
+    /**
+     * @param userId the ID of the user
+     * @param fetch fetches the user if it isn't cached
+     * @return the user, from the cache if present
+     */
+    public Mono<User> getUser(Snowflake userId, Mono<User> fetch) {
+        return get(new Key(EntityType.USER, NO_GUILD, userId.asLong()), fetch, user -> true);
+    }
+
+    /**
+     * Remove a guild, without removing its channels and members.
+     *
+     * @param guildId the ID of the guild
+     */
+    public void invalidateGuild(Snowflake guildId) {
+        invalidate(new Key(EntityType.GUILD, guildId.asLong(), guildId.asLong()));
+    }
+
+    /**
+     * Remove a guild along with its channels and members.
+     *
+     * @param guildId the ID of the guild
+     */
+    public void invalidateGuildEntities(Snowflake guildId) {
+        long id = guildId.asLong();
+        incrementGeneration(id);
+        entries.removeIf(key -> key.guildId == id);
+    }
+
+    /**
+     * Remove a guild the bot left along with its channels and members, and forget the guild.
+     *
+     * @param guildId the ID of the guild
+     */
+    public void removeGuild(Snowflake guildId) {
+        long id = guildId.asLong();
+        // Dropped rather than incremented so left guilds aren't kept, a fetch which started before it was dropped
+        //  can still store an entity of the guild until it expires
+        guildGenerations.remove(id);
+        entries.removeIf(key -> key.guildId == id);
+    }
+
+    /**
+     * @param guildId the ID of the guild the channel is in, null for private channels
+     * @param channelId the ID of the channel
+     */
+    public void invalidateChannel(@Nullable Snowflake guildId, Snowflake channelId) {
+        invalidate(new Key(EntityType.CHANNEL, (guildId == null) ? NO_GUILD : guildId.asLong(), channelId.asLong()));
+    }
+
+    /**
+     * @param guildId the ID of the guild of the member
+     * @param userId the ID of the user of the member
+     */
+    public void invalidateMember(Snowflake guildId, Snowflake userId) {
+        invalidate(new Key(EntityType.MEMBER, guildId.asLong(), userId.asLong()));
+    }
+
+    /**
+     * @param userId the ID of the user
+     */
+    public void invalidateUser(Snowflake userId) {
+        invalidate(new Key(EntityType.USER, NO_GUILD, userId.asLong()));
+    }
+
+    /**
+     * Remove every entity.
+     */
+    public void invalidateAll() {
+        guildGenerations.values().forEach(AtomicLong::incrementAndGet);
+        entries.clear();
+    }
+
+    /**
+     * @return the amount of entities stored, including entities which are expired but not yet removed
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the amount of times an entity was found in the cache
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the amount of times an entity had to be fetched
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Listen for the events which update or delete cached entities and remove them.
+     * Called by {@link GenericSlashLib#registerAsListener(EventDispatcher)}.
+     *
+     * @param eventDispatcher the event dispatcher to listen to
+     */
+    void registerInvalidation(EventDispatcher eventDispatcher) {
+        Flux.merge(
+                eventDispatcher.on(GuildUpdateEvent.class)
+                    .doOnNext(event -> invalidateGuild(event.getCurrent().getId())),
+                eventDispatcher.on(GuildDeleteEvent.class)
+                    .doOnNext(event -> {
+                        // An unavailable guild is only in an outage, the bot is still in it
+                        if (event.isUnavailable()) {
+                            invalidateGuildEntities(event.getGuildId());
+                        } else {
+                            removeGuild(event.getGuildId());
+                        }
+                    }),
+                eventDispatcher.on(MemberUpdateEvent.class)
+                    .doOnNext(event -> invalidateMember(event.getGuildId(), event.getMemberId())),
+                eventDispatcher.on(MemberLeaveEvent.class)
+                    .doOnNext(event -> invalidateMember(event.getGuildId(), event.getUser().getId())),
+                eventDispatcher.on(TextChannelUpdateEvent.class)
+                    .doOnNext(event -> invalidateChannel(event.getCurrent().getGuildId(), event.getCurrent().getId())),
+                eventDispatcher.on(TextChannelDeleteEvent.class)
+                    .doOnNext(event -> invalidateChannel(event.getChannel().getGuildId(), event.getChannel().getId())),
+                eventDispatcher.on(NewsChannelUpdateEvent.class)
+                    .doOnNext(event -> invalidateChannel(event.getCurrent().getGuildId(), event.getCurrent().getId())),
+                eventDispatcher.on(NewsChannelDeleteEvent.class)
+                    .doOnNext(event -> invalidateChannel(event.getChannel().getGuildId(), event.getChannel().getId())),
+                eventDispatcher.on(VoiceChannelUpdateEvent.class)
+                    .doOnNext(event -> invalidateChannel(event.getCurrent().getGuildId(), event.getCurrent().getId())),
+                eventDispatcher.on(VoiceChannelDeleteEvent.class)
+                    .doOnNext(event -> invalidateChannel(event.getChannel().getGuildId(), event.getChannel().getId())),
+                eventDispatcher.on(UserUpdateEvent.class)
+                    .doOnNext(event -> invalidateUser(event.getCurrent().getId())))
+            .onErrorResume(t -> {
+                logger.error("Error while invalidating cached entities");
+                logger.error(t.getClass().getCanonicalName() + ": " + t.getMessage());
+                return Mono.empty();
+            })
+            .subscribe();
+    }
+
+    /**
+     * @param key the key of the entity
+     * @param fetch fetches the entity if it isn't cached
+     * @param storable returns true if a fetched entity can be stored
+     * @param <T> the type of entity
+     * @return the entity, from the cache if present and not expired
+     */
+    @SuppressWarnings("unchecked") // Each key type is only stored with its own entity type
+    private <T> Mono<T> get(Key key, Mono<T> fetch, Predicate<? super T> storable) {
+        return Mono.defer(() -> {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.createdAt <= timeToLiveNanos) {
+                    hits.increment();
+                    return Mono.just((T) entry.value);
+                }
+                entries.remove(key, entry);
+            }
+            misses.increment();
+            long generation = getGeneration(key.guildId);
+            return fetch.doOnNext(value -> {
+                // An entity of the guild was updated while this one was fetched, it may already be outdated
+                if (generation == getGeneration(key.guildId) && storable.test(value)) {
+                    entries.put(key, new Entry(value, System.nanoTime()));
+                }
+            });
+        });
+    }
+
+    /**
+     * @param channel a fetched channel
+     * @return true if the updates and deletion of the channel are listened for, or it can't change
+     */
+    private static boolean isStorableChannel(MessageChannel channel) {
+        switch (channel.getType()) {
+            case GUILD_TEXT:
+            case GUILD_NEWS:
+            case GUILD_VOICE:
+            case DM:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void invalidate(Key key) {
+        incrementGeneration(key.guildId);
+        entries.remove(key);
+    }
+
+    private void incrementGeneration(long guildId) {
+        guildGenerations.computeIfAbsent(guildId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    private long getGeneration(long guildId) {
+        AtomicLong generation = guildGenerations.get(guildId);
+        return (generation == null) ? 0 : generation.get();
+    }
+
+    /**
+     * The types of entity which are cached.
+     */
+    private enum EntityType {
+        GUILD,
+        CHANNEL,
+        MEMBER,
+        USER
+    }
+
+    /**
+     * The type, guild and ID of a cached entity.
+     */
+    private static final class Key {
+        private final EntityType type;
+        private final long guildId;
+        private final long id;
+
+        private Key(EntityType type, long guildId, long id) {
+            this.type = type;
+            this.guildId = guildId;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return type == key.type
+                && guildId == key.guildId
+                && id == key.id;
+        }
+
+        @Override
+        public int hashCode() {
+            long hash = type.ordinal();
+            hash = hash * 31 + guildId;
+            hash = hash * 31 + id;
+            return (int) (hash ^ (hash >>> 32));
+        }
+    }
+
+    /**
+     * A stored entity.
+     */
+    private static final class Entry {
+        private final Object value;
+        private final long createdAt;
+
+        private Entry(Object value, long createdAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+        }
+    }
+}
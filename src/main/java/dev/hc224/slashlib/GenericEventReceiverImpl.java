@@ -1,14 +1,41 @@
 package dev.hc224.slashlib;
 
 import dev.hc224.slashlib.commands.BaseCommand;
+import dev.hc224.slashlib.commands.ExecutionMode;
+import dev.hc224.slashlib.commands.RateLimit;
+import dev.hc224.slashlib.commands.RateLimitScope;
+import dev.hc224.slashlib.commands.generic.GenericChatCommand;
+import dev.hc224.slashlib.commands.generic.GenericMessageCommand;
+import dev.hc224.slashlib.commands.generic.GenericUserCommand;
 import dev.hc224.slashlib.context.*;
+import dev.hc224.slashlib.jfr.FlightEvents;
+import dev.hc224.slashlib.jmx.CommandStatistics;
+import dev.hc224.slashlib.jmx.CommandStats;
+import dev.hc224.slashlib.metrics.InteractionMetrics;
+import dev.hc224.slashlib.metrics.InteractionOutcome;
+import dev.hc224.slashlib.metrics.InteractionPhase;
+import discord4j.common.util.Snowflake;
 import discord4j.core.event.domain.interaction.*;
+import discord4j.core.object.command.Interaction;
 import discord4j.core.object.entity.channel.GuildChannel;
 import discord4j.core.object.entity.channel.PrivateChannel;
 import discord4j.core.spec.EmbedCreateSpec;
 import discord4j.core.spec.InteractionApplicationCommandCallbackSpec;
+import discord4j.discordjson.json.InteractionData;
 import discord4j.rest.util.Color;
+import discord4j.rest.util.PermissionSet;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * A Local class which contains the results of a permissions check.
@@ -33,7 +60,16 @@ public class GenericEventReceiverImpl<
         MC extends MessageContext, MB extends MessageContextBuilder
         > implements GenericEventReceiver<IC, UC, MC> {
 
+    // The result of a passed permission check, shared as it is the result for most interactions
+    private static final Mono<Boolean> ALLOWED = Mono.just(true);
+
+    private static final Logger logger = Loggers.getLogger(GenericEventReceiverImpl.class);
+
     protected final GenericSlashLib<IC, IB, UC, UB, MC, MB> genericSlashLib;
+    // Where interaction phases are recorded, null if not used
+    private final InteractionMetrics metrics;
+    // The statistics of each command exposed as MBeans, null if not used
+    private final CommandStatistics commandStatistics;
 
     /**
      * Create a new instance with a reference to the existing {@link GenericSlashLib} instance.
@@ -43,28 +79,95 @@ public class GenericEventReceiverImpl<
      */
     public GenericEventReceiverImpl(GenericSlashLib<IC, IB, UC, UB, MC, MB> genericSlashLib) {
         this.genericSlashLib = genericSlashLib;
+        this.metrics = genericSlashLib.getMetrics().orElse(null);
+        this.commandStatistics = genericSlashLib.getCommandStatistics().orElse(null);
     }
 
     /**
      * Base logic for checking permissions, needs to be this generic for {@link AutoCompleteInteractionEvent}
+     * Commands which don't require any permissions skip resolving them entirely.
+     * With {@link PermissionCheckMode#PAYLOAD} the permissions sent with the interaction are used if present,
+     *  otherwise guild results are stored in the {@link PermissionCache} if one is set.
      *
      * @param event the event received for an interaction
      * @param baseCommand the command related to the interaction
      * @return a present and true Mono<Boolean> if the command can be used, empty otherwise
      */
-    // I do not like the logic in this method, duplicated channel casts and filters
     private <E extends InteractionCreateEvent, B extends BaseCommand> Mono<Boolean> checkPermissions(E event, B baseCommand) {
+        Interaction interaction = event.getInteraction();
+        // Nothing to resolve, only DM eligibility matters. Interactions without a guild are from DMs.
+        if (!baseCommand.requiresPermissionCheck()) {
+            return (interaction.getGuildId().isPresent() || baseCommand.isUsableInDMs()) ? ALLOWED : Mono.empty();
+        }
+        if (genericSlashLib.getPermissionCheckMode() == PermissionCheckMode.PAYLOAD) {
+            Optional<Boolean> allowed = checkPayloadPermissions(interaction, baseCommand);
+            if (allowed.isPresent()) {
+                return allowed.get() ? ALLOWED : Mono.empty();
+            }
+        }
+
+        Optional<PermissionCache> permissionCache = genericSlashLib.getPermissionCache();
+        Optional<Snowflake> guildId = interaction.getGuildId();
+        if (permissionCache.isPresent() && guildId.isPresent()) {
+            PermissionCache cache = permissionCache.get();
+            Boolean cached = cache.get(guildId.get(), interaction.getChannelId(), interaction.getUser().getId(),
+                baseCommand.getBotPermissions(), baseCommand.getUserPermissions());
+            if (cached != null) {
+                return cached ? ALLOWED : Mono.empty();
+            }
+            // Read before resolving so a result resolved during an invalidation isn't stored
+            long generation = cache.getGeneration(guildId.get());
+            return checkGuildPermissions(event, baseCommand)
+                .doOnNext(allowed -> cache.put(guildId.get(), interaction.getChannelId(), interaction.getUser().getId(),
+                    baseCommand.getBotPermissions(), baseCommand.getUserPermissions(), generation, allowed))
+                .filter(Boolean::booleanValue);
+        }
+
+        return checkGuildPermissions(event, baseCommand)
+            .filter(Boolean::booleanValue)
+            // If guild perms failed, then check DM eligibility
+            .switchIfEmpty(interaction.getChannel().ofType(PrivateChannel.class)
+                .map(_pc -> baseCommand.isUsableInDMs()))
+            .filter(Boolean::booleanValue);
+    }
+
+    /**
+     * Check the permissions Discord computed for the bot and user, sent with the interaction.
+     * Interactions outside of guilds are only checked for DM eligibility.
+     *
+     * @param interaction the interaction received
+     * @param baseCommand the command related to the interaction
+     * @return if the command can be used, empty if the payload doesn't have the permissions of the bot or user
+     */
+    private <B extends BaseCommand> Optional<Boolean> checkPayloadPermissions(Interaction interaction, B baseCommand) {
+        if (!interaction.getGuildId().isPresent()) {
+            return Optional.of(baseCommand.isUsableInDMs());
+        }
+        InteractionData data = interaction.getData();
+        Optional<String> botPermissions = data.appPermissions().toOptional();
+        Optional<String> userPermissions = data.member().toOptional().flatMap(member -> member.permissions().toOptional());
+        if (!botPermissions.isPresent() || !userPermissions.isPresent()) {
+            return Optional.empty();
+        }
+        // The permissions are sent as a string as they can exceed the size of a json number
+        return Optional.of(PermissionSet.of(Long.parseLong(botPermissions.get())).containsAll(baseCommand.getBotPermissions())
+            && PermissionSet.of(Long.parseLong(userPermissions.get())).containsAll(baseCommand.getUserPermissions()));
+    }
+
+    /**
+     * Check the effective permissions of the bot and user in the channel of an interaction.
+     *
+     * @param event the event received for an interaction
+     * @param baseCommand the command related to the interaction
+     * @return true if both have the permissions required by the command, empty if not in a guild channel
+     */
+    private <E extends InteractionCreateEvent, B extends BaseCommand> Mono<Boolean> checkGuildPermissions(E event, B baseCommand) {
         return event.getInteraction().getChannel()
             // Check guild permissions, this will go empty if in DMs
             .ofType(GuildChannel.class)
             // Check permissions if they are set
             .flatMap(gc -> Mono.zip(gc.getEffectivePermissions(event.getClient().getSelfId()), gc.getEffectivePermissions(event.getInteraction().getUser().getId())))
-            .map(t2 -> t2.getT1().containsAll(baseCommand.getBotPermissions()) && t2.getT2().containsAll(baseCommand.getUserPermissions()))
-            .filter(Boolean::booleanValue)
-            // If guild perms failed, then check DM eligibility
-            .switchIfEmpty(event.getInteraction().getChannel().ofType(PrivateChannel.class)
-                .map(_pc -> baseCommand.isUsableInDMs()))
-            .filter(Boolean::booleanValue);
+            .map(t2 -> t2.getT1().containsAll(baseCommand.getBotPermissions()) && t2.getT2().containsAll(baseCommand.getUserPermissions()));
     }
 
     /**
@@ -98,12 +201,239 @@ public class GenericEventReceiverImpl<
      *
      * @param event the event produced from the called command
      * @param baseCommand the target command to execute
+     * @param path the path of the command to record metrics for, null if neither metrics nor statistics are recorded
      * @return a present (and true) mono if command execution can continue, empty otherwise
      */
-    private <E extends DeferrableInteractionEvent, B extends BaseCommand> Mono<Boolean> checkPermissionsAndReply(E event, B baseCommand) {
-        return checkPermissions(event, baseCommand)
+    private <E extends DeferrableInteractionEvent, B extends BaseCommand> Mono<Boolean> checkPermissionsAndReply(E event, B baseCommand, @Nullable String path) {
+        return timed(path, InteractionPhase.PERMISSION_CHECK, FlightEvents.recordPermissionCheck(event.getInteraction(), checkPermissions(event, baseCommand)))
             // No perms or not usable in DMs, send silent error message and remain empty
-            .switchIfEmpty(Mono.defer(() -> event.reply(generateErrorMessage(baseCommand)).then(Mono.empty())));
+            .switchIfEmpty(Mono.defer(() -> {
+                recordOutcome(path, InteractionOutcome.PERMISSION_DENIED);
+                return event.reply(generateErrorMessage(baseCommand)).then(Mono.empty());
+            }));
+    }
+
+    /**
+     * Check the rate limits of a command, using it once for each. If a limit is reached the uses taken from the other
+     *  limits are undone, the event is replied to with the time until the command can be used again, and the chain
+     *  goes empty before any data is collected.
+     *
+     * @param event the event produced from the called command
+     * @param baseCommand the target command to execute
+     * @param path the path of the command to record metrics for, null if neither metrics nor statistics are recorded
+     * @return a present (and true) mono if command execution can continue, empty otherwise
+     */
+    private <E extends DeferrableInteractionEvent, B extends BaseCommand> Mono<Boolean> checkRateLimitsAndReply(E event, B baseCommand, @Nullable String path) {
+        List<RateLimit> rateLimits = baseCommand.getRateLimits();
+        if (rateLimits.isEmpty()) {
+            return ALLOWED;
+        }
+        return Mono.defer(() -> {
+            Interaction interaction = event.getInteraction();
+            for (int i = 0; i < rateLimits.size(); i++) {
+                RateLimit rateLimit = rateLimits.get(i);
+                long wait = rateLimit.tryAcquire(getRateLimitScopeId(interaction, rateLimit.getScope()));
+                if (wait > 0) {
+                    // The command isn't used, so the uses taken from the limits checked before this one are undone
+                    for (int j = 0; j < i; j++) {
+                        RateLimit acquired = rateLimits.get(j);
+                        acquired.release(getRateLimitScopeId(interaction, acquired.getScope()));
+                    }
+                    recordOutcome(path, InteractionOutcome.RATE_LIMITED);
+                    return event.reply(generateRateLimitMessage(wait)).then(Mono.empty());
+                }
+            }
+            return ALLOWED;
+        });
+    }
+
+    /**
+     * @param interaction the interaction received
+     * @param scope the scope of a rate limit
+     * @return the ID of the user, guild or channel the rate limit is counted by
+     */
+    private long getRateLimitScopeId(Interaction interaction, RateLimitScope scope) {
+        switch (scope) {
+            case USER:
+                return interaction.getUser().getId().asLong();
+            case GUILD:
+                return interaction.getGuildId().orElse(interaction.getChannelId()).asLong();
+            case CHANNEL:
+            default:
+                return interaction.getChannelId().asLong();
+        }
+    }
+
+    /**
+     * Create an error message to be sent back in response to the user when a command was used too often.
+     *
+     * @param waitNanos the nanoseconds until the command can be used again
+     * @return an ephemeral interaction reply
+     */
+    private InteractionApplicationCommandCallbackSpec generateRateLimitMessage(long waitNanos) {
+        // Round up, "try again in 0 seconds" would be wrong
+        long seconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        return InteractionApplicationCommandCallbackSpec.builder()
+            .content("This command is being used too often, try again in " + seconds + (seconds == 1 ? " second." : " seconds."))
+            .ephemeral(true)
+            .build();
+    }
+
+    /**
+     * Set the compiled {@link FetchPlan} of a command to be executed by a builder, if it declared its data,
+     *  how the builder finds its entities and the targets of user and message commands, and the default deadlines
+     *  of its data.
+     *
+     * @param command the command being executed
+     * @param contextBuilder the builder of the interaction
+     * @return the builder
+     */
+    @SuppressWarnings("unchecked") // The typed setDataRequirements of each command type matches the plan to its builder
+    private <B extends ContextBuilder> B prepareContextBuilder(BaseCommand command, B contextBuilder) {
+        FetchPlan<? super B> fetchPlan = (FetchPlan<? super B>) command.getFetchPlan();
+        if (fetchPlan != null) {
+            fetchPlan.apply(contextBuilder);
+        }
+        contextBuilder.setEntityCache(genericSlashLib.entityCache);
+        contextBuilder.setBotMemberCache(genericSlashLib.botMemberCache);
+        contextBuilder.setDataResolutionMode(genericSlashLib.dataResolutionMode);
+        contextBuilder.setDataTimeouts(genericSlashLib.requiredDataTimeout, genericSlashLib.requestedDataTimeout);
+        return contextBuilder;
+    }
+
+    /**
+     * Collect the data requested by a command, build the context it is executed with and execute it.
+     * Any exception thrown while creating the builder is already an error signal as this is called within an operator.
+     *
+     * @param path the path of the command to record metrics for, null if neither metrics nor statistics are recorded
+     * @param command the command being executed
+     * @param contextBuilder the builder returned from the commands request data method
+     * @param contextFactory builds the context once data is collected
+     * @param execute executes the command with the built context
+     * @return the context after execution, or an error if required data is missing
+     */
+    private <B extends ContextBuilder, C extends Context> Mono<C> collectBuildAndExecute(@Nullable String path,
+                                                                                          BaseCommand command,
+                                                                                          B contextBuilder,
+                                                                                          Function<B, C> contextFactory,
+                                                                                          Function<C, Mono<C>> execute) {
+        Function<C, Mono<C>> execution = withExecutionMode(command, execute);
+        Mono<C> collectBuildAndExecute = timed(path, InteractionPhase.COLLECT_DATA, contextBuilder.collectData())
+            .thenReturn(contextBuilder)
+            .map(builder -> {
+                long start = System.nanoTime();
+                C context = contextFactory.apply(builder);
+                recordPhase(path, InteractionPhase.BUILD, start);
+                return context;
+            })
+            .flatMap(context -> timed(path, InteractionPhase.EXECUTE,
+                FlightEvents.recordExecute(contextBuilder.getEvent().getInteraction(), execution.apply(context))));
+        if (commandStatistics != null) {
+            collectBuildAndExecute = withCommandStats(commandStatistics.getCommandStats(path), collectBuildAndExecute);
+        }
+        if (metrics != null) {
+            collectBuildAndExecute = collectBuildAndExecute
+                .doOnSuccess(_context -> recordOutcome(path, InteractionOutcome.EXECUTED))
+                .doOnError(t -> recordOutcome(path, (t instanceof DataMissingException) ? InteractionOutcome.DATA_MISSING : InteractionOutcome.ERROR));
+        }
+        return withAutoDefer(command, contextBuilder, collectBuildAndExecute);
+    }
+
+    /**
+     * Count an invocation of a command in its statistics, from subscription until it completes, errors or is cancelled.
+     *
+     * @param commandStats the statistics of the command
+     * @param invocation collects data for and executes the command
+     * @return the invocation, counted in the statistics
+     */
+    private <C extends Context> Mono<C> withCommandStats(CommandStats commandStats, Mono<C> invocation) {
+        return Mono.defer(() -> {
+            commandStats.invocationStarted();
+            long start = System.nanoTime();
+            return invocation.doFinally(signal -> commandStats.invocationFinished(System.nanoTime() - start, signal == SignalType.ON_ERROR));
+        });
+    }
+
+    /**
+     * Time a phase of handling an interaction, from subscription until it completes, errors or is cancelled.
+     *
+     * @param path the path of the command to record metrics for, null if neither metrics nor statistics are recorded
+     * @param phase the phase being timed
+     * @param mono the phase
+     * @return the phase, timed if metrics are recorded
+     */
+    private <T> Mono<T> timed(@Nullable String path, InteractionPhase phase, Mono<T> mono) {
+        if (metrics == null) {
+            return mono;
+        }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return mono.doFinally(_signal -> recordPhase(path, phase, start));
+        });
+    }
+
+    /**
+     * @param path the path of the command to record metrics for, null if neither metrics nor statistics are recorded
+     * @param phase the phase which ended
+     * @param start the {@link System#nanoTime()} the phase started at
+     */
+    private void recordPhase(@Nullable String path, InteractionPhase phase, long start) {
+        if (metrics != null) {
+            metrics.recordPhase(path, phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @param path the path of the command to record metrics for, null if neither metrics nor statistics are recorded
+     * @param outcome how handling the interaction ended
+     */
+    private void recordOutcome(@Nullable String path, InteractionOutcome outcome) {
+        if (metrics != null) {
+            metrics.recordOutcome(path, outcome);
+        }
+    }
+
+    /**
+     * Move the execution of a command to the blocking scheduler if its {@link ExecutionMode} is blocking.
+     *
+     * @param command the command being executed
+     * @param execute executes the command with the built context
+     * @return the execution on the scheduler for the commands mode
+     */
+    private <C extends Context> Function<C, Mono<C>> withExecutionMode(BaseCommand command, Function<C, Mono<C>> execute) {
+        ExecutionMode executionMode = (command.getExecutionMode() != null) ? command.getExecutionMode() : genericSlashLib.getExecutionMode();
+        if (executionMode != ExecutionMode.BLOCKING) {
+            return execute;
+        }
+        // Deferred so the execute method itself, not only the returned Mono, is called on the scheduler
+        return context -> Mono.defer(() -> execute.apply(context))
+            .subscribeOn(genericSlashLib.getBlockingScheduler());
+    }
+
+    /**
+     * Defer the interaction if there is no response by the threshold set with
+     *  {@link GenericSlashLibBuilder#setAutoDefer(Duration, boolean)}, measured from when the interaction was created.
+     *  Only commands which opted in with {@link BaseCommand#setAutoDeferred()} are deferred.
+     *
+     * @param command the command being executed
+     * @param contextBuilder the builder of the interaction, its {@link InteractionResponder} is shared with the context
+     * @param execution collects data for and executes the command
+     * @return the execution, deferring the interaction if it takes too long
+     */
+    private <B extends ContextBuilder, C extends Context> Mono<C> withAutoDefer(BaseCommand command, B contextBuilder, Mono<C> execution) {
+        Optional<Duration> threshold = genericSlashLib.getAutoDeferThreshold();
+        if (!threshold.isPresent() || !command.isAutoDeferred()) {
+            return execution;
+        }
+        return Mono.defer(() -> {
+            // The ID of the interaction is when Discord created it, time spent before it was received counts too
+            Instant createdAt = contextBuilder.getEvent().getInteraction().getId().getTimestamp();
+            Duration delay = threshold.get().minus(Duration.between(createdAt, Instant.now()));
+            Disposable timer = Mono.delay(delay.isNegative() ? Duration.ZERO : delay)
+                .flatMap(_tick -> contextBuilder.getResponder().defer(genericSlashLib.isAutoDeferEphemeral()))
+                .subscribe(null, t -> logger.warn("Couldn't defer interaction: " + t.getMessage()));
+            return execution.doFinally(_signal -> timer.dispose());
+        });
     }
 
     /**
@@ -115,27 +445,32 @@ public class GenericEventReceiverImpl<
     @Override
     public Mono<IC> receiveChatInputInteractionEvent(ChatInputInteractionEvent event) {
         // We need the command interaction to get the options
-        return Mono.justOrEmpty(event.getInteraction().getCommandInteraction())
+        return FlightEvents.recordDispatch(event.getInteraction(), Mono.justOrEmpty(event.getInteraction().getCommandInteraction())
             // Get the command, we use the helper method on the command Structure to get this as
             //  chat input commands care multi-level
-            .flatMap(aci -> Mono.just(genericSlashLib.getCommandRegister().getCommandStructure().searchForChatCommand(aci))
+            .flatMap(aci -> {
+                // The path is only needed when recording metrics or statistics, don't build it otherwise
+                String path = (metrics != null || commandStatistics != null) ? CommandStructure.getCommandPath(aci) : null;
+                long start = System.nanoTime();
+                GenericChatCommand<IC, IB> command = genericSlashLib.getCommandRegister().getCommandStructure().resolveChatCommand(aci);
+                recordPhase(path, InteractionPhase.LOOKUP, start);
+                if (command == null) {
+                    recordOutcome(path, InteractionOutcome.NOT_FOUND);
+                    return Mono.empty();
+                }
                 // Check bot permissions in guild
-                .flatMap(pair -> checkPermissionsAndReply(event, pair.getKey())
-                    // Have perms, create the builder and collect data
-                    .flatMap(_bool -> {
-                        try {
-                            return pair.getKey()
-                                .setRequestData(genericSlashLib.getChatInputContextBuilderConstructor().newInstance(event, aci, pair.getValue()))
-                                .collectData();
-                        } catch (Exception e) {
-                            return Mono.error(e);
-                        }
-                    })
-                    .ofType(genericSlashLib.getChatInputContextBuilderClass())
-                    .map(ChatContextBuilder::build)
-                    .ofType(genericSlashLib.getChatInputContextClass())
-                    // Call the command
-                    .flatMap(context -> pair.getKey().executeChat(context))));
+                return checkPermissionsAndReply(event, command, path)
+                    // Check rate limits before any data is collected
+                    .flatMap(_bool -> checkRateLimitsAndReply(event, command, path))
+                    // Have perms, create the builder, collect data, build the context and call the command
+                    .flatMap(_bool -> collectBuildAndExecute(
+                        path,
+                        command,
+                        command.setRequestData(prepareContextBuilder(command, genericSlashLib.getChatInputContextBuilderFactory()
+                            .create(event, aci, CommandStructure.getCallableOptions(aci.getOptions())))),
+                        genericSlashLib.getChatInputContextFactory(),
+                        command::executeChat));
+            }));
     }
 
     /**
@@ -146,24 +481,28 @@ public class GenericEventReceiverImpl<
      */
     @Override
     public Mono<UC> receiveUserInteractionEvent(UserInteractionEvent event) {
-        // Since User Interactions are only top level we can just get our command by the name
-        return Mono.just(genericSlashLib.getCommandRegister().getCommandStructure().searchForUserCommand(event))
+        return FlightEvents.recordDispatch(event.getInteraction(), Mono.defer(() -> {
+            String path = (metrics != null || commandStatistics != null) ? event.getCommandName() : null;
+            long start = System.nanoTime();
+            // Since User Interactions are only top level we can just get our command by the name
+            GenericUserCommand<UC, UB> userCommand = genericSlashLib.getCommandRegister().getCommandStructure().searchForUserCommand(event);
+            recordPhase(path, InteractionPhase.LOOKUP, start);
+            if (userCommand == null) {
+                recordOutcome(path, InteractionOutcome.NOT_FOUND);
+                return Mono.empty();
+            }
             // Check bot permissions in guild
-            .flatMap(userCommand -> checkPermissionsAndReply(event, userCommand)
-                // Have perms, create the builder and collect data
-                .flatMap(_bool -> {
-                    try {
-                        return userCommand.setRequestData(genericSlashLib.getUserContextBuilderConstructor().newInstance(event))
-                            .collectData();
-                    } catch (Exception e) {
-                        return Mono.error(e);
-                    }
-                })
-                .ofType(genericSlashLib.getUserContextBuilderClass())
-                .map(UserContextBuilder::build)
-                .ofType(genericSlashLib.getUserContextClass())
-                // Call the command
-                .flatMap(userCommand::executeUser));
+            return checkPermissionsAndReply(event, userCommand, path)
+                // Check rate limits before any data is collected
+                .flatMap(_bool -> checkRateLimitsAndReply(event, userCommand, path))
+                // Have perms, create the builder, collect data, build the context and call the command
+                .flatMap(_bool -> collectBuildAndExecute(
+                    path,
+                    userCommand,
+                    userCommand.setRequestData(prepareContextBuilder(userCommand, genericSlashLib.getUserContextBuilderFactory().apply(event))),
+                    genericSlashLib.getUserContextFactory(),
+                    userCommand::executeUser));
+        }));
     }
 
     /**
@@ -174,24 +513,28 @@ public class GenericEventReceiverImpl<
      */
     @Override
     public Mono<MC> receiveMessageInteractionEvent(MessageInteractionEvent event) {
-        // Since User Interactions are only top level we can just get our command by the name
-        return Mono.just(genericSlashLib.getCommandRegister().getCommandStructure().searchForMessageCommand(event))
+        return FlightEvents.recordDispatch(event.getInteraction(), Mono.defer(() -> {
+            String path = (metrics != null || commandStatistics != null) ? event.getCommandName() : null;
+            long start = System.nanoTime();
+            // Since Message Interactions are only top level we can just get our command by the name
+            GenericMessageCommand<MC, MB> messageCommand = genericSlashLib.getCommandRegister().getCommandStructure().searchForMessageCommand(event);
+            recordPhase(path, InteractionPhase.LOOKUP, start);
+            if (messageCommand == null) {
+                recordOutcome(path, InteractionOutcome.NOT_FOUND);
+                return Mono.empty();
+            }
             // Check bot permissions in guild
-            .flatMap(messageCommand -> checkPermissionsAndReply(event, messageCommand)
-                // Have perms, create the builder and collect data
-                .flatMap(_bool -> {
-                    try {
-                        return messageCommand.setRequestData(genericSlashLib.getMessageContextBuilderConstructor().newInstance(event))
-                            .collectData();
-                    } catch (Exception e) {
-                        return Mono.error(e);
-                    }
-                })
-                .ofType(genericSlashLib.getMessageContextBuilderClass())
-                .map(MessageContextBuilder::build)
-                .ofType(genericSlashLib.getMessageContextClass())
-                // Call the command
-                .flatMap(messageCommand::executeMessage));
+            return checkPermissionsAndReply(event, messageCommand, path)
+                // Check rate limits before any data is collected
+                .flatMap(_bool -> checkRateLimitsAndReply(event, messageCommand, path))
+                // Have perms, create the builder, collect data, build the context and call the command
+                .flatMap(_bool -> collectBuildAndExecute(
+                    path,
+                    messageCommand,
+                    messageCommand.setRequestData(prepareContextBuilder(messageCommand, genericSlashLib.getMessageContextBuilderFactory().apply(event))),
+                    genericSlashLib.getMessageContextFactory(),
+                    messageCommand::executeMessage));
+        }));
     }
 
     /**
@@ -208,10 +551,11 @@ public class GenericEventReceiverImpl<
         return Mono.justOrEmpty(event.getInteraction().getCommandInteraction())
             // Get the command, we use the helper method on the command Structure to get this as
             //  chat input commands care multi-level
-            .flatMap(aci -> Mono.just(genericSlashLib.getCommandRegister().getCommandStructure().searchForChatCommand(aci))
+            .flatMap(aci -> Mono.justOrEmpty(genericSlashLib.getCommandRegister().getCommandStructure().resolveChatCommand(aci))
                 // Check bot permissions in guild
-                .flatMap(pair -> checkPermissions(event, pair.getKey())
+                .flatMap(command -> checkPermissions(event, command)
                     // Have perms, call the autocomplete method for the command
-                    .flatMap(_boolean -> pair.getKey().receiveAutoCompleteEvent(new AutoCompleteContext(event, aci, pair.getValue())))));
+                    .flatMap(_boolean -> command.receiveAutoCompleteEvent(
+                        new AutoCompleteContext(event, aci, CommandStructure.getCallableOptions(aci.getOptions()))))));
     }
 }
@@ -1,6 +1,9 @@
 package dev.hc224.slashlib;
 
+import dev.hc224.slashlib.commands.ExecutionMode;
 import dev.hc224.slashlib.context.*;
+import dev.hc224.slashlib.jmx.CommandStatistics;
+import dev.hc224.slashlib.metrics.InteractionMetrics;
 import discord4j.core.GatewayDiscordClient;
 import discord4j.core.event.EventDispatcher;
 import discord4j.core.event.domain.Event;
@@ -11,10 +14,13 @@ import discord4j.core.event.domain.interaction.UserInteractionEvent;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.util.Logger;
 import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
 
-import java.lang.reflect.Constructor;
+import java.time.Duration;
+import java.util.Optional;
 import java.util.function.Function;
 
 /**
@@ -40,35 +46,78 @@ public class GenericSlashLib<
     protected CommandRegister<IC, IB, UC, UB, MC, MB> commandRegister;
     // The event receiver for processing incoming interactions
     GenericEventReceiver<IC, UC, MC> receiver;
+    // The cache of permission check results, null if not used
+    final PermissionCache permissionCache;
+    // The cache of entities fetched by context builders, null if not used
+    final EntityCache entityCache;
+    // The cache of the bot member in each guild, null if not used
+    final BotMemberCache botMemberCache;
+    // How permissions are checked before executing a command
+    final PermissionCheckMode permissionCheckMode;
+    // How the targets of user and message commands are found
+    final DataResolutionMode dataResolutionMode;
+    // Default deadlines of required and requested data, null if none
+    final Duration requiredDataTimeout;
+    final Duration requestedDataTimeout;
+    // Concurrency limits for each interaction type, null if unlimited
+    final InteractionLimiter chatInputLimiter;
+    final InteractionLimiter userLimiter;
+    final InteractionLimiter messageLimiter;
+    final InteractionLimiter autoCompleteLimiter;
+    // Automatic defer of slow interactions, null if disabled
+    final Duration autoDeferThreshold;
+    final boolean autoDeferEphemeral;
+    // Command Execution
+    final ExecutionMode executionMode;
+    // Created when first used, as only commands with the blocking execution mode need it
+    private volatile Scheduler blockingScheduler;
+    // Where interaction phases are recorded, null if not used
+    final InteractionMetrics metrics;
+    // The statistics exposed as MBeans, null if not used
+    final CommandStatistics commandStatistics;
 
     // Chat Input
-    final Class<IC> chatInputContextClass;
-    final Class<IB> chatInputContextBuilderClass;
-    final Constructor<IB> chatInputContextBuilderConstructor;
+    final ChatContextBuilderFactory<IB> chatInputContextBuilderFactory;
+    final Function<IB, IC> chatInputContextFactory;
     // Message
-    final Class<MC> messageContextClass;
-    final Class<MB> messageContextBuilderClass;
-    final Constructor<MB> messageContextBuilderConstructor;
+    final Function<MessageInteractionEvent, MB> messageContextBuilderFactory;
+    final Function<MB, MC> messageContextFactory;
     // User
-    final Class<UC> userContextClass;
-    final Class<UB> userContextBuilderClass;
-    final Constructor<UB> userContextBuilderConstructor;
+    final Function<UserInteractionEvent, UB> userContextBuilderFactory;
+    final Function<UB, UC> userContextFactory;
 
     protected GenericSlashLib(GenericSlashLibBuilder<IC, IB, UC, UB, MC, MB> builder) {
         this.commandRegister = null;
         this.receiver = null;
+        this.permissionCache = builder.permissionCache;
+        this.entityCache = builder.entityCache;
+        this.botMemberCache = builder.botMemberCache;
+        this.permissionCheckMode = builder.permissionCheckMode;
+        this.dataResolutionMode = builder.dataResolutionMode;
+        this.requiredDataTimeout = builder.requiredDataTimeout;
+        this.requestedDataTimeout = builder.requestedDataTimeout;
 
-        this.chatInputContextClass = builder.chatInputContextClass;
-        this.chatInputContextBuilderClass = builder.chatInputContextBuilderClass;
-        this.chatInputContextBuilderConstructor = builder.chatInputContextBuilderConstructor;
+        this.chatInputLimiter = builder.chatInputLimiter;
+        this.userLimiter = builder.userLimiter;
+        this.messageLimiter = builder.messageLimiter;
+        this.autoCompleteLimiter = builder.autoCompleteLimiter;
 
-        this.messageContextClass = builder.messageContextClass;
-        this.messageContextBuilderClass = builder.messageContextBuilderClass;
-        this.messageContextBuilderConstructor = builder.messageContextBuilderConstructor;
+        this.autoDeferThreshold = builder.autoDeferThreshold;
+        this.autoDeferEphemeral = builder.autoDeferEphemeral;
 
-        this.userContextClass = builder.userContextClass;
-        this.userContextBuilderClass = builder.userContextBuilderClass;
-        this.userContextBuilderConstructor = builder.userContextBuilderConstructor;
+        this.executionMode = builder.executionMode;
+        this.blockingScheduler = builder.blockingScheduler;
+        this.metrics = builder.metrics;
+        this.commandStatistics = builder.jmxEnabled ? new CommandStatistics() : null;
+
+        this.chatInputContextBuilderFactory = builder.chatInputContextBuilderFactory;
+        this.chatInputContextFactory = builder.chatInputContextFactory;
+
+        this.messageContextBuilderFactory = builder.messageContextBuilderFactory;
+        this.messageContextFactory = builder.messageContextFactory;
+
+        this.userContextBuilderFactory = builder.userContextBuilderFactory;
+        this.userContextFactory = builder.userContextFactory;
     }
 
     /**
@@ -96,6 +145,9 @@ public class GenericSlashLib<
                 builder.guildUserCommands,
                 builder.guildMessageCommands,
                 builder.guildCommandStateProvider);
+        if (genericSlashLib.commandStatistics != null) {
+            genericSlashLib.commandStatistics.registerCommandRegister(genericSlashLib.commandRegister);
+        }
         created = true;
         return genericSlashLib;
     }
@@ -105,18 +157,21 @@ public class GenericSlashLib<
      *
      * @param eventDispatcher the event dispatcher to register with
      * @param event the event to listen for
+     * @param limiter the limit of events processed at once, null if unlimited
      * @param mapper the method to call
      * @param <E> any Discord event
      * @param <T> any Publisher which accepts the event
      */
-    private <E extends Event, T> void registerListener(EventDispatcher eventDispatcher, Class<E> event, Function<E, Publisher<T>> mapper) {
-        eventDispatcher.on(event)
-            .flatMap(e -> Flux.defer(() -> mapper.apply(e))
-                .onErrorResume(t -> {
-                    logger.error("Error while handling CHAT_INPUT event");
-                    logger.error(t.getClass().getCanonicalName() + ": " + t.getMessage());
-                    return Mono.empty();
-                }))
+    private <E extends Event, T> void registerListener(EventDispatcher eventDispatcher, Class<E> event,
+                                                       @Nullable InteractionLimiter limiter, Function<E, Publisher<T>> mapper) {
+        Function<E, Publisher<T>> handler = e -> Flux.defer(() -> mapper.apply(e))
+            .onErrorResume(t -> {
+                logger.error("Error while handling " + event.getSimpleName());
+                logger.error(t.getClass().getCanonicalName() + ": " + t.getMessage());
+                return Mono.empty();
+            });
+        Flux<E> events = eventDispatcher.on(event);
+        ((limiter == null) ? events.flatMap(handler) : limiter.limit(events, handler))
             .subscribe();
     }
 
@@ -127,14 +182,29 @@ public class GenericSlashLib<
      * {@link MessageInteractionEvent}
      * {@link ChatInputAutoCompleteEvent}
      *
+     * Each interaction type is processed with the {@link InteractionLimiter} set for it, if any.
+     * If a {@link PermissionCache}, {@link EntityCache} or {@link BotMemberCache} is used, it will also listen for the
+     *  events which invalidate it. The guild command IDs registered in a guild are forgotten when the bot leaves it.
+     *
      * @param eventDispatcher the {@link EventDispatcher} to be used with the bots future {@link GatewayDiscordClient}
      */
     public void registerAsListener(EventDispatcher eventDispatcher) {
         // Should not be any notable performance overhead to register listeners for events that are never received
-        registerListener(eventDispatcher, ChatInputInteractionEvent.class,  getReceiver()::receiveChatInputInteractionEvent);
-        registerListener(eventDispatcher, UserInteractionEvent.class,       getReceiver()::receiveUserInteractionEvent);
-        registerListener(eventDispatcher, MessageInteractionEvent.class,    getReceiver()::receiveMessageInteractionEvent);
-        registerListener(eventDispatcher, ChatInputAutoCompleteEvent.class, getReceiver()::receiveAutoCompleteEvent);
+        registerListener(eventDispatcher, ChatInputInteractionEvent.class,  chatInputLimiter,    getReceiver()::receiveChatInputInteractionEvent);
+        registerListener(eventDispatcher, UserInteractionEvent.class,       userLimiter,         getReceiver()::receiveUserInteractionEvent);
+        registerListener(eventDispatcher, MessageInteractionEvent.class,    messageLimiter,      getReceiver()::receiveMessageInteractionEvent);
+        registerListener(eventDispatcher, ChatInputAutoCompleteEvent.class, autoCompleteLimiter, getReceiver()::receiveAutoCompleteEvent);
+
+        commandRegister.registerInvalidation(eventDispatcher);
+        if (permissionCache != null) {
+            permissionCache.registerInvalidation(eventDispatcher);
+        }
+        if (entityCache != null) {
+            entityCache.registerInvalidation(eventDispatcher);
+        }
+        if (botMemberCache != null) {
+            botMemberCache.registerInvalidation(eventDispatcher);
+        }
     }
 
     /**
@@ -143,72 +213,193 @@ public class GenericSlashLib<
     public CommandRegister<IC, IB, UC, UB, MC, MB> getCommandRegister() { return commandRegister; }
 
     /**
-     * @return the event receiver being used to handle interaction events
+     * @return the cache of permission check results, empty if results aren't cached
      */
-    public GenericEventReceiver<IC, UC, MC> getReceiver() {
-        return receiver;
+    public Optional<PermissionCache> getPermissionCache() {
+        return Optional.ofNullable(permissionCache);
+    }
+
+    /**
+     * @return the cache of entities fetched by context builders, empty if entities aren't cached
+     */
+    public Optional<EntityCache> getEntityCache() {
+        return Optional.ofNullable(entityCache);
+    }
+
+    /**
+     * @return the cache of the bot member in each guild, empty if bot members aren't cached
+     */
+    public Optional<BotMemberCache> getBotMemberCache() {
+        return Optional.ofNullable(botMemberCache);
+    }
+
+    /**
+     * @return how permissions are checked before executing a command
+     */
+    public PermissionCheckMode getPermissionCheckMode() {
+        return permissionCheckMode;
+    }
+
+    /**
+     * @return how the targets of user and message commands are found
+     */
+    public DataResolutionMode getDataResolutionMode() {
+        return dataResolutionMode;
+    }
+
+    /**
+     * @return how long after collecting starts required data must be found by, empty if there is no deadline
+     */
+    public Optional<Duration> getRequiredDataTimeout() {
+        return Optional.ofNullable(requiredDataTimeout);
+    }
+
+    /**
+     * @return how long after collecting starts requested data is waited for, empty if there is no deadline
+     */
+    public Optional<Duration> getRequestedDataTimeout() {
+        return Optional.ofNullable(requestedDataTimeout);
+    }
+
+    /**
+     * @return the limit of CHAT_INPUT interactions processed at once, empty if unlimited
+     */
+    public Optional<InteractionLimiter> getChatInputLimiter() {
+        return Optional.ofNullable(chatInputLimiter);
+    }
+
+    /**
+     * @return the limit of USER interactions processed at once, empty if unlimited
+     */
+    public Optional<InteractionLimiter> getUserLimiter() {
+        return Optional.ofNullable(userLimiter);
+    }
+
+    /**
+     * @return the limit of MESSAGE interactions processed at once, empty if unlimited
+     */
+    public Optional<InteractionLimiter> getMessageLimiter() {
+        return Optional.ofNullable(messageLimiter);
+    }
+
+    /**
+     * @return the limit of autocomplete interactions processed at once, empty if unlimited
+     */
+    public Optional<InteractionLimiter> getAutoCompleteLimiter() {
+        return Optional.ofNullable(autoCompleteLimiter);
+    }
+
+    /**
+     * @return the amount of interactions of every type waiting for a limiter to process them
+     */
+    public int getQueueDepth() {
+        int queueDepth = 0;
+        if (chatInputLimiter != null) queueDepth += chatInputLimiter.getQueueDepth();
+        if (userLimiter != null) queueDepth += userLimiter.getQueueDepth();
+        if (messageLimiter != null) queueDepth += messageLimiter.getQueueDepth();
+        if (autoCompleteLimiter != null) queueDepth += autoCompleteLimiter.getQueueDepth();
+        return queueDepth;
+    }
+
+    /**
+     * @return the age of an interaction at which it is automatically deferred, empty if disabled
+     */
+    public Optional<Duration> getAutoDeferThreshold() {
+        return Optional.ofNullable(autoDeferThreshold);
+    }
+
+    /**
+     * @return true if automatic defers are only visible to the user
+     */
+    public boolean isAutoDeferEphemeral() {
+        return autoDeferEphemeral;
     }
 
     /**
-     * @return the class being used for CHAT_INPUT context
+     * @return how the execute method of commands is called, unless set by the command
      */
-    public Class<IC> getChatInputContextClass() {
-        return chatInputContextClass;
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
     }
 
     /**
-     * @return the class being used to build CHAT_INPUT contexts
+     * @return the scheduler commands with {@link ExecutionMode#BLOCKING} are executed on, created when first called
+     *  unless set with {@link GenericSlashLibBuilder#setBlockingScheduler(Scheduler)}
      */
-    public Class<IB> getChatInputContextBuilderClass() {
-        return chatInputContextBuilderClass;
+    public Scheduler getBlockingScheduler() {
+        Scheduler scheduler = blockingScheduler;
+        if (scheduler == null) {
+            synchronized (this) {
+                scheduler = blockingScheduler;
+                if (scheduler == null) {
+                    scheduler = BlockingSchedulers.create();
+                    blockingScheduler = scheduler;
+                }
+            }
+        }
+        return scheduler;
     }
 
     /**
-     * @return the constructor of the CHAT_INPUT context builder
+     * @return where the time taken by each phase of handling an interaction is recorded, empty if not recorded
      */
-    public Constructor<IB> getChatInputContextBuilderConstructor() {
-        return chatInputContextBuilderConstructor;
+    public Optional<InteractionMetrics> getMetrics() {
+        return Optional.ofNullable(metrics);
+    }
+
+    /**
+     * @return the statistics of each command exposed as MBeans, empty if JMX isn't enabled
+     */
+    public Optional<CommandStatistics> getCommandStatistics() {
+        return Optional.ofNullable(commandStatistics);
+    }
+
+    /**
+     * @return the event receiver being used to handle interaction events
+     */
+    public GenericEventReceiver<IC, UC, MC> getReceiver() {
+        return receiver;
     }
 
     /**
-     * @return the class being used for MESSAGE context
+     * @return the factory creating CHAT_INPUT context builders
      */
-    public Class<MC> getMessageContextClass() {
-        return messageContextClass;
+    public ChatContextBuilderFactory<IB> getChatInputContextBuilderFactory() {
+        return chatInputContextBuilderFactory;
     }
 
     /**
-     * @return the class being used to build MESSAGE contexts
+     * @return the function building CHAT_INPUT contexts from their builder
      */
-    public Class<MB> getMessageContextBuilderClass() {
-        return messageContextBuilderClass;
+    public Function<IB, IC> getChatInputContextFactory() {
+        return chatInputContextFactory;
     }
 
     /**
-     * @return the constructor of the MESSAGE context builder
+     * @return the factory creating MESSAGE context builders
      */
-    public Constructor<MB> getMessageContextBuilderConstructor() {
-        return messageContextBuilderConstructor;
+    public Function<MessageInteractionEvent, MB> getMessageContextBuilderFactory() {
+        return messageContextBuilderFactory;
     }
 
     /**
-     * @return the class being used for USER context
+     * @return the function building MESSAGE contexts from their builder
      */
-    public Class<UC> getUserContextClass() {
-        return userContextClass;
+    public Function<MB, MC> getMessageContextFactory() {
+        return messageContextFactory;
     }
 
     /**
-     * @return the class being used to build USER contexts
+     * @return the factory creating USER context builders
      */
-    public Class<UB> getUserContextBuilderClass() {
-        return userContextBuilderClass;
+    public Function<UserInteractionEvent, UB> getUserContextBuilderFactory() {
+        return userContextBuilderFactory;
     }
 
     /**
-     * @return the constructor of the USER context builder
+     * @return the function building USER contexts from their builder
      */
-    public Constructor<UB> getUserContextBuilderConstructor() {
-        return userContextBuilderConstructor;
+    public Function<UB, UC> getUserContextFactory() {
+        return userContextFactory;
     }
 }
@@ -1,14 +1,17 @@
 package dev.hc224.slashlib;
 
+import dev.hc224.slashlib.commands.BaseCommand;
+import dev.hc224.slashlib.commands.ExecutionMode;
 import dev.hc224.slashlib.commands.InvalidCommandLocationException;
 import dev.hc224.slashlib.commands.generic.*;
 import dev.hc224.slashlib.context.*;
-import discord4j.core.event.domain.interaction.ChatInputInteractionEvent;
+import dev.hc224.slashlib.metrics.InteractionMetrics;
 import discord4j.core.event.domain.interaction.MessageInteractionEvent;
 import discord4j.core.event.domain.interaction.UserInteractionEvent;
-import discord4j.core.object.command.ApplicationCommandInteraction;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
-import java.lang.reflect.Constructor;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
@@ -22,17 +25,14 @@ public class GenericSlashLibBuilder<
         MC extends MessageContext, MB extends MessageContextBuilder
         > {
     // Chat Input
-    final Class<IC> chatInputContextClass;
-    final Class<IB> chatInputContextBuilderClass;
-    final Constructor<IB> chatInputContextBuilderConstructor;
+    final ChatContextBuilderFactory<IB> chatInputContextBuilderFactory;
+    final Function<IB, IC> chatInputContextFactory;
     // Message
-    final Class<MC> messageContextClass;
-    final Class<MB> messageContextBuilderClass;
-    final Constructor<MB> messageContextBuilderConstructor;
+    final Function<MessageInteractionEvent, MB> messageContextBuilderFactory;
+    final Function<MB, MC> messageContextFactory;
     // User
-    final Class<UC> userContextClass;
-    final Class<UB> userContextBuilderClass;
-    final Constructor<UB> userContextBuilderConstructor;
+    final Function<UserInteractionEvent, UB> userContextBuilderFactory;
+    final Function<UB, UC> userContextFactory;
 
     // Interaction Handling
     Function<GenericSlashLib<IC, IB, UC, UB, MC, MB>, GenericEventReceiver<IC, UC, MC>> eventReceiverProducer;
@@ -45,7 +45,36 @@ public class GenericSlashLibBuilder<
     List<GenericUserCommand<UC, UB>> guildUserCommands;
     List<GenericMessageCommand<MC, MB>> guildMessageCommands;
     GuildCommandStateProvider guildCommandStateProvider;
+    // Permission Checks
+    PermissionCache permissionCache;
+    EntityCache entityCache;
+    BotMemberCache botMemberCache;
+    PermissionCheckMode permissionCheckMode;
+    DataResolutionMode dataResolutionMode;
+    Duration requiredDataTimeout;
+    Duration requestedDataTimeout;
+    // Concurrency limits for each interaction type, null if unlimited
+    InteractionLimiter chatInputLimiter;
+    InteractionLimiter userLimiter;
+    InteractionLimiter messageLimiter;
+    InteractionLimiter autoCompleteLimiter;
+    // Automatic defer of slow interactions, null if disabled
+    Duration autoDeferThreshold;
+    boolean autoDeferEphemeral;
+    // Command Execution
+    ExecutionMode executionMode;
+    Scheduler blockingScheduler;
+    // Metrics
+    InteractionMetrics metrics;
+    boolean jmxEnabled;
 
+    /**
+     * Create a new builder from the context classes, the constructor of each builder class is found and
+     *  linked to a factory.
+     * The builders must override {@link ContextBuilder#build()} to create the matching context class.
+     *
+     * @throws NoSuchMethodException if a builder class doesn't have a public constructor matching its superclass
+     */
     public GenericSlashLibBuilder(Class<IC> chatInputContextClass,
                                   Class<IB> chatInputContextBuilderClass,
                                   Class<UC> userContextClass,
@@ -54,62 +83,42 @@ public class GenericSlashLibBuilder<
                                   Class<MB> messageContextBuilderClass)
             // Bad Bad Bad Bad Bad Bad Bad Bad
             throws NoSuchMethodException {
-
-        // Chat Input
-        this.chatInputContextClass = chatInputContextClass;
-        this.chatInputContextBuilderClass = chatInputContextBuilderClass;
-        this.chatInputContextBuilderConstructor = chatInputContextBuilderClass.getConstructor(
-                ChatInputInteractionEvent.class,
-                ApplicationCommandInteraction.class,
-                List.class);
-
-        // Message
-        this.messageContextClass = messageContextClass;
-        this.messageContextBuilderClass = messageContextBuilderClass;
-        this.messageContextBuilderConstructor = messageContextBuilderClass.getConstructor(MessageInteractionEvent.class);
-
-        // User
-        this.userContextClass = userContextClass;
-        this.userContextBuilderClass = userContextBuilderClass;
-        this.userContextBuilderConstructor = userContextBuilderClass.getConstructor(UserInteractionEvent.class);
-
-        // Interaction Handling
-        this.eventReceiverProducer = GenericEventReceiverImpl::new; // Default receiver
-
-        this.globalChatCommands = new ArrayList<>();
-        this.globalUserCommands = new ArrayList<>();
-        this.globalMessageCommands = new ArrayList<>();
-
-        this.guildChatCommands = new ArrayList<>();
-        this.guildUserCommands = new ArrayList<>();
-        this.guildMessageCommands = new ArrayList<>();
-
-        this.guildCommandStateProvider = new NoGuildCommandStateProvider();
+        this(ContextFactories.chatContextBuilderFactory(chatInputContextBuilderClass),
+            ContextFactories.contextFactory(chatInputContextClass),
+            ContextFactories.eventContextBuilderFactory(userContextBuilderClass, UserInteractionEvent.class),
+            ContextFactories.contextFactory(userContextClass),
+            ContextFactories.eventContextBuilderFactory(messageContextBuilderClass, MessageInteractionEvent.class),
+            ContextFactories.contextFactory(messageContextClass));
     }
 
-    protected GenericSlashLibBuilder(Class<IC> chatInputContextClass,
-                                     Class<IB> chatInputContextBuilderClass,
-                                     Constructor<IB> chatInputContextBuilderConstructor,
-                                     Class<UC> userContextClass,
-                                     Class<UB> userContextBuilderClass,
-                                     Constructor<UB> userContextBuilderConstructor,
-                                     Class<MC> messageContextClass,
-                                     Class<MB> messageContextBuilderClass,
-                                     Constructor<MB> messageContextBuilderConstructor) {
+    /**
+     * Create a new builder from factories for each context builder and context, such as:
+     * {@code new GenericSlashLibBuilder<>(CustomChatContextBuilder::new, CustomChatContextBuilder::build, ...)}
+     *
+     * @param chatInputContextBuilderFactory creates a chat input context builder for an interaction
+     * @param chatInputContextFactory builds a chat input context once data is collected
+     * @param userContextBuilderFactory creates a user context builder for an interaction
+     * @param userContextFactory builds a user context once data is collected
+     * @param messageContextBuilderFactory creates a message context builder for an interaction
+     * @param messageContextFactory builds a message context once data is collected
+     */
+    public GenericSlashLibBuilder(ChatContextBuilderFactory<IB> chatInputContextBuilderFactory,
+                                  Function<IB, IC> chatInputContextFactory,
+                                  Function<UserInteractionEvent, UB> userContextBuilderFactory,
+                                  Function<UB, UC> userContextFactory,
+                                  Function<MessageInteractionEvent, MB> messageContextBuilderFactory,
+                                  Function<MB, MC> messageContextFactory) {
         // Chat Input
-        this.chatInputContextClass = chatInputContextClass;
-        this.chatInputContextBuilderClass = chatInputContextBuilderClass;
-        this.chatInputContextBuilderConstructor = chatInputContextBuilderConstructor;
+        this.chatInputContextBuilderFactory = chatInputContextBuilderFactory;
+        this.chatInputContextFactory = chatInputContextFactory;
 
         // User
-        this.userContextClass = userContextClass;
-        this.userContextBuilderClass = userContextBuilderClass;
-        this.userContextBuilderConstructor = userContextBuilderConstructor;
+        this.userContextBuilderFactory = userContextBuilderFactory;
+        this.userContextFactory = userContextFactory;
 
         // Message
-        this.messageContextClass = messageContextClass;
-        this.messageContextBuilderClass = messageContextBuilderClass;
-        this.messageContextBuilderConstructor = messageContextBuilderConstructor;
+        this.messageContextBuilderFactory = messageContextBuilderFactory;
+        this.messageContextFactory = messageContextFactory;
 
         // Interaction Handling
         this.eventReceiverProducer = GenericEventReceiverImpl::new; // Default receiver
@@ -123,6 +132,26 @@ public class GenericSlashLibBuilder<
         this.guildMessageCommands = new ArrayList<>();
 
         this.guildCommandStateProvider = new NoGuildCommandStateProvider();
+        this.permissionCache = null; // No cache by default
+        this.entityCache = null; // No cache by default
+        this.botMemberCache = null; // No cache by default
+        this.permissionCheckMode = PermissionCheckMode.ENTITY;
+        this.dataResolutionMode = DataResolutionMode.FETCH;
+        this.requiredDataTimeout = null; // No deadline by default
+        this.requestedDataTimeout = null;
+
+        this.chatInputLimiter = null;
+        this.userLimiter = null;
+        this.messageLimiter = null;
+        this.autoCompleteLimiter = null;
+
+        this.autoDeferThreshold = null;
+        this.autoDeferEphemeral = false;
+
+        this.executionMode = ExecutionMode.REACTIVE;
+        this.blockingScheduler = null; // Created when first used
+        this.metrics = null;
+        this.jmxEnabled = false;
     }
 
     /**
@@ -230,6 +259,201 @@ public class GenericSlashLibBuilder<
         return this;
     }
 
+    /**
+     * Cache the results of permission checks in guilds, instead of resolving the effective permissions of the bot
+     *  and user for every interaction.
+     *
+     * @param permissionCache the {@link PermissionCache} to use, or null to not cache results
+     * @return this instance
+     */
+    public GenericSlashLibBuilder<IC, IB, UC, UB, MC, MB> setPermissionCache(PermissionCache permissionCache) {
+        this.permissionCache = permissionCache;
+        return this;
+    }
+
+    /**
+     * Cache the guilds, channels, members and users fetched by the context builders, instead of fetching them
+     *  through D4J for every interaction.
+     *
+     * @param entityCache the {@link EntityCache} to use, or null to not cache entities
+     * @return this instance
+     */
+    public GenericSlashLibBuilder<IC, IB, UC, UB, MC, MB> setEntityCache(EntityCache entityCache) {
+        this.entityCache = entityCache;
+        return this;
+    }
+
+    /**
+     * Cache the member of the bot in each guild, instead of fetching it for every interaction which requires or
+     *  requests it.
+     *
+     * @param botMemberCache the {@link BotMemberCache} to use, or null to not cache bot members
+     * @return this instance
+     */
+    public GenericSlashLibBuilder<IC, IB, UC, UB, MC, MB> setBotMemberCache(BotMemberCache botMemberCache) {
+        this.botMemberCache = botMemberCache;
+        return this;
+    }
+
+    /**
+     * Set how the permissions of the bot and calling user are checked, {@link PermissionCheckMode#ENTITY} by default.
+     *
+     * @param permissionCheckMode the {@link PermissionCheckMode} to use
+     * @return this instance
+     */
+    public GenericSlashLibBuilder<IC, IB, UC, UB, MC, MB> setPermissionCheckMode(PermissionCheckMode permissionCheckMode) {
+        this.permissionCheckMode = permissionCheckMode;
+        return this;
+    }
+
+    /**
+     * Set how the targets of user and message commands are found, {@link DataResolutionMode#FETCH} by default.
+     *
+     * @param dataResolutionMode the {@link DataResolutionMode} to use
+     * @return this instance
+     */
+    public GenericSlashLibBuilder<IC, IB, UC, UB, MC, MB> setDataResolutionMode(DataResolutionMode dataResolutionMode) {
+        this.dataResolutionMode = dataResolutionMode;
+        return this;
+    }
+
+    /**
+     * Set how long after collecting starts the data required by a command must be found by, unless the requirement
+     *  has its own timeout. Past the deadline the command isn't executed and a
+     *  {@link dev.hc224.slashlib.context.DataTimeoutException} is raised without waiting for other data.
+     *
+     * @param requiredDataTimeout the deadline of required data, or null for no deadline
+     * @return this instance
+     */
+    public GenericSlashLibBuilder<IC, IB, UC, UB, MC, MB> setRequiredDataTimeout(Duration requiredDataTimeout) {
+        this.requiredDataTimeout = requiredDataTimeout;
+        return this;
+    }
+
+    /**
+     * Set how long after collecting starts the data requested by a command is waited for, unless the requirement
+     *  has its own timeout. Past the deadline the data is abandoned and counted as missing.
+     *
+     * @param requestedDataTimeout the deadline of requested data, or null for no deadline
+     * @return this instance
+     */
+    public GenericSlashLibBuilder<IC, IB, UC, UB, MC, MB> setRequestedDataTimeout(Duration requestedDataTimeout) {
+        this.requestedDataTimeout = requestedDataTimeout;
+        return this;
+    }
+
+    /**
+     * Limit how many CHAT_INPUT interactions are processed at once.
+     *
+     * @param chatInputLimiter the {@link InteractionLimiter} to use, or null to not limit them
+     * @return this instance
+     */
+    public GenericSlashLibBuilder<IC, IB, UC, UB, MC, MB> setChatInputLimiter(InteractionLimiter chatInputLimiter) {
+        this.chatInputLimiter = chatInputLimiter;
+        return this;
+    }
+
+    /**
+     * Limit how many USER interactions are processed at once.
+     *
+     * @param userLimiter the {@link InteractionLimiter} to use, or null to not limit them
+     * @return this instance
+     */
+    public GenericSlashLibBuilder<IC, IB, UC, UB, MC, MB> setUserLimiter(InteractionLimiter userLimiter) {
+        this.userLimiter = userLimiter;
+        return this;
+    }
+
+    /**
+     * Limit how many MESSAGE interactions are processed at once.
+     *
+     * @param messageLimiter the {@link InteractionLimiter} to use, or null to not limit them
+     * @return this instance
+     */
+    public GenericSlashLibBuilder<IC, IB, UC, UB, MC, MB> setMessageLimiter(InteractionLimiter messageLimiter) {
+        this.messageLimiter = messageLimiter;
+        return this;
+    }
+
+    /**
+     * Limit how many autocomplete interactions are processed at once.
+     * These can't be rejected with a message, so any policy other than {@link OverflowPolicy#QUEUE} drops them.
+     *
+     * @param autoCompleteLimiter the {@link InteractionLimiter} to use, or null to not limit them
+     * @return this instance
+     */
+    public GenericSlashLibBuilder<IC, IB, UC, UB, MC, MB> setAutoCompleteLimiter(InteractionLimiter autoCompleteLimiter) {
+        this.autoCompleteLimiter = autoCompleteLimiter;
+        return this;
+    }
+
+    /**
+     * Automatically defer interactions which weren't responded to within a threshold of being created, Discord
+     *  requires a response within 3 seconds. Disabled by default.
+     *
+     * Only commands which opt in with {@link BaseCommand#setAutoDeferred()} are deferred. Those commands must reply
+     *  through {@link Context#reply(String)} or {@link Context#getResponder()}, which send a follow-up once the
+     *  interaction was deferred. Replying through the event directly fails after a defer, and the first reply after
+     *  a defer must have the same ephemeral flag as the defer.
+     *
+     * @param threshold the age of an interaction at which it is deferred, or null to disable
+     * @param ephemeral if the loading message of the defer, and as such the first reply, is only visible to the user
+     * @return this instance
+     */
+    public GenericSlashLibBuilder<IC, IB, UC, UB, MC, MB> setAutoDefer(Duration threshold, boolean ephemeral) {
+        this.autoDeferThreshold = threshold;
+        this.autoDeferEphemeral = ephemeral;
+        return this;
+    }
+
+    /**
+     * Set how the execute method of commands is called, {@link ExecutionMode#REACTIVE} by default.
+     * Commands can override this with {@link BaseCommand#setExecutionMode(ExecutionMode)}.
+     *
+     * @param executionMode the default {@link ExecutionMode} of commands
+     * @return this instance
+     */
+    public GenericSlashLibBuilder<IC, IB, UC, UB, MC, MB> setExecutionMode(ExecutionMode executionMode) {
+        this.executionMode = executionMode;
+        return this;
+    }
+
+    /**
+     * Set the scheduler commands with {@link ExecutionMode#BLOCKING} are executed on.
+     * By default, virtual threads are used when the JVM supports them, otherwise {@link Schedulers#boundedElastic()}.
+     *  The default is only created once a blocking command is executed.
+     *
+     * @param blockingScheduler the {@link Scheduler} to execute blocking commands on, or null for the default
+     * @return this instance
+     */
+    public GenericSlashLibBuilder<IC, IB, UC, UB, MC, MB> setBlockingScheduler(Scheduler blockingScheduler) {
+        this.blockingScheduler = blockingScheduler;
+        return this;
+    }
+
+    /**
+     * Set where the time taken by each phase of handling an interaction is recorded, nothing is recorded by default.
+     *
+     * @param metrics the {@link InteractionMetrics} to record to, or null to disable
+     * @return this instance
+     */
+    public GenericSlashLibBuilder<IC, IB, UC, UB, MC, MB> setMetrics(InteractionMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    /**
+     * Set if MBeans exposing the registered commands, the statistics of each command and the last synchronization
+     *  with Discord are registered in the platform MBean server, disabled by default.
+     *
+     * @param jmxEnabled true to register the MBeans
+     * @return this instance
+     */
+    public GenericSlashLibBuilder<IC, IB, UC, UB, MC, MB> setJmxEnabled(boolean jmxEnabled) {
+        this.jmxEnabled = jmxEnabled;
+        return this;
+    }
+
     /**
      * Create a new {@link GenericSlashLib} with the set values overriding the defaults.
      * @return a created {@link GenericSlashLib} instance from this builder
@@ -0,0 +1,137 @@
+package dev.hc224.slashlib;
+
+import discord4j.core.event.domain.Event;
+import discord4j.core.event.domain.interaction.DeferrableInteractionEvent;
+import discord4j.core.spec.InteractionApplicationCommandCallbackSpec;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Limits how many interactions of one type are processed at once, the overflow is handled by an {@link OverflowPolicy}.
+ * Without a limiter every received interaction is processed immediately, which under a spike of traffic can exhaust
+ *  the resources used to collect data for commands.
+ *
+ * Set per interaction type with {@link GenericSlashLibBuilder}, such as
+ *  {@link GenericSlashLibBuilder#setChatInputLimiter(InteractionLimiter)}.
+ */
+public class InteractionLimiter {
+    private static final Logger logger = Loggers.getLogger(InteractionLimiter.class);
+
+    private final int maxInFlight;
+    private final int maxQueued;
+    private final OverflowPolicy overflowPolicy;
+    private String busyMessage;
+
+    // Interactions waiting for one being processed to complete
+    private final AtomicInteger queueDepth;
+    // Interactions being processed
+    private final AtomicInteger inFlight;
+    // Interactions rejected or dropped since created
+    private final AtomicInteger overflowed;
+
+    /**
+     * @param maxInFlight the maximum amount of interactions processed at once
+     * @param maxQueued the maximum amount of interactions waiting to be processed, only used with {@link OverflowPolicy#QUEUE}
+     * @param overflowPolicy what to do with interactions when the maximum amount are being processed
+     */
+    public InteractionLimiter(int maxInFlight, int maxQueued, OverflowPolicy overflowPolicy) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("The maximum amount of interactions in flight must be at least 1");
+        }
+        if (overflowPolicy == OverflowPolicy.QUEUE && maxQueued < 1) {
+            throw new IllegalArgumentException("The maximum amount of queued interactions must be at least 1");
+        }
+        this.maxInFlight = maxInFlight;
+        this.maxQueued = maxQueued;
+        this.overflowPolicy = overflowPolicy;
+        this.busyMessage = "The bot is busy right now, please try again shortly.";
+
+        this.queueDepth = new AtomicInteger();
+        this.inFlight = new AtomicInteger();
+        this.overflowed = new AtomicInteger();
+    }
+
+    /**
+     * Set the content of the ephemeral reply sent to rejected interactions.
+     *
+     * @param busyMessage the message to reply with
+     * @return this instance
+     */
+    public InteractionLimiter setBusyMessage(String busyMessage) {
+        this.busyMessage = busyMessage;
+        return this;
+    }
+
+    /**
+     * Process received interactions with this limit.
+     *
+     * @param events the received interactions
+     * @param handler processes each interaction, should not error
+     * @param <E> the type of interaction event
+     * @param <T> the type produced by processing an interaction
+     * @return a flux processing the interactions
+     */
+    <E extends Event, T> Flux<T> limit(Flux<E> events, Function<E, Publisher<T>> handler) {
+        Flux<E> admitted;
+        if (overflowPolicy == OverflowPolicy.QUEUE) {
+            admitted = events
+                .doOnNext(_event -> queueDepth.incrementAndGet())
+                .onBackpressureBuffer(maxQueued, event -> {
+                    queueDepth.decrementAndGet();
+                    reject(event);
+                }, BufferOverflowStrategy.DROP_LATEST)
+                .doOnNext(_event -> queueDepth.decrementAndGet());
+        } else {
+            admitted = events.onBackpressureDrop(this::reject);
+        }
+
+        // flatMap only requests another interaction once one of the interactions in flight completes
+        return admitted.flatMap(event -> Flux.defer(() -> {
+                inFlight.incrementAndGet();
+                return handler.apply(event);
+            })
+            .doFinally(_signal -> inFlight.decrementAndGet()), maxInFlight);
+    }
+
+    /**
+     * Handle an interaction which couldn't be processed or queued.
+     *
+     * @param event the interaction event
+     */
+    private void reject(Event event) {
+        overflowed.incrementAndGet();
+        if (overflowPolicy != OverflowPolicy.DROP && event instanceof DeferrableInteractionEvent) {
+            ((DeferrableInteractionEvent) event)
+                .reply(InteractionApplicationCommandCallbackSpec.builder().content(busyMessage).ephemeral(true).build())
+                .subscribe(null, t -> logger.warn("Couldn't reply to a rejected interaction: " + t.getMessage()));
+        } else {
+            logger.debug("Dropped " + event.getClass().getSimpleName() + " as the limit was reached");
+        }
+    }
+
+    public int getMaxInFlight() { return maxInFlight; }
+    public int getMaxQueued() { return maxQueued; }
+    public OverflowPolicy getOverflowPolicy() { return overflowPolicy; }
+    public String getBusyMessage() { return busyMessage; }
+
+    /**
+     * @return the amount of interactions waiting to be processed
+     */
+    public int getQueueDepth() { return queueDepth.get(); }
+
+    /**
+     * @return the amount of interactions being processed
+     */
+    public int getInFlight() { return inFlight.get(); }
+
+    /**
+     * @return the amount of interactions rejected or dropped
+     */
+    public int getOverflowed() { return overflowed.get(); }
+}
@@ -0,0 +1,21 @@
+package dev.hc224.slashlib;
+
+/**
+ * What an {@link InteractionLimiter} does with an interaction when the maximum amount are already being processed.
+ */
+public enum OverflowPolicy {
+    /**
+     * Queue the interaction until one being processed completes. Once the queue is full, interactions are
+     *  rejected as with {@link #REJECT}.
+     */
+    QUEUE,
+    /**
+     * Reply to the interaction with an ephemeral message saying the bot is busy. Autocomplete interactions can't be
+     *  replied to with a message and are dropped instead.
+     */
+    REJECT,
+    /**
+     * Ignore the interaction without responding, suited for autocomplete where a late response is useless.
+     */
+    DROP
+}
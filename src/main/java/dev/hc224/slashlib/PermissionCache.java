@@ -0,0 +1,259 @@
+package dev.hc224.slashlib;
+
+import dev.hc224.slashlib.utility.BoundedCache;
+import discord4j.common.util.Snowflake;
+import discord4j.core.event.EventDispatcher;
+import discord4j.core.event.domain.channel.CategoryUpdateEvent;
+import discord4j.core.event.domain.channel.NewsChannelUpdateEvent;
+import discord4j.core.event.domain.channel.TextChannelUpdateEvent;
+import discord4j.core.event.domain.channel.VoiceChannelUpdateEvent;
+import discord4j.core.event.domain.guild.GuildDeleteEvent;
+import discord4j.core.event.domain.guild.GuildUpdateEvent;
+import discord4j.core.event.domain.guild.MemberUpdateEvent;
+import discord4j.core.event.domain.role.RoleDeleteEvent;
+import discord4j.core.event.domain.role.RoleUpdateEvent;
+import discord4j.rest.util.PermissionSet;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded cache of permission check results for guild interactions, so the channel and effective permissions
+ *  of the bot and user don't have to be resolved for every interaction.
+ *
+ * A result is cached by the guild, channel, user and the permissions required by the command. Results are dropped
+ *  once they are older than the time to live, or when the cache is full and they are used less often than newer
+ *  results, see {@link BoundedCache}.
+ *
+ * When registered through {@link GenericSlashLib#registerAsListener(EventDispatcher)} the results of a guild are
+ *  invalidated when one of its roles, members, channels or the guild itself is updated. Invalidating a guild
+ *  doesn't remove its results, they are ignored and replaced when next used. The results of a guild are removed
+ *  when the bot leaves it.
+ *
+ * Set with {@link GenericSlashLibBuilder#setPermissionCache(PermissionCache)}, no cache is used by default.
+ */
+public class PermissionCache {
+    private static final Logger logger = Loggers.getLogger(PermissionCache.class);
+
+    private final BoundedCache<Key, Result> results;
+    // The generation of each guild, incremented to invalidate every result of the guild at once
+    private final Map<Long, AtomicLong> guildGenerations;
+    private final long timeToLiveNanos;
+
+    /**
+     * @param maximumSize the maximum amount of results to keep
+     * @param timeToLive how long a result can be used for, even without any invalidating events
+     */
+    public PermissionCache(int maximumSize, Duration timeToLive) {
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("The time to live must be positive");
+        }
+        this.results = new BoundedCache<>(maximumSize);
+        this.guildGenerations = new ConcurrentHashMap<>();
+        this.timeToLiveNanos = timeToLive.toNanos();
+    }
+
+    /**
+     * Get the result of a previous permission check.
+     *
+     * @param guildId the ID of the guild the interaction was in
+     * @param channelId the ID of the channel the interaction was in
+     * @param userId the ID of the user that called the command
+     * @param botPermissions the permissions the command requires the bot to have
+     * @param userPermissions the permissions the command requires the user to have
+     * @return true if the check passed, false if it failed, null if there is no valid result
+     */
+    @Nullable
+    public Boolean get(Snowflake guildId, Snowflake channelId, Snowflake userId,
+                       PermissionSet botPermissions, PermissionSet userPermissions) {
+        Key key = new Key(guildId.asLong(), channelId.asLong(), userId.asLong(),
+            botPermissions.getRawValue(), userPermissions.getRawValue());
+        Result result = results.get(key);
+        if (result == null) {
+            return null;
+        }
+        if (result.generation != getGeneration(key.guildId) || System.nanoTime() - result.createdAt > timeToLiveNanos) {
+            results.remove(key, result);
+            return null;
+        }
+        return result.allowed;
+    }
+
+    /**
+     * Store the result of a permission check.
+     *
+     * @param guildId the ID of the guild the interaction was in
+     * @param channelId the ID of the channel the interaction was in
+     * @param userId the ID of the user that called the command
+     * @param botPermissions the permissions the command requires the bot to have
+     * @param userPermissions the permissions the command requires the user to have
+     * @param generation the generation of the guild from {@link #getGeneration(Snowflake)} before the check started
+     * @param allowed if the check passed
+     */
+    public void put(Snowflake guildId, Snowflake channelId, Snowflake userId,
+                    PermissionSet botPermissions, PermissionSet userPermissions,
+                    long generation, boolean allowed) {
+        // The guild was invalidated while the permissions were resolved, the result may already be outdated
+        if (generation != getGeneration(guildId)) {
+            return;
+        }
+        Key key = new Key(guildId.asLong(), channelId.asLong(), userId.asLong(),
+            botPermissions.getRawValue(), userPermissions.getRawValue());
+        results.put(key, new Result(allowed, generation, System.nanoTime()));
+    }
+
+    /**
+     * @param guildId the ID of a guild
+     * @return the current generation of the guild, which changes when it's invalidated
+     */
+    public long getGeneration(Snowflake guildId) {
+        return getGeneration(guildId.asLong());
+    }
+
+    /**
+     * Invalidate every result of a guild.
+     *
+     * @param guildId the ID of the guild
+     */
+    public void invalidateGuild(Snowflake guildId) {
+        guildGenerations.computeIfAbsent(guildId.asLong(), id -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Remove every result of a guild the bot left, and forget the guild.
+     *
+     * @param guildId the ID of the guild
+     */
+    public void removeGuild(Snowflake guildId) {
+        long id = guildId.asLong();
+        // Dropped rather than incremented so left guilds aren't kept, a check which started before it was dropped
+        //  can still store a result for the guild until it expires
+        guildGenerations.remove(id);
+        results.removeIf(key -> key.guildId == id);
+    }
+
+    /**
+     * Remove every result.
+     */
+    public void invalidateAll() {
+        guildGenerations.values().forEach(AtomicLong::incrementAndGet);
+        results.clear();
+    }
+
+    /**
+     * @return the amount of results stored, including results which are expired or invalidated but not yet removed
+     */
+    public int size() {
+        return results.size();
+    }
+
+    /**
+     * Listen for the events which change the permissions of members in a guild and invalidate the guild.
+     * Called by {@link GenericSlashLib#registerAsListener(EventDispatcher)}.
+     *
+     * @param eventDispatcher the event dispatcher to listen to
+     */
+    void registerInvalidation(EventDispatcher eventDispatcher) {
+        Flux.merge(
+                Flux.merge(
+                        eventDispatcher.on(RoleUpdateEvent.class).map(event -> event.getCurrent().getGuildId()),
+                        eventDispatcher.on(RoleDeleteEvent.class).map(RoleDeleteEvent::getGuildId),
+                        eventDispatcher.on(MemberUpdateEvent.class).map(MemberUpdateEvent::getGuildId),
+                        // Permission overwrites are only found on guild channels, categories are included as synced
+                        //  channels use the overwrites of their category
+                        eventDispatcher.on(TextChannelUpdateEvent.class).map(event -> event.getCurrent().getGuildId()),
+                        eventDispatcher.on(NewsChannelUpdateEvent.class).map(event -> event.getCurrent().getGuildId()),
+                        eventDispatcher.on(VoiceChannelUpdateEvent.class).map(event -> event.getCurrent().getGuildId()),
+                        eventDispatcher.on(CategoryUpdateEvent.class).map(event -> event.getCurrent().getGuildId()),
+                        // The owner of a guild has every permission
+                        eventDispatcher.on(GuildUpdateEvent.class).map(event -> event.getCurrent().getId()))
+                    .doOnNext(this::invalidateGuild),
+                eventDispatcher.on(GuildDeleteEvent.class)
+                    .doOnNext(event -> {
+                        // An unavailable guild is only in an outage, the bot is still in it
+                        if (event.isUnavailable()) {
+                            invalidateGuild(event.getGuildId());
+                        } else {
+                            removeGuild(event.getGuildId());
+                        }
+                    }))
+            .onErrorResume(t -> {
+                logger.error("Error while invalidating cached permissions");
+                logger.error(t.getClass().getCanonicalName() + ": " + t.getMessage());
+                return Mono.empty();
+            })
+            .subscribe();
+    }
+
+    /**
+     * @param guildId the ID of a guild
+     * @return the current generation of the guild
+     */
+    private long getGeneration(long guildId) {
+        AtomicLong generation = guildGenerations.get(guildId);
+        return (generation == null) ? 0 : generation.get();
+    }
+
+    /**
+     * The interaction and command a result was stored for.
+     */
+    private static final class Key {
+        private final long guildId;
+        private final long channelId;
+        private final long userId;
+        private final long botPermissions;
+        private final long userPermissions;
+
+        private Key(long guildId, long channelId, long userId, long botPermissions, long userPermissions) {
+            this.guildId = guildId;
+            this.channelId = channelId;
+            this.userId = userId;
+            this.botPermissions = botPermissions;
+            this.userPermissions = userPermissions;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return guildId == key.guildId
+                && channelId == key.channelId
+                && userId == key.userId
+                && botPermissions == key.botPermissions
+                && userPermissions == key.userPermissions;
+        }
+
+        @Override
+        public int hashCode() {
+            long hash = guildId;
+            hash = hash * 31 + channelId;
+            hash = hash * 31 + userId;
+            hash = hash * 31 + botPermissions;
+            hash = hash * 31 + userPermissions;
+            return (int) (hash ^ (hash >>> 32));
+        }
+    }
+
+    /**
+     * A stored permission check result.
+     */
+    private static final class Result {
+        private final boolean allowed;
+        private final long generation;
+        private final long createdAt;
+
+        private Result(boolean allowed, long generation, long createdAt) {
+            this.allowed = allowed;
+            this.generation = generation;
+            this.createdAt = createdAt;
+        }
+    }
+}
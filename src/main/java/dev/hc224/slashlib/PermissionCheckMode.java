@@ -0,0 +1,19 @@
+package dev.hc224.slashlib;
+
+/**
+ * How the permissions of the bot and calling user are checked before a command is executed.
+ *
+ * Set with {@link GenericSlashLibBuilder#setPermissionCheckMode(PermissionCheckMode)}.
+ */
+public enum PermissionCheckMode {
+    /**
+     * Resolve the channel of the interaction and compute the effective permissions of the bot and user from
+     *  their roles and the channel overwrites. May require requests to Discord if the entities aren't cached.
+     */
+    ENTITY,
+    /**
+     * Use the permissions Discord computed for the calling member and the bot, which are sent with every guild
+     *  interaction. No entities are resolved, {@link #ENTITY} is used if the payload doesn't have the permissions.
+     */
+    PAYLOAD
+}
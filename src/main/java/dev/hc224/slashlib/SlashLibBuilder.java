@@ -1,17 +1,13 @@
 package dev.hc224.slashlib;
 
+import dev.hc224.slashlib.commands.standard.BlockingMessageCommand;
+import dev.hc224.slashlib.commands.standard.BlockingTopCommand;
+import dev.hc224.slashlib.commands.standard.BlockingUserCommand;
 import dev.hc224.slashlib.commands.standard.MessageCommand;
 import dev.hc224.slashlib.commands.standard.TopCommand;
 import dev.hc224.slashlib.commands.standard.TopGroupCommand;
 import dev.hc224.slashlib.commands.standard.UserCommand;
 import dev.hc224.slashlib.context.*;
-import discord4j.core.event.domain.interaction.ChatInputInteractionEvent;
-import discord4j.core.event.domain.interaction.MessageInteractionEvent;
-import discord4j.core.event.domain.interaction.UserInteractionEvent;
-import discord4j.core.object.command.ApplicationCommandInteraction;
-
-import java.lang.reflect.Constructor;
-import java.util.List;
 
 /**
  * A user-friendly wrapper for {@link GenericSlashLib} which uses all standard wrapper classes for an easy and
@@ -26,53 +22,19 @@ public class SlashLibBuilder
         MessageContext, MessageContextBuilder
         > {
 
-    private SlashLibBuilder(Class<ChatContext> chatInputContextClass,
-                            Class<ChatContextBuilder> chatInputContextBuilderClass,
-                            Constructor<ChatContextBuilder> chatInputContextBuilderConstructor,
-                            Class<UserContext> userContextClass,
-                            Class<UserContextBuilder> userContextBuilderClass,
-                            Constructor<UserContextBuilder> userContextBuilderConstructor,
-                            Class<MessageContext> messageContextClass,
-                            Class<MessageContextBuilder> messageContextBuilderClass,
-                            Constructor<MessageContextBuilder> messageContextBuilderConstructor) {
-        super(chatInputContextClass,
-                chatInputContextBuilderClass,
-                chatInputContextBuilderConstructor,
-                userContextClass,
-                userContextBuilderClass,
-                userContextBuilderConstructor,
-                messageContextClass,
-                messageContextBuilderClass,
-                messageContextBuilderConstructor
-        );
-    }
-
-    /**
-     * Create a new builder with class properties set.
+    private SlashLibBuilder() {
+        super(ChatContextBuilder::new, ChatContextBuilder::build,
+            UserContextBuilder::new, UserContextBuilder::build,
+            MessageContextBuilder::new, MessageContextBuilder::build);
+    }
+
+    /**
+     * Create a new builder with the standard context classes set.
      *
      * @return a new {@link SlashLibBuilder} which can be used to customize and build a {@link SlashLib} instance.
      */
     public static SlashLibBuilder create() {
-        try {
-            Constructor<ChatContextBuilder> chatInputContextBuilderConstructor = ChatContextBuilder.class
-                .getConstructor(
-                    ChatInputInteractionEvent.class,
-                    ApplicationCommandInteraction.class,
-                    List.class);
-            Constructor<MessageContextBuilder> messageContextBuilderConstructor = MessageContextBuilder.class
-                .getConstructor(MessageInteractionEvent.class);
-            Constructor<UserContextBuilder> userContextBuilderConstructor = UserContextBuilder.class
-                .getConstructor(UserInteractionEvent.class);
-
-            return new SlashLibBuilder(
-                ChatContext.class, ChatContextBuilder.class, chatInputContextBuilderConstructor,
-                    UserContext.class, UserContextBuilder.class, userContextBuilderConstructor,
-                    MessageContext.class, MessageContextBuilder.class, messageContextBuilderConstructor
-            );
-        } catch (NoSuchMethodException nsme) {
-            // Should not occur under right conditions, as we know we have the correct setup to access the constructors
-            throw new RuntimeException("No valid constructor for a builder found, this may be a Java version incompatibility.", nsme);
-        }
+        return new SlashLibBuilder();
     }
 
     /**
@@ -91,6 +53,14 @@ public class SlashLibBuilder
         return (SlashLibBuilder) super.addGlobalChatCommand(command);
     }
 
+    /**
+     * @param command a {@link BlockingTopCommand} to register and use globally.
+     * @return this instance modified (with a class cast)
+     */
+    public SlashLibBuilder addGlobalChatCommand(BlockingTopCommand command) {
+        return (SlashLibBuilder) super.addGlobalChatCommand(command);
+    }
+
     /**
      * @param command a {@link UserCommand} to register and use globally.
      * @return this instance modified (with a class cast)
@@ -99,6 +69,14 @@ public class SlashLibBuilder
         return (SlashLibBuilder) super.addGlobalUserCommand(command);
     }
 
+    /**
+     * @param command a {@link BlockingUserCommand} to register and use globally.
+     * @return this instance modified (with a class cast)
+     */
+    public SlashLibBuilder addGlobalUserCommand(BlockingUserCommand command) {
+        return (SlashLibBuilder) super.addGlobalUserCommand(command);
+    }
+
     /**
      * @param command a {@link MessageCommand} to register and use globally.
      * @return this instance modified (with a class cast)
@@ -107,6 +85,14 @@ public class SlashLibBuilder
         return (SlashLibBuilder) super.addGlobalMessageCommand(command);
     }
 
+    /**
+     * @param command a {@link BlockingMessageCommand} to register and use globally.
+     * @return this instance modified (with a class cast)
+     */
+    public SlashLibBuilder addGlobalMessageCommand(BlockingMessageCommand command) {
+        return (SlashLibBuilder) super.addGlobalMessageCommand(command);
+    }
+
     /**
      * @param command a {@link TopCommand} to use for guild commands.
      * @return this instance modified (with a class cast)
@@ -123,6 +109,14 @@ public class SlashLibBuilder
         return (SlashLibBuilder) super.addGuildChatCommand(command);
     }
 
+    /**
+     * @param command a {@link BlockingTopCommand} to use for guild commands.
+     * @return this instance modified (with a class cast)
+     */
+    public SlashLibBuilder addGuildChatCommand(BlockingTopCommand command) {
+        return (SlashLibBuilder) super.addGuildChatCommand(command);
+    }
+
     /**
      * @param command a {@link UserCommand} to use for guild commands.
      * @return this instance modified (with a class cast)
@@ -131,6 +125,14 @@ public class SlashLibBuilder
         return (SlashLibBuilder) super.addGuildUserCommand(command);
     }
 
+    /**
+     * @param command a {@link BlockingUserCommand} to use for guild commands.
+     * @return this instance modified (with a class cast)
+     */
+    public SlashLibBuilder addGuildUserCommand(BlockingUserCommand command) {
+        return (SlashLibBuilder) super.addGuildUserCommand(command);
+    }
+
     /**
      * @param command a {@link MessageCommand} to use for guild commands.
      * @return this instance modified (with a class cast)
@@ -139,6 +141,14 @@ public class SlashLibBuilder
         return (SlashLibBuilder) super.addGuildMessageCommand(command);
     }
 
+    /**
+     * @param command a {@link BlockingMessageCommand} to use for guild commands.
+     * @return this instance modified (with a class cast)
+     */
+    public SlashLibBuilder addGuildMessageCommand(BlockingMessageCommand command) {
+        return (SlashLibBuilder) super.addGuildMessageCommand(command);
+    }
+
     /**
      * @return a new {@link SlashLib} created from the options set with this builder.
      */
@@ -1,5 +1,7 @@
 package dev.hc224.slashlib.commands;
 
+import dev.hc224.slashlib.context.FetchPlan;
+import dev.hc224.slashlib.context.RequirementSet;
 import discord4j.core.object.command.ApplicationCommand;
 import discord4j.core.object.command.ApplicationCommandOption;
 import discord4j.discordjson.json.ApplicationCommandRequest;
@@ -8,6 +10,10 @@ import discord4j.rest.util.Permission;
 import discord4j.rest.util.PermissionSet;
 import reactor.util.annotation.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * A class which represents all types of Slash Commands. This class should not be directly extended.
  */
@@ -26,6 +32,17 @@ public abstract class BaseCommand {
     private PermissionSet userPermissions;
     // If the command can be used in DMs
     private boolean usableInDMs;
+    // If the bot or calling user need any permissions, kept with the permissions so it isn't checked per interaction
+    private boolean requiresPermissionCheck;
+    // null to use the default: How the execute method of the command is called
+    private ExecutionMode executionMode;
+    // If the command is deferred automatically when it doesn't reply in time
+    private boolean autoDeferred;
+    // never null: Limits of how often the command can be used
+    private List<RateLimit> rateLimits;
+    // null if not declared: The data the command needs, and the plan compiled from it by the command structure
+    private RequirementSet<?> dataRequirements;
+    private FetchPlan<?> fetchPlan;
 
     protected BaseCommand(String name,
                           String description,
@@ -39,6 +56,12 @@ public abstract class BaseCommand {
         this.botPermissions = PermissionSet.none();
         this.userPermissions = PermissionSet.none();
         this.usableInDMs = false;
+        this.requiresPermissionCheck = false;
+        this.executionMode = null;
+        this.autoDeferred = false;
+        this.rateLimits = Collections.emptyList();
+        this.dataRequirements = null;
+        this.fetchPlan = null;
     }
 
     public abstract ApplicationCommandRequest asRequest();
@@ -71,6 +94,60 @@ public abstract class BaseCommand {
         this.usableInDMs = true;
     }
 
+    /**
+     * Set how this command is executed, overriding the default set for all commands.
+     *
+     * @param executionMode the {@link ExecutionMode} of this command
+     */
+    protected void setExecutionMode(ExecutionMode executionMode) {
+        this.executionMode = executionMode;
+    }
+
+    /**
+     * Set that this command is deferred when it hasn't replied by the threshold set with
+     *  {@code GenericSlashLibBuilder#setAutoDefer(Duration, boolean)}.
+     *
+     * This command must then only reply through {@code Context#reply} or {@code Context#getResponder()}, which
+     *  send a follow-up once the interaction was deferred. Replying through the event directly fails with an
+     *  "already acknowledged" error once the defer was sent. The first reply after the defer must have the same
+     *  ephemeral flag as the defer, as it replaces the loading message.
+     */
+    protected void setAutoDeferred() {
+        this.autoDeferred = true;
+    }
+
+    /**
+     * Add a limit of how often this command can be used, checked in the order added before any data is collected.
+     *
+     * @param rateLimit the {@link RateLimit} to add
+     */
+    protected void addRateLimit(RateLimit rateLimit) {
+        List<RateLimit> rateLimits = new ArrayList<>(this.rateLimits);
+        rateLimits.add(rateLimit);
+        this.rateLimits = Collections.unmodifiableList(rateLimits);
+    }
+
+    /**
+     * Store the data requirements of this command, used by the typed setDataRequirements method of each command type
+     *  so the requirements match the context builder of the command.
+     *
+     * @param dataRequirements the {@link RequirementSet} of this command
+     */
+    protected void storeDataRequirements(RequirementSet<?> dataRequirements) {
+        this.dataRequirements = dataRequirements;
+        this.fetchPlan = null;
+    }
+
+    /**
+     * Compile the data requirements of this command into a {@link FetchPlan}, if not already compiled.
+     * Called by {@link dev.hc224.slashlib.CommandStructure} when the command is added.
+     */
+    public void compileFetchPlan() {
+        if (dataRequirements != null && fetchPlan == null) {
+            fetchPlan = FetchPlan.compile(dataRequirements);
+        }
+    }
+
     /**
      * Set the permissions the bot needs to execute this command.
      *
@@ -78,6 +155,7 @@ public abstract class BaseCommand {
      */
     protected void setBotPermissions(Permission... permissions) {
         this.botPermissions = PermissionSet.of(permissions);
+        this.requiresPermissionCheck = !this.botPermissions.isEmpty() || !this.userPermissions.isEmpty();
     }
 
     /**
@@ -87,6 +165,7 @@ public abstract class BaseCommand {
      */
     protected void setUserPermissions(Permission... permissions) {
         this.userPermissions = PermissionSet.of(permissions);
+        this.requiresPermissionCheck = !this.botPermissions.isEmpty() || !this.userPermissions.isEmpty();
     }
 
     public String getName() { return name; }
@@ -96,4 +175,17 @@ public abstract class BaseCommand {
     public PermissionSet getBotPermissions() { return botPermissions; }
     public PermissionSet getUserPermissions() { return userPermissions; }
     public boolean isUsableInDMs() { return usableInDMs; }
+    @Nullable
+    public ExecutionMode getExecutionMode() { return executionMode; }
+    public boolean isAutoDeferred() { return autoDeferred; }
+    public List<RateLimit> getRateLimits() { return rateLimits; }
+    @Nullable
+    public RequirementSet<?> getDataRequirements() { return dataRequirements; }
+    @Nullable
+    public FetchPlan<?> getFetchPlan() { return fetchPlan; }
+
+    /**
+     * @return true if the bot or calling user need any permissions to execute this command
+     */
+    public boolean requiresPermissionCheck() { return requiresPermissionCheck; }
 }
@@ -0,0 +1,27 @@
+package dev.hc224.slashlib.commands;
+
+/**
+ * How the execute method of a command is called.
+ *
+ * Set for all commands with {@code GenericSlashLibBuilder#setExecutionMode(ExecutionMode)} or for a single command
+ *  with {@link BaseCommand#setExecutionMode(ExecutionMode)}, which takes priority.
+ */
+public enum ExecutionMode {
+    /**
+     * Call the execute method on the thread which collected the data for the command. The command must not block,
+     *  any blocking work should be scheduled by the command itself.
+     */
+    REACTIVE,
+    /**
+     * Call the execute method on a thread where blocking is allowed, a virtual thread when the JVM supports them
+     *  and a thread of {@link reactor.core.scheduler.Schedulers#boundedElastic()} otherwise.
+     *
+     * The command can be written synchronously: do blocking work such as JDBC or file I/O directly, block on
+     *  replies with {@code context.reply("...").block()} and return {@code Mono.just(context)}.
+     *
+     * Commands extending a blocking base class, such as
+     *  {@link dev.hc224.slashlib.commands.standard.BlockingTopCommand}, always use this mode and implement a
+     *  synchronous execute method returning the context instead.
+     */
+    BLOCKING
+}
@@ -0,0 +1,72 @@
+package dev.hc224.slashlib.commands;
+
+import dev.hc224.slashlib.utility.TokenBucketStore;
+
+import java.time.Duration;
+
+/**
+ * Limits how often a command can be used, checked before any data for the command is collected.
+ * Add to a command with {@link BaseCommand#addRateLimit(RateLimit)}, commands given the same instance share the limit.
+ *
+ * The limit is a token bucket per user, guild or channel: a full bucket allows a burst of uses up to its capacity,
+ *  after which one use is allowed each time a token is added back. A cooldown is a bucket with a single token.
+ */
+public class RateLimit {
+    private final RateLimitScope scope;
+    private final int capacity;
+    private final Duration period;
+    private final TokenBucketStore store;
+
+    private RateLimit(RateLimitScope scope, int capacity, Duration period) {
+        this.scope = scope;
+        this.capacity = capacity;
+        this.period = period;
+        this.store = new TokenBucketStore(capacity, period);
+    }
+
+    /**
+     * Allow one use of a command every period.
+     *
+     * @param scope what the cooldown is counted by
+     * @param cooldown the time between uses
+     * @return a new rate limit
+     */
+    public static RateLimit cooldown(RateLimitScope scope, Duration cooldown) {
+        return new RateLimit(scope, 1, cooldown);
+    }
+
+    /**
+     * Allow a number of uses of a command within a period.
+     *
+     * @param scope what the limit is counted by
+     * @param uses the amount of uses allowed within the period, also the largest burst of uses allowed
+     * @param period the time the uses are spread over
+     * @return a new rate limit
+     */
+    public static RateLimit of(RateLimitScope scope, int uses, Duration period) {
+        return new RateLimit(scope, uses, period);
+    }
+
+    /**
+     * Use the command once if allowed.
+     *
+     * @param scopeId the ID of the user, guild or channel depending on the scope
+     * @return 0 if the command can be used, otherwise the nanoseconds until it can be used again
+     */
+    public long tryAcquire(long scopeId) {
+        return store.tryAcquire(scopeId);
+    }
+
+    /**
+     * Undo a use of the command which was allowed by this limit but rejected by another.
+     *
+     * @param scopeId the ID of the user, guild or channel depending on the scope
+     */
+    public void release(long scopeId) {
+        store.release(scopeId);
+    }
+
+    public RateLimitScope getScope() { return scope; }
+    public int getCapacity() { return capacity; }
+    public Duration getPeriod() { return period; }
+}
@@ -0,0 +1,19 @@
+package dev.hc224.slashlib.commands;
+
+/**
+ * What a {@link RateLimit} is counted by.
+ */
+public enum RateLimitScope {
+    /**
+     * Each user has their own limit.
+     */
+    USER,
+    /**
+     * Each guild shares a limit, interactions outside of guilds are limited by their channel.
+     */
+    GUILD,
+    /**
+     * Each channel shares a limit.
+     */
+    CHANNEL
+}
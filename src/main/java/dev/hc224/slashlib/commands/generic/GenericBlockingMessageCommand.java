@@ -0,0 +1,45 @@
+package dev.hc224.slashlib.commands.generic;
+
+import dev.hc224.slashlib.commands.ExecutionMode;
+import dev.hc224.slashlib.context.MessageContext;
+import dev.hc224.slashlib.context.MessageContextBuilder;
+import reactor.core.publisher.Mono;
+
+/**
+ * A MESSAGE context menu command written synchronously, always executed with {@link ExecutionMode#BLOCKING}.
+ * Implement {@link #executeMessageBlocking} instead of {@link #executeMessage}: blocking work such as JDBC or file I/O
+ *  can be done directly, and replies blocked on with {@code context.reply("...").block()}.
+ *
+ * @param <IC> the {@link MessageContext} class provided to commands for execution.
+ * @param <IB> the {@link MessageContextBuilder} class provided to commands to set requested data.
+ */
+public abstract class GenericBlockingMessageCommand<IC extends MessageContext, IB extends MessageContextBuilder> extends GenericMessageCommand<IC, IB> {
+    protected GenericBlockingMessageCommand(String name) {
+        super(name);
+        super.setExecutionMode(ExecutionMode.BLOCKING);
+    }
+
+    /**
+     * Execute this command on a thread where blocking is allowed.
+     *
+     * @param context the context built from the collected data
+     * @return the context after execution
+     */
+    public abstract IC executeMessageBlocking(IC context);
+
+    /**
+     * Call {@link #executeMessageBlocking}, which the receiver does on the blocking scheduler.
+     */
+    @Override
+    public final Mono<IC> executeMessage(IC context) {
+        return Mono.fromCallable(() -> executeMessageBlocking(context));
+    }
+
+    /**
+     * @throws IllegalStateException a blocking command is always executed with {@link ExecutionMode#BLOCKING}.
+     */
+    @Override
+    protected final void setExecutionMode(ExecutionMode executionMode) {
+        throw new IllegalStateException("Blocking commands are always executed with the blocking execution mode! Command: " + this.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,45 @@
+package dev.hc224.slashlib.commands.generic;
+
+import dev.hc224.slashlib.commands.ExecutionMode;
+import dev.hc224.slashlib.context.ChatContext;
+import dev.hc224.slashlib.context.ChatContextBuilder;
+import reactor.core.publisher.Mono;
+
+/**
+ * A top-level slash command written synchronously, always executed with {@link ExecutionMode#BLOCKING}.
+ * Implement {@link #executeChatBlocking} instead of {@link #executeChat}: blocking work such as JDBC or file I/O
+ *  can be done directly, and replies blocked on with {@code context.reply("...").block()}.
+ *
+ * @param <IC> the {@link ChatContext} class provided to commands for execution.
+ * @param <IB> the {@link ChatContextBuilder} class provided to commands to set requested data.
+ */
+public abstract class GenericBlockingTopCommand<IC extends ChatContext, IB extends ChatContextBuilder> extends GenericTopCommand<IC, IB> {
+    public GenericBlockingTopCommand(String name, String description) {
+        super(name, description);
+        super.setExecutionMode(ExecutionMode.BLOCKING);
+    }
+
+    /**
+     * Execute this command on a thread where blocking is allowed.
+     *
+     * @param context the context built from the collected data
+     * @return the context after execution
+     */
+    public abstract IC executeChatBlocking(IC context);
+
+    /**
+     * Call {@link #executeChatBlocking}, which the receiver does on the blocking scheduler.
+     */
+    @Override
+    public final Mono<IC> executeChat(IC context) {
+        return Mono.fromCallable(() -> executeChatBlocking(context));
+    }
+
+    /**
+     * @throws IllegalStateException a blocking command is always executed with {@link ExecutionMode#BLOCKING}.
+     */
+    @Override
+    protected final void setExecutionMode(ExecutionMode executionMode) {
+        throw new IllegalStateException("Blocking commands are always executed with the blocking execution mode! Command: " + this.getClass().getSimpleName());
+    }
+}
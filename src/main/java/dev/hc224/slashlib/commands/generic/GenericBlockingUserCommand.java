@@ -0,0 +1,45 @@
+package dev.hc224.slashlib.commands.generic;
+
+import dev.hc224.slashlib.commands.ExecutionMode;
+import dev.hc224.slashlib.context.UserContext;
+import dev.hc224.slashlib.context.UserContextBuilder;
+import reactor.core.publisher.Mono;
+
+/**
+ * A USER context menu command written synchronously, always executed with {@link ExecutionMode#BLOCKING}.
+ * Implement {@link #executeUserBlocking} instead of {@link #executeUser}: blocking work such as JDBC or file I/O
+ *  can be done directly, and replies blocked on with {@code context.reply("...").block()}.
+ *
+ * @param <IC> the {@link UserContext} class provided to commands for execution.
+ * @param <IB> the {@link UserContextBuilder} class provided to commands to set requested data.
+ */
+public abstract class GenericBlockingUserCommand<IC extends UserContext, IB extends UserContextBuilder> extends GenericUserCommand<IC, IB> {
+    protected GenericBlockingUserCommand(String name) {
+        super(name);
+        super.setExecutionMode(ExecutionMode.BLOCKING);
+    }
+
+    /**
+     * Execute this command on a thread where blocking is allowed.
+     *
+     * @param context the context built from the collected data
+     * @return the context after execution
+     */
+    public abstract IC executeUserBlocking(IC context);
+
+    /**
+     * Call {@link #executeUserBlocking}, which the receiver does on the blocking scheduler.
+     */
+    @Override
+    public final Mono<IC> executeUser(IC context) {
+        return Mono.fromCallable(() -> executeUserBlocking(context));
+    }
+
+    /**
+     * @throws IllegalStateException a blocking command is always executed with {@link ExecutionMode#BLOCKING}.
+     */
+    @Override
+    protected final void setExecutionMode(ExecutionMode executionMode) {
+        throw new IllegalStateException("Blocking commands are always executed with the blocking execution mode! Command: " + this.getClass().getSimpleName());
+    }
+}
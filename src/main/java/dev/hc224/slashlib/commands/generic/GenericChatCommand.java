@@ -4,6 +4,7 @@ import dev.hc224.slashlib.commands.BaseCommand;
 import dev.hc224.slashlib.context.AutoCompleteContext;
 import dev.hc224.slashlib.context.ChatContext;
 import dev.hc224.slashlib.context.ChatContextBuilder;
+import dev.hc224.slashlib.context.RequirementSet;
 import discord4j.core.object.command.ApplicationCommand;
 import discord4j.core.object.command.ApplicationCommandOption;
 import discord4j.discordjson.json.ApplicationCommandOptionData;
@@ -57,6 +58,16 @@ public abstract class GenericChatCommand<IC extends ChatContext, IB extends Chat
         return contextBuilder;
     }
 
+    /**
+     * Declare the data needed for this command to be executed, compiled once into a plan instead of requesting the
+     *  data in {@link #setRequestData} for every interaction. Both can be used, the data is collected together.
+     *
+     * @param dataRequirements the data this command requires or requests
+     */
+    protected void setDataRequirements(RequirementSet<? super IB> dataRequirements) {
+        storeDataRequirements(dataRequirements);
+    }
+
     public Mono<Void> receiveAutoCompleteEvent(AutoCompleteContext context) {
         //noinspection OptionalGetWithoutIsPresent
         return Mono.error(new RuntimeException("No autocomplete implementation for command: " +
@@ -3,6 +3,7 @@ package dev.hc224.slashlib.commands.generic;
 import dev.hc224.slashlib.commands.BaseCommand;
 import dev.hc224.slashlib.context.UserContext;
 import dev.hc224.slashlib.context.UserContextBuilder;
+import dev.hc224.slashlib.context.RequirementSet;
 import discord4j.core.object.command.ApplicationCommand;
 import discord4j.discordjson.json.ApplicationCommandRequest;
 import reactor.core.publisher.Mono;
@@ -31,6 +32,16 @@ public abstract class GenericUserCommand<IC extends UserContext, IB extends User
         return contextBuilder;
     }
 
+    /**
+     * Declare the data needed for this command to be executed, compiled once into a plan instead of requesting the
+     *  data in {@link #setRequestData} for every interaction. Both can be used, the data is collected together.
+     *
+     * @param dataRequirements the data this command requires or requests
+     */
+    protected void setDataRequirements(RequirementSet<? super IB> dataRequirements) {
+        storeDataRequirements(dataRequirements);
+    }
+
     /**
      * @return a representative {@link ApplicationCommandRequest} to compare/create this data with Discord
      */
@@ -0,0 +1,14 @@
+package dev.hc224.slashlib.commands.standard;
+
+import dev.hc224.slashlib.commands.generic.GenericBlockingMessageCommand;
+import dev.hc224.slashlib.context.MessageContext;
+import dev.hc224.slashlib.context.MessageContextBuilder;
+
+/**
+ * A wrapper class for {@link GenericBlockingMessageCommand} to simplify the default/standard usages of SlashLib.
+ */
+public abstract class BlockingMessageCommand extends GenericBlockingMessageCommand<MessageContext, MessageContextBuilder> {
+    protected BlockingMessageCommand(String name) {
+        super(name);
+    }
+}
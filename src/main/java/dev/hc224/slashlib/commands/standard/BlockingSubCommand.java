@@ -0,0 +1,14 @@
+package dev.hc224.slashlib.commands.standard;
+
+import dev.hc224.slashlib.commands.generic.GenericBlockingSubCommand;
+import dev.hc224.slashlib.context.ChatContext;
+import dev.hc224.slashlib.context.ChatContextBuilder;
+
+/**
+ * A wrapper class for {@link GenericBlockingSubCommand} to simplify the default/standard usages of SlashLib.
+ */
+public abstract class BlockingSubCommand extends GenericBlockingSubCommand<ChatContext, ChatContextBuilder> {
+    protected BlockingSubCommand(String name, String description) {
+        super(name, description);
+    }
+}
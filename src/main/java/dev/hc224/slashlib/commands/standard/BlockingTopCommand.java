@@ -0,0 +1,14 @@
+package dev.hc224.slashlib.commands.standard;
+
+import dev.hc224.slashlib.commands.generic.GenericBlockingTopCommand;
+import dev.hc224.slashlib.context.ChatContext;
+import dev.hc224.slashlib.context.ChatContextBuilder;
+
+/**
+ * A wrapper class for {@link GenericBlockingTopCommand} to simplify the default/standard usages of SlashLib.
+ */
+public abstract class BlockingTopCommand extends GenericBlockingTopCommand<ChatContext, ChatContextBuilder> {
+    protected BlockingTopCommand(String name, String description) {
+        super(name, description);
+    }
+}
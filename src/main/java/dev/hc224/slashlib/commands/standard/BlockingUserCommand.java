@@ -0,0 +1,14 @@
+package dev.hc224.slashlib.commands.standard;
+
+import dev.hc224.slashlib.commands.generic.GenericBlockingUserCommand;
+import dev.hc224.slashlib.context.UserContext;
+import dev.hc224.slashlib.context.UserContextBuilder;
+
+/**
+ * A wrapper class for {@link GenericBlockingUserCommand} to simplify the default/standard usages of SlashLib.
+ */
+public abstract class BlockingUserCommand extends GenericBlockingUserCommand<UserContext, UserContextBuilder> {
+    protected BlockingUserCommand(String name) {
+        super(name);
+    }
+}
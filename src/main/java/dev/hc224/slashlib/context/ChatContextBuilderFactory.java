@@ -0,0 +1,26 @@
+package dev.hc224.slashlib.context;
+
+import discord4j.core.event.domain.interaction.ChatInputInteractionEvent;
+import discord4j.core.object.command.ApplicationCommandInteraction;
+import discord4j.core.object.command.ApplicationCommandInteractionOption;
+
+import java.util.List;
+
+/**
+ * Creates a new {@link ChatContextBuilder} for a received CHAT_INPUT interaction.
+ * Usually the constructor of the builder class, such as {@code ChatContextBuilder::new}.
+ *
+ * @param <IB> The {@link Class} used for {@link ChatContextBuilder}
+ */
+@FunctionalInterface
+public interface ChatContextBuilderFactory<IB extends ChatContextBuilder> {
+    /**
+     * @param event the event received for the interaction
+     * @param aci the command interaction of the event
+     * @param options the options of the called command, not including sub command and group options
+     * @return a new context builder for the interaction
+     */
+    IB create(ChatInputInteractionEvent event,
+              ApplicationCommandInteraction aci,
+              List<ApplicationCommandInteractionOption> options);
+}
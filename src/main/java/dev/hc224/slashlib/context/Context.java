@@ -5,6 +5,8 @@ import discord4j.core.object.entity.Member;
 import discord4j.core.object.entity.User;
 import discord4j.core.object.entity.channel.MessageChannel;
 import discord4j.core.object.entity.channel.TopLevelGuildChannel;
+import discord4j.core.spec.InteractionApplicationCommandCallbackSpec;
+import reactor.core.publisher.Mono;
 import reactor.util.annotation.NonNull;
 import reactor.util.annotation.Nullable;
 
@@ -12,6 +14,12 @@ import java.util.Optional;
 
 /**
  * Superclass for context provided during user logic part of interaction lifecycle.
+ *
+ * Data is either collected eagerly, by requiring or requesting it in setRequestData and reading it with the
+ *  getters such as {@link #getGuild()}, or lazily with the fetch methods such as {@link #fetchGuild()}. A fetch
+ *  method emits the eagerly collected value if present, otherwise it fetches the data on first subscription, so
+ *  data only used on some branches of a command is only fetched when needed. The data is fetched at most once for
+ *  the interaction however many callers subscribe, but isn't set on the getters.
  */
 public abstract class Context {
     protected final @Nullable Guild guild;
@@ -24,6 +32,11 @@ public abstract class Context {
 
     protected final boolean allRequestedDataExists;
 
+    protected final @NonNull InteractionResponder responder;
+
+    // Holds the sources of the lazily fetched data
+    private final @NonNull ContextBuilder builder;
+
     Context(ContextBuilder builder) {
         this.guild                  = builder.getGuild();
         this.messageChannel         = builder.getMessageChannel();
@@ -34,6 +47,10 @@ public abstract class Context {
         this.botMember              = builder.getBotMember();
 
         this.allRequestedDataExists = builder.isAllRequestedDataExists();
+
+        this.responder              = builder.getResponder();
+
+        this.builder                = builder;
     }
 
     /**
@@ -77,8 +94,77 @@ public abstract class Context {
         return Optional.ofNullable(botMember);
     }
 
+    /**
+     * @return The {@link Guild} this interaction was called in, fetched on first subscription if not collected.
+     */
+    public final Mono<Guild> fetchGuild() {
+        return (guild != null) ? Mono.just(guild) : builder.getGuildSource();
+    }
+
+    /**
+     * @return The {@link MessageChannel} this interaction was called in, fetched on first subscription if not collected.
+     */
+    public final Mono<MessageChannel> fetchMessageChannel() {
+        return (messageChannel != null) ? Mono.just(messageChannel) : builder.getChannelSource();
+    }
+
+    /**
+     * @return The {@link TopLevelGuildChannel} this interaction was called in, fetched on first subscription if not
+     *         collected. Empty in DMs and threads.
+     */
+    public final Mono<TopLevelGuildChannel> fetchTopLevelGuildChannel() {
+        return (topLevelGuildChannel != null)
+            ? Mono.just(topLevelGuildChannel)
+            : builder.getChannelSource().ofType(TopLevelGuildChannel.class);
+    }
+
+    /**
+     * @return The {@link Member} for the {@link Context#user} who called this interaction, empty in DMs.
+     *         Provided by the event, no request is made.
+     */
+    public final Mono<Member> fetchMember() {
+        return Mono.justOrEmpty((member != null) ? Optional.of(member) : builder.getEvent().getInteraction().getMember());
+    }
+
+    /**
+     * @return The {@link User} of the bot, fetched on first subscription if not collected.
+     */
+    public final Mono<User> fetchBotUser() {
+        return (botUser != null) ? Mono.just(botUser) : builder.getBotUserSource();
+    }
+
+    /**
+     * @return The {@link Member} of the bot for the {@link Guild} this command was called in, fetched on first
+     *         subscription if not collected.
+     */
+    public final Mono<Member> fetchBotMember() {
+        return (botMember != null) ? Mono.just(botMember) : builder.getBotMemberSource();
+    }
+
     /**
      * @return true if all data requested by the command was retrieved successfully
      */
     public final boolean doesAllRequestedDataExist() { return allRequestedDataExists; }
+
+    /**
+     * @return The {@link InteractionResponder} for this interaction, which knows if it was already deferred.
+     */
+    @NonNull
+    public final InteractionResponder getResponder() { return responder; }
+
+    /**
+     * Reply to this interaction, as a follow-up if it was deferred or already replied to.
+     *
+     * @param spec the reply to send
+     * @return a Mono completing once the reply is sent
+     */
+    public final Mono<Void> reply(InteractionApplicationCommandCallbackSpec spec) { return responder.reply(spec); }
+
+    /**
+     * Reply to this interaction, as a follow-up if it was deferred or already replied to.
+     *
+     * @param content the content of the reply
+     * @return a Mono completing once the reply is sent
+     */
+    public final Mono<Void> reply(String content) { return responder.reply(content); }
 }
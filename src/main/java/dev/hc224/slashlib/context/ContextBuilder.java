@@ -1,5 +1,12 @@
 package dev.hc224.slashlib.context;
 
+import dev.hc224.slashlib.BotMemberCache;
+import dev.hc224.slashlib.DataResolutionMode;
+import dev.hc224.slashlib.EntityCache;
+import discord4j.common.util.Snowflake;
+import discord4j.core.event.domain.interaction.DeferrableInteractionEvent;
+import discord4j.core.object.command.ApplicationCommandInteraction;
+import discord4j.core.object.command.ApplicationCommandInteractionResolved;
 import discord4j.core.event.domain.interaction.InteractionCreateEvent;
 import discord4j.core.object.entity.Guild;
 import discord4j.core.object.entity.Member;
@@ -7,12 +14,18 @@ import discord4j.core.object.entity.User;
 import discord4j.core.object.entity.channel.GuildChannel;
 import discord4j.core.object.entity.channel.MessageChannel;
 import discord4j.core.object.entity.channel.TopLevelGuildChannel;
+import discord4j.discordjson.json.MemberData;
+import discord4j.discordjson.json.ResolvedMemberData;
+import discord4j.discordjson.json.UserData;
 import reactor.core.publisher.Mono;
 import reactor.util.annotation.NonNull;
 import reactor.util.annotation.Nullable;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Core logic for all extending builder classes.
@@ -28,12 +41,28 @@ import java.util.List;
  * It is a bit messy, but results in consistent access during the command lifecycle.
  */
 public abstract class ContextBuilder {
+    private static final FetchPlan<ContextBuilder> NO_REQUIREMENTS = FetchPlan.compile(RequirementSet.empty());
+
     protected final @NonNull InteractionCreateEvent event;
+    // Responds to the interaction, shared with the built context so a defer before the command is known to it
+    protected final @NonNull InteractionResponder responder;
     
     // List of Monos which will be zipped when building to gather all required data, throws an exception if empty
-    protected final List<Mono<Integer>> requiredMonoList;
+    // Only used by custom context classes and created on first use, the require methods set bits instead
+    private @Nullable List<Mono<Integer>> requiredMonoList;
     // List of Monos which will be zipped when building to gather all optional data, doesn't throw an exception if empty
-    protected final List<Mono<Integer>> requestMonoList;
+    // Only used by custom context classes and created on first use, the request methods set bits instead
+    private @Nullable List<Mono<Integer>> requestMonoList;
+    // The built-in requirements added by the require and request methods, a bit each by DataRequirements#BY_BIT
+    private int requiredData;
+    private int requestedData;
+    // Other requirements added by custom context classes, or requirements with their own timeout, null if none
+    private @Nullable RequirementSet<ContextBuilder> requirements;
+    // The plan compiled from the requirements the command declared, set by FetchPlan#apply
+    @Nullable FetchPlan<?> fetchPlan;
+    // How long after collecting starts data without its own timeout must be found by, null for no deadline
+    @Nullable Duration requiredDataTimeout;
+    @Nullable Duration requestedDataTimeout;
     // If all requested data was retrieved successfully
     boolean allRequestedDataExists;
 
@@ -45,26 +74,37 @@ public abstract class ContextBuilder {
     @Nullable User botUser;
     @Nullable Member botMember;
 
+    // The source of each fetched entity, created on first use and cached so each is fetched at most once
+    //  however many requirements use it
+    private @Nullable Mono<Guild> guildSource;
+    private @Nullable Mono<MessageChannel> channelSource;
+    private @Nullable Mono<User> botUserSource;
+    private @Nullable Mono<Member> botMemberSource;
+    // Where the sources look for entities before fetching them, null if not used
+    private @Nullable EntityCache entityCache;
+    private @Nullable BotMemberCache botMemberCache;
+    // How the targets of user and message commands are found
+    private @NonNull DataResolutionMode dataResolutionMode;
+
     /**
      * Create a new context builder, the user must be specified as all
      *  interaction events provide the user through D4J.
      *
      * @param event the event related to this context
      */
-    ContextBuilder(@NonNull InteractionCreateEvent event) {
+    ContextBuilder(@NonNull DeferrableInteractionEvent event) {
         this.event = event;
+        this.responder = new InteractionResponder(event);
         
-        this.requiredMonoList = new ArrayList<>();
-        this.requestMonoList = new ArrayList<>();
+        this.requiredMonoList = null;
+        this.requestMonoList = null;
         this.allRequestedDataExists = false;
-
-        // Due to how collectData() works an error is thrown if Mono#zip() returns empty
-        // This is because some methods of collecting data like requireGuildChannel() can go empty without error
-        // So at least one entry must exist for commands that require no data
-        this.requiredMonoList.add(Mono.just(1));
-        // The same behavior is with the optional data, however to make an "all good" property available
-        //  this cannot go empty either.
-        this.requestMonoList.add(Mono.just(1));
+        this.requiredData = 0;
+        this.requestedData = 0;
+        this.requirements = null;
+        this.fetchPlan = null;
+        this.requiredDataTimeout = null;
+        this.requestedDataTimeout = null;
 
         this.guild = null;
         this.messageChannel = null;
@@ -73,6 +113,14 @@ public abstract class ContextBuilder {
         this.member = null;
         this.botUser = null;
         this.botMember = null;
+
+        this.guildSource = null;
+        this.channelSource = null;
+        this.botUserSource = null;
+        this.botMemberSource = null;
+        this.entityCache = null;
+        this.botMemberCache = null;
+        this.dataResolutionMode = DataResolutionMode.FETCH;
     }
 
     /**
@@ -82,19 +130,108 @@ public abstract class ContextBuilder {
 
     /**
      * Collect the required and optional requested data for this context instance.
+     * Requested data not found by its deadline is counted as missing, required data not found by its deadline
+     *  stops collecting with a {@link DataTimeoutException}.
      *
      * @return this instance
      */
+    @SuppressWarnings("unchecked") // Requirements are only added for this builder class or its superclasses
     public Mono<ContextBuilder> collectData() {
-        // Collect required data, throwing an exception on failure
-        Mono<Integer> requiredDataMonoZip = Mono.zip(requiredMonoList, (array) -> 1)
-            .switchIfEmpty(Mono.error(new DataMissingException(this, "Couldn't collect all data!")));
-        // Collect optional data, marking that not all optional data was retrieved on failure
-        Mono<Integer> requestDataMonoZip = Mono.zip(requestMonoList, (array) -> 1)
-            .doOnNext(_int -> allRequestedDataExists = true);
+        FetchPlan<ContextBuilder> plan = (FetchPlan<ContextBuilder>) getCollectPlan();
+        boolean hasRequiredList = requiredMonoList != null && !requiredMonoList.isEmpty();
+        boolean hasRequestList = requestMonoList != null && !requestMonoList.isEmpty();
+        // Nothing to collect, skip zipping entirely
+        if (plan.isEmpty() && !hasRequiredList && !hasRequestList) {
+            allRequestedDataExists = true;
+            return Mono.just(this);
+        }
+
+        // Fetch the requirements, each once its dependencies are found
+        Mono<Long> plannedDataMono = plan.execute(this);
+        // Collect required data from custom context classes, throwing an exception on failure
+        Mono<Boolean> requiredDataMonoZip = Mono.just(true);
+        if (hasRequiredList) {
+            requiredDataMonoZip = Mono.zip(requiredMonoList, (array) -> true)
+                .switchIfEmpty(Mono.error(new DataMissingException(this, "Couldn't collect all data!")));
+            if (requiredDataTimeout != null) {
+                Duration timeout = requiredDataTimeout;
+                requiredDataMonoZip = requiredDataMonoZip.timeout(timeout)
+                    .onErrorResume(TimeoutException.class, e -> Mono.error(new DataTimeoutException(this, "custom data", timeout, timeout)));
+            }
+        }
+        // Collect optional data from custom context classes, marking that not all optional data was retrieved on failure
+        Mono<Boolean> requestDataMonoZip = Mono.just(true);
+        if (hasRequestList) {
+            requestDataMonoZip = Mono.zip(requestMonoList, (array) -> true)
+                .defaultIfEmpty(false);
+            if (requestedDataTimeout != null) {
+                requestDataMonoZip = requestDataMonoZip.timeout(requestedDataTimeout)
+                    .onErrorResume(TimeoutException.class, e -> Mono.just(false));
+            }
+        }
+
+        return Mono.zip(plannedDataMono, requiredDataMonoZip, requestDataMonoZip)
+            .flatMap(tuple -> {
+                long found = tuple.getT1();
+                if (!plan.allFound(found, true)) {
+                    return Mono.error(new DataMissingException(this,
+                        "Couldn't collect all data! Missing: " + String.join(", ", plan.getMissingRequired(found))));
+                }
+                allRequestedDataExists = tuple.getT3() && plan.allFound(found, false);
+                return Mono.just(this);
+            });
+    }
+
+    /**
+     * @return the plan of the requirements declared by the command and added by the require and request methods
+     */
+    @SuppressWarnings("unchecked") // The plan was compiled for this builder class or a superclass
+    private FetchPlan<?> getCollectPlan() {
+        FetchPlan<ContextBuilder> declared = (fetchPlan == null) ? NO_REQUIREMENTS : (FetchPlan<ContextBuilder>) fetchPlan;
+        // Compiled once for each combination of built-in requirements and reused by later interactions
+        FetchPlan<ContextBuilder> plan = declared.withBuiltIns(requiredData, requestedData);
+        if (requirements == null) {
+            return plan;
+        }
+        return FetchPlan.compile(plan.getRequirements().with(requirements));
+    }
 
-        return Mono.zip(requiredDataMonoZip, requestDataMonoZip)
-            .thenReturn(this);
+    /**
+     * Only to be called by custom context classes.
+     * Add a requirement to be fetched when collecting data, along with its dependencies.
+     *
+     * @param requirement a requirement of this builder class or one of its superclasses
+     * @param required true if the command can't execute without the data, false if it's optional
+     */
+    protected void addRequirement(DataRequirement<?> requirement, boolean required) {
+        addRequirement(requirement, required, null);
+    }
+
+    /**
+     * Only to be called by custom context classes.
+     * Add a requirement to be fetched when collecting data, along with its dependencies.
+     *
+     * @param requirement a requirement of this builder class or one of its superclasses
+     * @param required true if the command can't execute without the data, false if it's optional
+     * @param timeout how long after collecting starts the data must be found by, null to use the default timeout
+     */
+    @SuppressWarnings("unchecked") // Left to the caller, the requirement is only ever given this builder
+    protected void addRequirement(DataRequirement<?> requirement, boolean required, @Nullable Duration timeout) {
+        if (requirement.getBit() >= 0 && timeout == null) {
+            if (required) {
+                requiredData |= 1 << requirement.getBit();
+            } else {
+                requestedData |= 1 << requirement.getBit();
+            }
+            return;
+        }
+        DataRequirement<ContextBuilder> added = (DataRequirement<ContextBuilder>) requirement;
+        RequirementSet<ContextBuilder> current = (requirements == null) ? RequirementSet.empty() : requirements;
+        if (timeout == null) {
+            requirements = required ? current.require(added) : current.request(added);
+        } else {
+            requirements = required ? current.require(added, timeout) : current.request(added, timeout);
+        }
     }
 
     /**
@@ -106,9 +243,7 @@ public abstract class ContextBuilder {
      * @return this instance
      */
     public ContextBuilder requireGuild() {
-        getRequiredMonoList().add(getEvent().getInteraction().getGuild()
-            .doOnNext(this::setGuild)
-            .map(guild -> 1));
+        addRequirement(DataRequirements.GUILD, true);
         return this;
     }
 
@@ -121,9 +256,7 @@ public abstract class ContextBuilder {
      * @return this instance
      */
     public ContextBuilder requestGuild() {
-        getRequestMonoList().add(getEvent().getInteraction().getGuild()
-            .doOnNext(this::setGuild)
-            .map(guild -> 1));
+        addRequirement(DataRequirements.GUILD, false);
         return this;
     }
 
@@ -136,9 +269,7 @@ public abstract class ContextBuilder {
      * @return this instance
      */
     public ContextBuilder requireMessageChannel() {
-        getRequiredMonoList().add(getEvent().getInteraction().getChannel()
-            .doOnNext(this::setMessageChannel)
-            .map(messageChannel -> 1));
+        addRequirement(DataRequirements.MESSAGE_CHANNEL, true);
         return this;
     }
 
@@ -151,9 +282,7 @@ public abstract class ContextBuilder {
      * @return this instance
      */
     public ContextBuilder requestMessageChannel() {
-        getRequestMonoList().add(getEvent().getInteraction().getChannel()
-            .doOnNext(this::setMessageChannel)
-            .map(messageChannel -> 1));
+        addRequirement(DataRequirements.MESSAGE_CHANNEL, false);
         return this;
     }
 
@@ -167,11 +296,7 @@ public abstract class ContextBuilder {
      * @return this instance
      */
     public ContextBuilder requireTopLevelGuildChannel() {
-        getRequiredMonoList().add(getEvent().getInteraction().getChannel()
-            .doOnNext(this::setMessageChannel)
-            .ofType(TopLevelGuildChannel.class)
-            .doOnNext(this::setTopLevelGuildChannel)
-            .map(guildChannel -> 1));
+        addRequirement(DataRequirements.TOP_LEVEL_GUILD_CHANNEL, true);
         return this;
     }
 
@@ -185,11 +310,7 @@ public abstract class ContextBuilder {
      * @return this instance
      */
     public ContextBuilder requestTopLevelGuildChannel() {
-        getRequestMonoList().add(getEvent().getInteraction().getChannel()
-            .doOnNext(this::setMessageChannel)
-            .ofType(TopLevelGuildChannel.class)
-            .doOnNext(this::setTopLevelGuildChannel)
-            .map(guildChannel -> 1));
+        addRequirement(DataRequirements.TOP_LEVEL_GUILD_CHANNEL, false);
         return this;
     }
 
@@ -202,9 +323,7 @@ public abstract class ContextBuilder {
      * @return this instance
      */
     public ContextBuilder requireMember() {
-        getRequiredMonoList().add(Mono.justOrEmpty(getEvent().getInteraction().getMember())
-            .doOnNext(this::setMember)
-            .map(member -> 1));
+        addRequirement(DataRequirements.MEMBER, true);
         return this;
     }
 
@@ -217,9 +336,7 @@ public abstract class ContextBuilder {
      * @return this instance
      */
     public ContextBuilder requestMember() {
-        getRequestMonoList().add(Mono.justOrEmpty(getEvent().getInteraction().getMember())
-            .doOnNext(this::setMember)
-            .map(member -> 1));
+        addRequirement(DataRequirements.MEMBER, false);
         return this;
     }
 
@@ -232,9 +349,7 @@ public abstract class ContextBuilder {
      * @return this instance
      */
     public ContextBuilder requireBotUser() {
-        getRequiredMonoList().add(getEvent().getClient().getSelf()
-            .doOnNext(this::setBotUser)
-            .map(user -> 1));
+        addRequirement(DataRequirements.BOT_USER, true);
         return this;
     }
 
@@ -247,9 +362,7 @@ public abstract class ContextBuilder {
      * @return this instance
      */
     public ContextBuilder requestBotUser() {
-        getRequestMonoList().add(getEvent().getClient().getSelf()
-            .doOnNext(this::setBotUser)
-            .map(user -> 1));
+        addRequirement(DataRequirements.BOT_USER, false);
         return this;
     }
 
@@ -257,17 +370,15 @@ public abstract class ContextBuilder {
      * Mark that the {@link Member} for the bot is required for command execution.
      * This method will collect the:
      * botMember
-     * guild
+     * guild, only if it is in the {@link EntityCache}
      *
+     * The guild is no longer fetched for the bot member, use {@link #requireGuild()} or {@link #requestGuild()} if
+     *  the guild is always needed.
      * If the data cannot be collected then a {@link DataMissingException} will be thrown.
      * @return this instance
      */
     public ContextBuilder requireBotMember() {
-        getRequiredMonoList().add(getEvent().getInteraction().getGuild()
-            .doOnNext(this::setGuild)
-            .flatMap(guild -> guild.getMemberById(getEvent().getClient().getSelfId()))
-            .doOnNext(this::setBotMember)
-            .map(member -> 1));
+        addRequirement(DataRequirements.BOT_MEMBER, true);
         return this;
     }
 
@@ -275,20 +386,214 @@ public abstract class ContextBuilder {
      * Mark that the {@link Member} for the bot is optionally used for command execution.
      * This method will collect the:
      * botMember
-     * guild
+     * guild, only if it is in the {@link EntityCache}
      *
+     * The guild is no longer fetched for the bot member, use {@link #requireGuild()} or {@link #requestGuild()} if
+     *  the guild is always needed.
      * If the data cannot be collected then a {@link DataMissingException} will be thrown.
      * @return this instance
      */
     public ContextBuilder requestBotMember() {
-        getRequestMonoList().add(getEvent().getInteraction().getGuild()
-            .doOnNext(this::setGuild)
-            .flatMap(guild -> guild.getMemberById(getEvent().getClient().getSelfId()))
-            .doOnNext(this::setBotMember)
-            .map(member -> 1));
+        addRequirement(DataRequirements.BOT_MEMBER, false);
         return this;
     }
 
+    /**
+     * Only to be called by custom context classes.
+     *
+     * @return the {@link Guild} the interaction was invoked in, fetched at most once for this builder
+     */
+    public Mono<Guild> getGuildSource() {
+        if (guildSource == null) {
+            Mono<Guild> fetch = getEvent().getInteraction().getGuild();
+            Snowflake guildId = getEvent().getInteraction().getGuildId().orElse(null);
+            guildSource = ((entityCache == null || guildId == null) ? fetch : entityCache.getGuild(guildId, fetch)).cache();
+        }
+        return guildSource;
+    }
+
+    /**
+     * Only to be called by custom context classes.
+     *
+     * @return the {@link MessageChannel} the interaction was invoked in, fetched at most once for this builder
+     */
+    public Mono<MessageChannel> getChannelSource() {
+        if (channelSource == null) {
+            Mono<MessageChannel> fetch = getEvent().getInteraction().getChannel();
+            channelSource = ((entityCache == null) ? fetch : entityCache.getChannel(
+                getEvent().getInteraction().getGuildId().orElse(null), getEvent().getInteraction().getChannelId(), fetch))
+                .cache();
+        }
+        return channelSource;
+    }
+
+    /**
+     * Only to be called by custom context classes.
+     *
+     * @return the {@link User} of the bot, fetched at most once for this builder
+     */
+    public Mono<User> getBotUserSource() {
+        if (botUserSource == null) {
+            Mono<User> fetch = getEvent().getClient().getSelf();
+            botUserSource = ((entityCache == null) ? fetch : entityCache.getUser(getEvent().getClient().getSelfId(), fetch))
+                .cache();
+        }
+        return botUserSource;
+    }
+
+    /**
+     * Only to be called by custom context classes.
+     *
+     * @return the {@link Member} of the bot in the guild the interaction was invoked in, fetched at most once for
+     *  this builder and from the {@link BotMemberCache} if one is set. The guild isn't fetched.
+     */
+    public Mono<Member> getBotMemberSource() {
+        if (botMemberSource == null) {
+            Snowflake guildId = getEvent().getInteraction().getGuildId().orElse(null);
+            if (guildId == null) {
+                botMemberSource = Mono.empty();
+            } else {
+                Mono<Member> fetch = getMemberSource(guildId, getEvent().getClient().getSelfId());
+                botMemberSource = ((botMemberCache == null) ? fetch : botMemberCache.getBotMember(guildId, fetch)).cache();
+            }
+        }
+        return botMemberSource;
+    }
+
+    /**
+     * Set the guild if it is in the {@link EntityCache} and wasn't already set, without fetching it.
+     */
+    void setGuildIfCached() {
+        if (guild != null || entityCache == null) {
+            return;
+        }
+        getEvent().getInteraction().getGuildId()
+            .flatMap(entityCache::getCachedGuild)
+            .ifPresent(this::setGuild);
+    }
+
+    /**
+     * Only to be called by custom context classes.
+     *
+     * @param guild the guild of the member
+     * @param userId the ID of the user of the member
+     * @return the {@link Member}, from the {@link EntityCache} if one is set
+     */
+    public Mono<Member> getMemberSource(Guild guild, Snowflake userId) {
+        return getMemberSource(guild.getId(), userId);
+    }
+
+    /**
+     * Only to be called by custom context classes.
+     *
+     * @param guildId the ID of the guild of the member
+     * @param userId the ID of the user of the member
+     * @return the {@link Member}, from the {@link EntityCache} if one is set, without fetching the guild
+     */
+    public Mono<Member> getMemberSource(Snowflake guildId, Snowflake userId) {
+        Mono<Member> fetch = getEvent().getClient().getMemberById(guildId, userId);
+        return (entityCache == null) ? fetch : entityCache.getMember(guildId, userId, fetch);
+    }
+
+    /**
+     * Only to be called by the event receiver, before any data is fetched.
+     *
+     * @param entityCache the cache the sources look for entities in, null to always fetch them
+     */
+    public void setEntityCache(@Nullable EntityCache entityCache) {
+        this.entityCache = entityCache;
+    }
+
+    /**
+     * Only to be called by the event receiver, before any data is fetched.
+     *
+     * @param botMemberCache the cache the bot member source looks in, null to always fetch the bot member
+     */
+    public void setBotMemberCache(@Nullable BotMemberCache botMemberCache) {
+        this.botMemberCache = botMemberCache;
+    }
+
+    /**
+     * Only to be called by the event receiver, before any data is fetched.
+     *
+     * @param dataResolutionMode how the targets of user and message commands are found
+     */
+    public void setDataResolutionMode(@NonNull DataResolutionMode dataResolutionMode) {
+        this.dataResolutionMode = dataResolutionMode;
+    }
+
+    /**
+     * Only to be called by the event receiver, before any data is fetched.
+     *
+     * @param requiredDataTimeout how long after collecting starts required data without its own timeout must be
+     *  found by, null for no deadline
+     * @param requestedDataTimeout how long after collecting starts requested data without its own timeout is
+     *  waited for, null for no deadline
+     */
+    public void setDataTimeouts(@Nullable Duration requiredDataTimeout, @Nullable Duration requestedDataTimeout) {
+        this.requiredDataTimeout = requiredDataTimeout;
+        this.requestedDataTimeout = requestedDataTimeout;
+    }
+
+    /**
+     * Only to be called by custom context classes.
+     *
+     * @return the resolved data sent with the interaction, empty if there is none or it isn't used by the
+     *  {@link DataResolutionMode}
+     */
+    public Optional<ApplicationCommandInteractionResolved> getResolved() {
+        if (dataResolutionMode != DataResolutionMode.PAYLOAD) {
+            return Optional.empty();
+        }
+        return getEvent().getInteraction().getCommandInteraction()
+            .flatMap(ApplicationCommandInteraction::getResolved);
+    }
+
+    /**
+     * Only to be called by custom context classes.
+     *
+     * Discord sends the member of a user in the resolved data as a partial member without the user, which D4J
+     *  doesn't turn into a {@link Member}. The member is created from the data of the partial member and its
+     *  resolved user instead. Discord doesn't send if the member is deafened or muted, so neither is set.
+     *
+     * @param userId the ID of the user of the member
+     * @return the {@link Member} from the resolved data, empty if the resolved data isn't used or doesn't have the
+     *  member
+     */
+    public Optional<Member> getResolvedMember(Snowflake userId) {
+        Snowflake guildId = getEvent().getInteraction().getGuildId().orElse(null);
+        if (dataResolutionMode != DataResolutionMode.PAYLOAD || guildId == null) {
+            return Optional.empty();
+        }
+        String id = userId.asString();
+        return getEvent().getInteraction().getData().data().toOptional()
+            .flatMap(data -> data.resolved().toOptional())
+            .flatMap(resolved -> resolved.members().toOptional()
+                .map(members -> members.get(id))
+                .flatMap(memberData -> resolved.users().toOptional()
+                    .map(users -> users.get(id))
+                    .map(userData -> toMember(guildId, memberData, userData))));
+    }
+
+    /**
+     * @param guildId the ID of the guild of the member
+     * @param resolvedMemberData the resolved data of the member
+     * @param userData the resolved data of the user of the member
+     * @return the member
+     */
+    private Member toMember(Snowflake guildId, ResolvedMemberData resolvedMemberData, UserData userData) {
+        MemberData memberData = MemberData.builder()
+            .user(userData)
+            .nick(resolvedMemberData.nick())
+            .roles(resolvedMemberData.roles())
+            .joinedAt(resolvedMemberData.joinedAt())
+            .premiumSince(resolvedMemberData.premiumSince())
+            .pending(resolvedMemberData.pending())
+            .permissions(resolvedMemberData.permissions())
+            .build();
+        return new Member(getEvent().getClient(), memberData, guildId.asLong());
+    }
+
     /**
      * Only to be called by custom context classes.
      *
@@ -305,6 +610,9 @@ public abstract class ContextBuilder {
      * @return the {@link List} of {@link Mono}s which must provide a value for the interaction to execute
      */
     public List<Mono<Integer>> getRequiredMonoList() {
+        if (requiredMonoList == null) {
+            requiredMonoList = new ArrayList<>();
+        }
         return requiredMonoList;
     }
 
@@ -314,9 +622,22 @@ public abstract class ContextBuilder {
      * @return the {@link List} of {@link Mono}s which may provide a value before the interaction executes
      */
     public List<Mono<Integer>> getRequestMonoList() {
+        if (requestMonoList == null) {
+            requestMonoList = new ArrayList<>();
+        }
         return requestMonoList;
     }
 
+    /**
+     * Only to be called by custom context classes.
+     *
+     * @return the {@link InteractionResponder} for the interaction
+     */
+    @NonNull
+    public InteractionResponder getResponder() {
+        return responder;
+    }
+
     /**
      * Only to be called by custom context classes.
      * 
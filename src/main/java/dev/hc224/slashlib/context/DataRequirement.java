@@ -0,0 +1,79 @@
+package dev.hc224.slashlib.context;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A piece of data a command can declare it needs in a {@link RequirementSet}, such as the guild or the bot member.
+ * The built-in requirements are in {@link DataRequirements}, custom builders can create their own with
+ *  {@link #of(String, Function, DataRequirement[])}.
+ *
+ * A requirement fetches its data and stores it in the builder. The requirements it depends on are always fetched
+ *  first, and it's only fetched if they were found, so their values can be read from the builder.
+ *
+ * @param <B> the builder the data is stored in
+ */
+public final class DataRequirement<B extends ContextBuilder> {
+    private final String name;
+    private final Function<? super B, ? extends Mono<?>> fetcher;
+    private final List<DataRequirement<? super B>> dependencies;
+    // The bit of a built-in requirement in the masks of a builder, -1 for custom requirements
+    private final int bit;
+
+    private DataRequirement(String name, Function<? super B, ? extends Mono<?>> fetcher,
+                            List<DataRequirement<? super B>> dependencies, int bit) {
+        this.name = name;
+        this.fetcher = fetcher;
+        this.dependencies = dependencies;
+        this.bit = bit;
+    }
+
+    /**
+     * Create a requirement.
+     *
+     * @param name the name of the data, used in errors and recordings
+     * @param fetcher fetches the data and stores it in the builder, empty if the data can't be found
+     * @param dependencies the requirements which are fetched before this one
+     * @param <B> the builder the data is stored in
+     * @return a new requirement
+     */
+    @SafeVarargs
+    public static <B extends ContextBuilder> DataRequirement<B> of(String name,
+                                                                  Function<? super B, ? extends Mono<?>> fetcher,
+                                                                  DataRequirement<? super B>... dependencies) {
+        return new DataRequirement<>(name, fetcher, Collections.unmodifiableList(Arrays.asList(dependencies.clone())), -1);
+    }
+
+    /**
+     * Create a built-in requirement, tracked by a bit in the masks of a builder instead of a {@link RequirementSet}.
+     */
+    @SafeVarargs
+    static <B extends ContextBuilder> DataRequirement<B> builtIn(int bit, String name,
+                                                                Function<? super B, ? extends Mono<?>> fetcher,
+                                                                DataRequirement<? super B>... dependencies) {
+        return new DataRequirement<>(name, fetcher, Collections.unmodifiableList(Arrays.asList(dependencies.clone())), bit);
+    }
+
+    /**
+     * Fetch the data and store it in the builder, only called once the dependencies were found.
+     *
+     * @param builder the builder of the interaction
+     * @return a mono emitting the data, empty if it can't be found
+     */
+    public Mono<?> fetch(B builder) {
+        return fetcher.apply(builder);
+    }
+
+    public String getName() { return name; }
+    public List<DataRequirement<? super B>> getDependencies() { return dependencies; }
+    int getBit() { return bit; }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,95 @@
+package dev.hc224.slashlib.context;
+
+import discord4j.core.object.entity.channel.TopLevelGuildChannel;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The built-in {@link DataRequirement}s, each matching a require/request method of the context builders.
+ */
+public final class DataRequirements {
+    private DataRequirements() {}
+
+    /**
+     * The guild the command was called in.
+     */
+    public static final DataRequirement<ContextBuilder> GUILD = DataRequirement.builtIn(0, "guild",
+        builder -> builder.getGuildSource().doOnNext(builder::setGuild));
+
+    /**
+     * The message channel the command was called in.
+     */
+    public static final DataRequirement<ContextBuilder> MESSAGE_CHANNEL = DataRequirement.builtIn(1, "messageChannel",
+        builder -> builder.getChannelSource().doOnNext(builder::setMessageChannel));
+
+    /**
+     * The top level guild channel the command was called in, missing in DMs and threads.
+     */
+    public static final DataRequirement<ContextBuilder> TOP_LEVEL_GUILD_CHANNEL = DataRequirement.builtIn(2, "topLevelGuildChannel",
+        builder -> Mono.justOrEmpty(builder.getMessageChannel())
+            .ofType(TopLevelGuildChannel.class)
+            .doOnNext(builder::setTopLevelGuildChannel),
+        MESSAGE_CHANNEL);
+
+    /**
+     * The calling user as a member, missing in DMs.
+     */
+    public static final DataRequirement<ContextBuilder> MEMBER = DataRequirement.builtIn(3, "member",
+        builder -> Mono.justOrEmpty(builder.getEvent().getInteraction().getMember()).doOnNext(builder::setMember));
+
+    /**
+     * The user of the bot.
+     */
+    public static final DataRequirement<ContextBuilder> BOT_USER = DataRequirement.builtIn(4, "botUser",
+        builder -> builder.getBotUserSource().doOnNext(builder::setBotUser));
+
+    /**
+     * The bot as a member of the guild the command was called in, found without fetching the guild.
+     * The guild is also set when it is in the {@link dev.hc224.slashlib.EntityCache}.
+     */
+    public static final DataRequirement<ContextBuilder> BOT_MEMBER = DataRequirement.builtIn(5, "botMember",
+        builder -> builder.getBotMemberSource().doOnNext(botMember -> {
+            builder.setBotMember(botMember);
+            builder.setGuildIfCached();
+        }));
+
+    /**
+     * The user a user command was called on.
+     */
+    public static final DataRequirement<UserContextBuilder> TARGET_USER = DataRequirement.builtIn(6, "targetUser",
+        builder -> builder.getTargetUserSource().doOnNext(builder::setTargetUser));
+
+    /**
+     * The member a user command was called on, found without fetching the guild.
+     */
+    public static final DataRequirement<UserContextBuilder> TARGET_MEMBER = DataRequirement.builtIn(7, "targetMember",
+        builder -> builder.getTargetMemberSource().doOnNext(builder::setTargetMember),
+        TARGET_USER);
+
+    /**
+     * The message a message command was called on.
+     */
+    public static final DataRequirement<MessageContextBuilder> TARGET_MESSAGE = DataRequirement.builtIn(8, "targetMessage",
+        builder -> builder.getTargetMessageSource().doOnNext(builder::setTargetMessage));
+
+    /**
+     * The author of the message a message command was called on, missing for webhook messages.
+     */
+    public static final DataRequirement<MessageContextBuilder> MESSAGE_AUTHOR = DataRequirement.builtIn(9, "messageAuthor",
+        builder -> builder.getMessageAuthorSource().doOnNext(builder::setMessageAuthor),
+        TARGET_MESSAGE);
+
+    /**
+     * The author of the message a message command was called on as a member, found without fetching the guild.
+     */
+    public static final DataRequirement<MessageContextBuilder> MESSAGE_AUTHOR_AS_MEMBER = DataRequirement.builtIn(10, "messageAuthorAsMember",
+        builder -> builder.getMessageAuthorAsMemberSource().doOnNext(builder::setMessageAuthorAsMember),
+        MESSAGE_AUTHOR);
+
+    // Every built-in requirement, indexed by its bit
+    static final List<DataRequirement<?>> BY_BIT = Collections.unmodifiableList(Arrays.asList(
+        GUILD, MESSAGE_CHANNEL, TOP_LEVEL_GUILD_CHANNEL, MEMBER, BOT_USER, BOT_MEMBER, TARGET_USER, TARGET_MEMBER, TARGET_MESSAGE, MESSAGE_AUTHOR, MESSAGE_AUTHOR_AS_MEMBER));
+}
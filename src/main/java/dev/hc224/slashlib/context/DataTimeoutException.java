@@ -0,0 +1,48 @@
+package dev.hc224.slashlib.context;
+
+import java.time.Duration;
+
+/**
+ * Used when required data wasn't collected before its deadline when calling {@link ContextBuilder#collectData()}.
+ * Collecting stops as soon as the deadline passes, without waiting for the rest of the data.
+ */
+public class DataTimeoutException extends DataMissingException {
+    private final String data;
+    private final Duration timeout;
+    private final Duration elapsed;
+
+    /**
+     * @param builder the builder the data was collected for
+     * @param data the name of the data which wasn't collected
+     * @param timeout how long after collecting started the data had to be collected by
+     * @param elapsed how long after collecting started the data was given up on
+     */
+    public DataTimeoutException(ContextBuilder builder, String data, Duration timeout, Duration elapsed) {
+        super(builder, "Couldn't collect " + data + " within " + timeout.toMillis() + "ms, gave up after "
+            + elapsed.toMillis() + "ms");
+        this.data = data;
+        this.timeout = timeout;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * @return the name of the data which wasn't collected
+     */
+    public String getData() {
+        return data;
+    }
+
+    /**
+     * @return how long after collecting started the data had to be collected by
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * @return how long after collecting started the data was given up on
+     */
+    public Duration getElapsed() {
+        return elapsed;
+    }
+}
@@ -0,0 +1,323 @@
+package dev.hc224.slashlib.context;
+
+import dev.hc224.slashlib.jfr.FlightEvents;
+import reactor.core.publisher.Mono;
+import reactor.util.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A {@link RequirementSet} compiled once into the order its data is fetched in, so each interaction only executes
+ *  the prepared plan.
+ *
+ * When compiling, the dependencies of each requirement are added and each requirement appears once. A dependency
+ *  is required if any required requirement depends on it. The requirements are ordered so dependencies come first.
+ *
+ * When executed, requirements without a dependency between them are fetched concurrently and a requirement shared
+ *  by others is fetched once. A requirement is skipped, and counted as missing, if a dependency is missing.
+ *
+ * A requirement with a timeout, or the default timeouts of the builder, has a deadline measured from when
+ *  collecting starts. A requested requirement past its deadline is abandoned and counted as missing, a required one
+ *  stops collecting straight away with a {@link DataTimeoutException}.
+ *
+ * Which requirements were found is tracked as a bit per node, so a plan can have at most 64 requirements.
+ *
+ * @param <B> the builder the data is stored in
+ */
+public final class FetchPlan<B extends ContextBuilder> {
+    private static final int MAXIMUM_NODES = Long.SIZE;
+
+    private final RequirementSet<B> requirements;
+    private final List<Node<B>> nodes;
+    // The bits of the required and requested nodes
+    private final long requiredNodes;
+    private final long requestedNodes;
+    // This plan with the built-in requirements added by the require and request methods of a builder, by their masks
+    private final Map<Long, FetchPlan<B>> withBuiltIns;
+
+    private FetchPlan(RequirementSet<B> requirements, List<Node<B>> nodes) {
+        this.requirements = requirements;
+        this.nodes = nodes;
+        long requiredNodes = 0;
+        long requestedNodes = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            if (nodes.get(i).required) {
+                requiredNodes |= 1L << i;
+            } else {
+                requestedNodes |= 1L << i;
+            }
+        }
+        this.requiredNodes = requiredNodes;
+        this.requestedNodes = requestedNodes;
+        this.withBuiltIns = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Compile a set of requirements into a plan.
+     *
+     * @param requirements the requirements of a command
+     * @param <B> the builder the data is stored in
+     * @return the plan to fetch the requirements with
+     */
+    public static <B extends ContextBuilder> FetchPlan<B> compile(RequirementSet<B> requirements) {
+        // A requirement is required if it, or anything depending on it, is required
+        Map<DataRequirement<? super B>, Boolean> required = new HashMap<>();
+        requirements.getRequirements().forEach((requirement, isRequired) -> markRequired(required, requirement, isRequired));
+
+        // Order the requirements so dependencies come first, keeping the declared order otherwise
+        Map<DataRequirement<? super B>, Integer> indexes = new HashMap<>();
+        List<Node<B>> nodes = new ArrayList<>();
+        for (DataRequirement<? super B> requirement : requirements.getRequirements().keySet()) {
+            addNode(nodes, indexes, required, requirements, requirement);
+        }
+        if (nodes.size() > MAXIMUM_NODES) {
+            throw new IllegalArgumentException("A plan can have at most " + MAXIMUM_NODES + " requirements, including dependencies");
+        }
+        return new FetchPlan<>(requirements, Collections.unmodifiableList(nodes));
+    }
+
+    /**
+     * Set this plan to be executed when the builder collects its data, along with any data requested by the
+     *  require and request methods of the builder.
+     *
+     * @param builder the builder of the interaction
+     * @return the builder
+     */
+    public B apply(B builder) {
+        builder.fetchPlan = this;
+        return builder;
+    }
+
+    /**
+     * @return the requirements this plan was compiled from
+     */
+    public RequirementSet<B> getRequirements() {
+        return requirements;
+    }
+
+    /**
+     * @return the requirements in the order they are fetched
+     */
+    public List<DataRequirement<? super B>> getOrder() {
+        List<DataRequirement<? super B>> order = new ArrayList<>(nodes.size());
+        for (Node<B> node : nodes) {
+            order.add(node.requirement);
+        }
+        return order;
+    }
+
+    /**
+     * @param requirement a compiled requirement
+     * @return true if the requirement is required, false if it's requested or not in this plan
+     */
+    public boolean isRequired(DataRequirement<?> requirement) {
+        for (Node<B> node : nodes) {
+            if (node.requirement == requirement) {
+                return node.required;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    /**
+     * Get this plan with built-in requirements added, compiled once for each combination of masks.
+     *
+     * @param required the mask of the required built-in requirements, by {@link DataRequirements#BY_BIT}
+     * @param requested the mask of the requested built-in requirements
+     * @return the plan with the requirements added
+     */
+    @SuppressWarnings("unchecked") // Only called by builders with the built-in requirements of their class
+    FetchPlan<B> withBuiltIns(int required, int requested) {
+        if (required == 0 && requested == 0) {
+            return this;
+        }
+        long key = ((long) required << 32) | (requested & 0xFFFFFFFFL);
+        FetchPlan<B> plan = withBuiltIns.get(key);
+        if (plan == null) {
+            RequirementSet<B> added = requirements;
+            for (int bit = 0; bit < DataRequirements.BY_BIT.size(); bit++) {
+                DataRequirement<? super B> requirement = (DataRequirement<? super B>) DataRequirements.BY_BIT.get(bit);
+                if ((required & (1 << bit)) != 0) {
+                    added = added.require(requirement);
+                } else if ((requested & (1 << bit)) != 0) {
+                    added = added.request(requirement);
+                }
+            }
+            plan = compile(added);
+            FetchPlan<B> existing = withBuiltIns.putIfAbsent(key, plan);
+            if (existing != null) {
+                plan = existing;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Fetch every requirement, each once its dependencies are found.
+     *
+     * @param builder the builder of the interaction
+     * @return a mono emitting the bits of the nodes which were found, or a {@link DataTimeoutException} as soon as
+     *  a required requirement passes its deadline
+     */
+    Mono<Long> execute(B builder) {
+        if (nodes.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return Mono.defer(() -> {
+            // Deadlines are measured from when collecting starts, so time spent waiting for dependencies counts
+            long start = System.nanoTime();
+            List<Mono<Boolean>> found = new ArrayList<>(nodes.size());
+            for (Node<B> node : nodes) {
+                Mono<Boolean> fetch = FlightEvents.recordDataFetch(builder.getEvent().getInteraction(),
+                        node.requirement.getName(), node.required, Mono.defer(() -> node.requirement.fetch(builder)))
+                    .hasElement();
+                Mono<Boolean> nodeFound = fetch;
+                if (node.dependencies.length > 0) {
+                    List<Mono<Boolean>> dependencies = new ArrayList<>(node.dependencies.length);
+                    for (int dependency : node.dependencies) {
+                        dependencies.add(found.get(dependency));
+                    }
+                    nodeFound = Mono.zip(dependencies, FetchPlan::allTrue)
+                        .flatMap(dependenciesFound -> dependenciesFound ? fetch : Mono.just(false));
+                }
+                Duration timeout = (node.timeout != null) ? node.timeout
+                    : (node.required ? builder.requiredDataTimeout : builder.requestedDataTimeout);
+                if (timeout != null) {
+                    nodeFound = withDeadline(builder, node, nodeFound, timeout, start);
+                }
+                found.add(nodeFound.cache());
+            }
+            return Mono.zip(found, results -> {
+                long foundNodes = 0;
+                for (int i = 0; i < results.length; i++) {
+                    if ((Boolean) results[i]) {
+                        foundNodes |= 1L << i;
+                    }
+                }
+                return foundNodes;
+            });
+        });
+    }
+
+    /**
+     * Give up on a requirement once its deadline passes.
+     *
+     * @param builder the builder of the interaction
+     * @param node the node of the requirement
+     * @param found emits if the requirement was found
+     * @param timeout how long after collecting started the requirement must be found by
+     * @param start the {@link System#nanoTime()} collecting started at
+     * @return false if a requested requirement passed its deadline, a {@link DataTimeoutException} if a required one did
+     */
+    private Mono<Boolean> withDeadline(B builder, Node<B> node, Mono<Boolean> found, Duration timeout, long start) {
+        return Mono.defer(() -> found.timeout(Duration.ofNanos(Math.max(0, timeout.toNanos() - (System.nanoTime() - start)))))
+            .onErrorResume(TimeoutException.class, e -> node.required
+                ? Mono.error(new DataTimeoutException(builder, node.requirement.getName(), timeout,
+                    Duration.ofNanos(System.nanoTime() - start)))
+                : Mono.just(false));
+    }
+
+    /**
+     * @param found the bits of the nodes which were found
+     * @param required true to check the required requirements, false to check the requested ones
+     * @return true if every checked requirement was found
+     */
+    boolean allFound(long found, boolean required) {
+        long checked = required ? requiredNodes : requestedNodes;
+        return (found & checked) == checked;
+    }
+
+    /**
+     * @param found the bits of the nodes which were found
+     * @return the names of the required requirements which weren't found
+     */
+    List<String> getMissingRequired(long found) {
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            if (nodes.get(i).required && (found & (1L << i)) == 0) {
+                missing.add(nodes.get(i).requirement.getName());
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * @param results booleans from zipped monos
+     * @return true if every result is true
+     */
+    private static boolean allTrue(Object[] results) {
+        for (Object result : results) {
+            if (!(Boolean) result) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Mark a requirement and its dependencies as required or requested, a requirement stays required once marked.
+     */
+    private static <B extends ContextBuilder> void markRequired(Map<DataRequirement<? super B>, Boolean> required,
+                                                                DataRequirement<? super B> requirement,
+                                                                boolean isRequired) {
+        Boolean current = required.get(requirement);
+        if (current != null && (current || !isRequired)) {
+            return;
+        }
+        required.put(requirement, isRequired);
+        for (DataRequirement<? super B> dependency : requirement.getDependencies()) {
+            markRequired(required, dependency, isRequired);
+        }
+    }
+
+    /**
+     * Add the node of a requirement after the nodes of its dependencies, unless already added.
+     *
+     * @return the index of the node
+     */
+    private static <B extends ContextBuilder> int addNode(List<Node<B>> nodes,
+                                                         Map<DataRequirement<? super B>, Integer> indexes,
+                                                         Map<DataRequirement<? super B>, Boolean> required,
+                                                         RequirementSet<B> requirements,
+                                                         DataRequirement<? super B> requirement) {
+        Integer index = indexes.get(requirement);
+        if (index != null) {
+            return index;
+        }
+        List<DataRequirement<? super B>> dependencies = requirement.getDependencies();
+        int[] dependencyIndexes = new int[dependencies.size()];
+        for (int i = 0; i < dependencyIndexes.length; i++) {
+            dependencyIndexes[i] = addNode(nodes, indexes, required, requirements, dependencies.get(i));
+        }
+        nodes.add(new Node<>(requirement, dependencyIndexes, required.get(requirement),
+            requirements.getTimeout(requirement).orElse(null)));
+        indexes.put(requirement, nodes.size() - 1);
+        return nodes.size() - 1;
+    }
+
+    /**
+     * A requirement in the plan.
+     */
+    private static final class Node<B extends ContextBuilder> {
+        private final DataRequirement<? super B> requirement;
+        // The indexes of the nodes this node depends on, always lower than the index of this node
+        private final int[] dependencies;
+        private final boolean required;
+        private final @Nullable Duration timeout;
+
+        private Node(DataRequirement<? super B> requirement, int[] dependencies, boolean required,
+                     @Nullable Duration timeout) {
+            this.requirement = requirement;
+            this.dependencies = dependencies;
+            this.required = required;
+            this.timeout = timeout;
+        }
+    }
+}
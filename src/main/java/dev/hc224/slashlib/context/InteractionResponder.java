@@ -0,0 +1,185 @@
+package dev.hc224.slashlib.context;
+
+import discord4j.core.event.domain.interaction.DeferrableInteractionEvent;
+import discord4j.core.spec.InteractionApplicationCommandCallbackSpec;
+import discord4j.core.spec.InteractionFollowupCreateSpec;
+import reactor.core.publisher.Mono;
+import reactor.util.annotation.NonNull;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Responds to an interaction, keeping track of whether it was already deferred or replied to.
+ *
+ * Discord only accepts one initial response for an interaction. When the interaction was deferred, such as by the
+ *  automatic defer of the receiver, a reply is instead sent as a follow-up, which replaces the loading message
+ *  of the defer. Replies after the first are always sent as follow-ups.
+ *
+ * The reply replacing the loading message keeps the visibility of the defer, so it's rejected with an
+ *  {@link IllegalStateException} if its ephemeral flag differs from the defer instead of being shown to the wrong users.
+ *
+ * Commands which are deferred automatically must reply through {@link Context#reply(String)} or this class,
+ *  replying through the event directly would fail after the interaction was deferred.
+ */
+public class InteractionResponder {
+    private final @NonNull DeferrableInteractionEvent event;
+    // The initial response to the interaction, a defer or a reply, null if there was no response yet
+    private final AtomicReference<Response> response;
+
+    public InteractionResponder(@NonNull DeferrableInteractionEvent event) {
+        this.event = event;
+        this.response = new AtomicReference<>();
+    }
+
+    /**
+     * Defer the interaction if there was no response yet, showing a loading message to the user.
+     *
+     * @param ephemeral if the loading message, and as such the first reply, is only visible to the user
+     * @return a Mono completing once deferred, empty without deferring if there was already a response
+     */
+    public Mono<Void> defer(boolean ephemeral) {
+        return Mono.defer(() -> {
+            Response deferral = Response.deferral(event.deferReply().withEphemeral(ephemeral).cache(), ephemeral);
+            return response.compareAndSet(null, deferral) ? deferral.acknowledged : Mono.empty();
+        });
+    }
+
+    /**
+     * Reply to the interaction, as a follow-up if the interaction was deferred or already replied to.
+     *
+     * @param spec the reply to send
+     * @return a Mono completing once the reply is sent, or an {@link IllegalStateException} if the reply would
+     *  replace the loading message of a defer with a different ephemeral flag
+     */
+    public Mono<Void> reply(InteractionApplicationCommandCallbackSpec spec) {
+        return Mono.defer(() -> {
+            boolean ephemeral = spec.ephemeral().toOptional().orElse(false);
+            Response initialReply = Response.reply(event.reply(spec).cache(), ephemeral);
+            if (response.compareAndSet(null, initialReply)) {
+                return initialReply.acknowledged;
+            }
+            Response current = response.get();
+            Mono<Void> firstReply = current.firstReply.get();
+            if (firstReply == null) {
+                if (ephemeral != current.ephemeral) {
+                    return Mono.error(new IllegalStateException("The interaction was deferred as " + visibility(current.ephemeral)
+                        + ", the first reply can't be " + visibility(ephemeral)));
+                }
+                // Wait for a defer in progress, the follow-up would fail before the interaction is acknowledged
+                Mono<Void> replacement = current.acknowledged
+                    .then(Mono.defer(() -> event.createFollowup(asFollowup(spec))))
+                    .then()
+                    .cache();
+                if (current.firstReply.compareAndSet(null, replacement)) {
+                    return replacement;
+                }
+                firstReply = current.firstReply.get();
+            }
+            // Sent after the first reply, so a follow-up with another ephemeral flag can't replace the loading message
+            return firstReply
+                .onErrorResume(t -> Mono.empty())
+                .then(Mono.defer(() -> event.createFollowup(asFollowup(spec))))
+                .then();
+        });
+    }
+
+    /**
+     * @param content the content of the reply
+     * @return a Mono completing once the reply is sent
+     * @see #reply(InteractionApplicationCommandCallbackSpec)
+     */
+    public Mono<Void> reply(String content) {
+        return reply(InteractionApplicationCommandCallbackSpec.builder().content(content).build());
+    }
+
+    /**
+     * @return true if the interaction was deferred
+     */
+    public boolean isDeferred() {
+        Response current = response.get();
+        return current != null && current.deferred;
+    }
+
+    /**
+     * @return true if the interaction was deferred or replied to
+     */
+    public boolean hasResponded() {
+        return response.get() != null;
+    }
+
+    /**
+     * Only to be called by custom context classes.
+     *
+     * @return the event being responded to
+     */
+    @NonNull
+    public DeferrableInteractionEvent getEvent() {
+        return event;
+    }
+
+    /**
+     * @param spec a reply
+     * @return the reply as a follow-up message, including its files
+     */
+    private static InteractionFollowupCreateSpec asFollowup(InteractionApplicationCommandCallbackSpec spec) {
+        return InteractionFollowupCreateSpec.builder()
+            .content(spec.content())
+            .tts(spec.tts())
+            .ephemeral(spec.ephemeral())
+            .embeds(spec.embeds().toOptional().orElse(Collections.emptyList()))
+            .allowedMentions(spec.allowedMentions())
+            .components(spec.components())
+            .files(spec.files())
+            .fileSpoilers(spec.fileSpoilers())
+            .build();
+    }
+
+    /**
+     * @param ephemeral an ephemeral flag
+     * @return who a message with the flag is visible to
+     */
+    private static String visibility(boolean ephemeral) {
+        return ephemeral ? "ephemeral" : "public";
+    }
+
+    /**
+     * The initial response to an interaction, a defer or a reply.
+     */
+    private static final class Response {
+        // Completes once Discord acknowledged the response
+        private final Mono<Void> acknowledged;
+        // If the initial response, and as such the first reply, is only visible to the user
+        private final boolean ephemeral;
+        // If the initial response is a defer, which shows a loading message until the first reply
+        private final boolean deferred;
+        // Completes once the first reply is sent, null until the loading message of a defer is being replaced.
+        //  Every later follow-up waits for it, after which follow-ups can have any ephemeral flag
+        private final AtomicReference<Mono<Void>> firstReply;
+
+        private Response(Mono<Void> acknowledged, boolean ephemeral, boolean deferred) {
+            this.acknowledged = acknowledged;
+            this.ephemeral = ephemeral;
+            this.deferred = deferred;
+            this.firstReply = new AtomicReference<>(deferred ? null : acknowledged);
+        }
+
+        /**
+         * @param acknowledged the cached defer
+         * @param ephemeral if the loading message is only visible to the user
+         * @return a defer, replaced by the first reply
+         */
+        private static Response deferral(Mono<Void> acknowledged, boolean ephemeral) {
+            return new Response(acknowledged, ephemeral, true);
+        }
+
+        /**
+         * @param acknowledged the cached reply
+         * @param ephemeral if the reply is only visible to the user
+         * @return a reply sent without a defer, which is the first reply
+         */
+        private static Response reply(Mono<Void> acknowledged, boolean ephemeral) {
+            return new Response(acknowledged, ephemeral, false);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import discord4j.core.event.domain.interaction.MessageInteractionEvent;
 import discord4j.core.object.entity.Member;
 import discord4j.core.object.entity.Message;
 import discord4j.core.object.entity.User;
+import reactor.core.publisher.Mono;
 import reactor.util.annotation.NonNull;
 import reactor.util.annotation.Nullable;
 
@@ -20,6 +21,9 @@ public class MessageContext extends Context {
     private final @Nullable User messageAuthor;
     private final @Nullable Member messageAuthorAsMember;
 
+    // Holds the sources of the lazily fetched targets
+    private final @NonNull MessageContextBuilder builder;
+
     public MessageContext(MessageContextBuilder builder) {
         super(builder);
 
@@ -28,6 +32,8 @@ public class MessageContext extends Context {
         this.targetMessage          = builder.getTargetMessage();
         this.messageAuthor          = builder.getMessageAuthor();
         this.messageAuthorAsMember  = builder.getMessageAuthorAsMember();
+
+        this.builder                = builder;
     }
 
     /**
@@ -57,4 +63,27 @@ public class MessageContext extends Context {
     public Optional<Member> getMessageAuthorAsMember() {
         return Optional.ofNullable(messageAuthorAsMember);
     }
+
+    /**
+     * @return the {@link Message} this interaction was called on, fetched on first subscription if not requested
+     */
+    public Mono<Message> fetchTargetMessage() {
+        return (targetMessage != null) ? Mono.just(targetMessage) : builder.getTargetMessageSource();
+    }
+
+    /**
+     * @return the {@link User} who authored the {@link Message} this interaction was called on, fetched on first
+     *  subscription if not requested, empty for webhook messages
+     */
+    public Mono<User> fetchMessageAuthor() {
+        return (messageAuthor != null) ? Mono.just(messageAuthor) : builder.getMessageAuthorSource();
+    }
+
+    /**
+     * @return the {@link Member} who authored the {@link Message} this interaction was called on, fetched on first
+     *  subscription if not requested
+     */
+    public Mono<Member> fetchMessageAuthorAsMember() {
+        return (messageAuthorAsMember != null) ? Mono.just(messageAuthorAsMember) : builder.getMessageAuthorAsMemberSource();
+    }
 }
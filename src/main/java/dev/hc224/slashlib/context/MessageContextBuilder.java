@@ -1,11 +1,13 @@
 package dev.hc224.slashlib.context;
 
+import discord4j.common.util.Snowflake;
 import discord4j.core.event.domain.interaction.MessageInteractionEvent;
 import discord4j.core.object.entity.Member;
 import discord4j.core.object.entity.Message;
 import discord4j.core.object.entity.User;
 import reactor.core.publisher.Mono;
 import reactor.util.annotation.NonNull;
+import reactor.util.annotation.Nullable;
 
 /**
  * A builder class provided to user commands before the command logic is called.
@@ -17,6 +19,10 @@ public class MessageContextBuilder extends ContextBuilder {
     User messageAuthor;
     Member messageAuthorAsMember;
 
+    // The target message is fetched at most once, the author and author as member are derived from it
+    private @Nullable Mono<Message> targetMessageSource;
+    private @Nullable Mono<Member> messageAuthorAsMemberSource;
+
     public MessageContextBuilder(@NonNull MessageInteractionEvent event) {
         super(event);
 
@@ -25,6 +31,9 @@ public class MessageContextBuilder extends ContextBuilder {
         this.targetMessage          = null;
         this.messageAuthor          = null;
         this.messageAuthorAsMember  = null;
+
+        this.targetMessageSource            = null;
+        this.messageAuthorAsMemberSource    = null;
     }
 
     @Override
@@ -41,9 +50,7 @@ public class MessageContextBuilder extends ContextBuilder {
      * @return this instance
      */
     public MessageContextBuilder requireMessage() {
-        getRequiredMonoList().add(getEvent().getTargetMessage()
-            .doOnNext(this::setTargetMessage)
-            .map(member -> 1));
+        addRequirement(DataRequirements.TARGET_MESSAGE, true);
         return this;
     }
 
@@ -56,9 +63,7 @@ public class MessageContextBuilder extends ContextBuilder {
      * @return this instance
      */
     public MessageContextBuilder requestMessage() {
-        getRequestMonoList().add(getEvent().getTargetMessage()
-            .doOnNext(this::setTargetMessage)
-            .map(member -> 1));
+        addRequirement(DataRequirements.TARGET_MESSAGE, false);
         return this;
     }
 
@@ -73,11 +78,7 @@ public class MessageContextBuilder extends ContextBuilder {
      * @return this instance
      */
     public MessageContextBuilder requireMessageAuthor() {
-        getRequiredMonoList().add(getEvent().getTargetMessage()
-            .doOnNext(this::setTargetMessage)
-            .flatMap(message -> Mono.justOrEmpty(message.getAuthor()))
-            .doOnNext(this::setMessageAuthor)
-            .map(member -> 1));
+        addRequirement(DataRequirements.MESSAGE_AUTHOR, true);
         return this;
     }
 
@@ -92,11 +93,7 @@ public class MessageContextBuilder extends ContextBuilder {
      * @return this instance
      */
     public MessageContextBuilder requestMessageAuthor() {
-        getRequestMonoList().add(getEvent().getTargetMessage()
-            .doOnNext(this::setTargetMessage)
-            .flatMap(message -> Mono.justOrEmpty(message.getAuthor()))
-            .doOnNext(this::setMessageAuthor)
-            .map(member -> 1));
+        addRequirement(DataRequirements.MESSAGE_AUTHOR, false);
         return this;
     }
 
@@ -104,7 +101,6 @@ public class MessageContextBuilder extends ContextBuilder {
      * Mark that the {@link Member} who authored the message this command
      *  was called on is required for command execution.
      * This method will collect the:
-     * guild
      * message
      * messageAuthor
      * messageAuthorAsMember
@@ -113,16 +109,7 @@ public class MessageContextBuilder extends ContextBuilder {
      * @return this instance
      */
     public MessageContextBuilder requireMessageAuthorAsMember() {
-        // As of D4J v3.2.0 message#getAuthorAsMember() will get the guild
-        getRequiredMonoList().add(getEvent().getTargetMessage()
-            .doOnNext(this::setTargetMessage)
-            .flatMap(message -> message.getGuild()
-                .doOnNext(this::setGuild)
-                .flatMap(guild -> Mono.justOrEmpty(message.getAuthor())
-                    .doOnNext(this::setMessageAuthor)
-                    .flatMap(author -> guild.getMemberById(author.getId()))
-                    .doOnNext(this::setMessageAuthorAsMember)))
-            .map(member -> 1));
+        addRequirement(DataRequirements.MESSAGE_AUTHOR_AS_MEMBER, true);
         return this;
     }
 
@@ -130,7 +117,6 @@ public class MessageContextBuilder extends ContextBuilder {
      * Mark that the {@link Member} who authored the message this command
      *  was called on is optionally used for command execution.
      * This method will collect the:
-     * guild
      * message
      * messageAuthor
      * messageAuthorAsMember
@@ -139,16 +125,7 @@ public class MessageContextBuilder extends ContextBuilder {
      * @return this instance
      */
     public MessageContextBuilder requestMessageAuthorAsMember() {
-        // As of D4J v3.2.0 message#getAuthorAsMember() will get the guild
-        getRequestMonoList().add(getEvent().getTargetMessage()
-            .doOnNext(this::setTargetMessage)
-            .flatMap(message -> message.getGuild()
-                .doOnNext(this::setGuild)
-                .flatMap(guild -> Mono.justOrEmpty(message.getAuthor())
-                    .doOnNext(this::setMessageAuthor)
-                    .flatMap(author -> guild.getMemberById(author.getId()))
-                    .doOnNext(this::setMessageAuthorAsMember)))
-            .map(member -> 1));
+        addRequirement(DataRequirements.MESSAGE_AUTHOR_AS_MEMBER, false);
         return this;
     }
 
@@ -161,6 +138,51 @@ public class MessageContextBuilder extends ContextBuilder {
         return event;
     }
 
+    /**
+     * Only to be called by custom context classes.
+     *
+     * @return the {@link Message} this interaction was called on, from the resolved data if used and present,
+     *  fetched at most once for this builder
+     */
+    public Mono<Message> getTargetMessageSource() {
+        if (targetMessageSource == null) {
+            targetMessageSource = getResolved()
+                .flatMap(resolved -> resolved.getMessage(getEvent().getTargetId()))
+                .map(Mono::just)
+                .orElseGet(() -> getEvent().getTargetMessage().cache());
+        }
+        return targetMessageSource;
+    }
+
+    /**
+     * Only to be called by custom context classes.
+     *
+     * @return the {@link User} who authored the message this interaction was called on, empty for webhook messages
+     */
+    public Mono<User> getMessageAuthorSource() {
+        return getTargetMessageSource().flatMap(message -> Mono.justOrEmpty(message.getAuthor()));
+    }
+
+    /**
+     * Only to be called by custom context classes.
+     *
+     * @return the {@link Member} who authored the message this interaction was called on, from the resolved data if
+     *  used and present, fetched at most once for this builder. The guild isn't fetched.
+     */
+    public Mono<Member> getMessageAuthorAsMemberSource() {
+        if (messageAuthorAsMemberSource == null) {
+            Snowflake guildId = getEvent().getInteraction().getGuildId().orElse(null);
+            // As of D4J v3.2.0 message#getAuthorAsMember() will get the guild, the member is found by the guild ID instead
+            // Discord doesn't always resolve the member of a message author, so it's fetched if the data doesn't have it
+            messageAuthorAsMemberSource = (guildId == null) ? Mono.empty() : getMessageAuthorSource()
+                .flatMap(author -> getResolvedMember(author.getId())
+                    .map(Mono::just)
+                    .orElseGet(() -> getMemberSource(guildId, author.getId())))
+                .cache();
+        }
+        return messageAuthorAsMemberSource;
+    }
+
     /**
      * Only to be called by custom context classes.
      *
@@ -0,0 +1,164 @@
+package dev.hc224.slashlib.context;
+
+import reactor.util.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An immutable set of the data a command requires or requests, declared once instead of in every call to
+ *  setRequestData. The set is compiled into a {@link FetchPlan} when the command is added to the command structure.
+ *
+ * Like the require methods of the builders, a missing required piece of data stops the command with a
+ *  {@link DataMissingException}. A missing requested piece of data makes {@link Context#doesAllRequestedDataExist()}
+ *  return false.
+ *
+ * A requirement can be given a timeout, measured from when data collection starts. A requested piece of data which
+ *  isn't found in time is counted as missing, a required one stops the command with a {@link DataTimeoutException}.
+ *
+ * <pre>{@code
+ * RequirementSet<ChatContextBuilder> requirements = RequirementSet.<ChatContextBuilder>empty()
+ *     .require(DataRequirements.GUILD)
+ *     .request(DataRequirements.BOT_MEMBER);
+ * }</pre>
+ *
+ * @param <B> the builder the data is stored in
+ */
+public final class RequirementSet<B extends ContextBuilder> {
+    private static final RequirementSet<?> EMPTY = new RequirementSet<>(Collections.emptyMap(), Collections.emptyMap());
+
+    // The declared requirements in order, true if required and false if requested
+    private final Map<DataRequirement<? super B>, Boolean> requirements;
+    // The timeout of each requirement which has one
+    private final Map<DataRequirement<? super B>, Duration> timeouts;
+
+    private RequirementSet(Map<DataRequirement<? super B>, Boolean> requirements,
+                           Map<DataRequirement<? super B>, Duration> timeouts) {
+        this.requirements = requirements;
+        this.timeouts = timeouts;
+    }
+
+    /**
+     * @param <B> the builder the data is stored in
+     * @return a set without any requirements
+     */
+    @SuppressWarnings("unchecked") // The empty set holds no requirements of any builder
+    public static <B extends ContextBuilder> RequirementSet<B> empty() {
+        return (RequirementSet<B>) EMPTY;
+    }
+
+    /**
+     * @param requirement data the command can't execute without
+     * @return a new set with the requirement added, a requested requirement becomes required
+     */
+    public RequirementSet<B> require(DataRequirement<? super B> requirement) {
+        return with(requirement, true, null);
+    }
+
+    /**
+     * @param requirement data the command can't execute without
+     * @param timeout how long after data collection starts the data must be found by
+     * @return a new set with the requirement added, a requested requirement becomes required
+     */
+    public RequirementSet<B> require(DataRequirement<? super B> requirement, Duration timeout) {
+        return with(requirement, true, checkTimeout(timeout));
+    }
+
+    /**
+     * @param requirement data the command can execute without
+     * @return a new set with the requirement added, unchanged if it's already required
+     */
+    public RequirementSet<B> request(DataRequirement<? super B> requirement) {
+        return with(requirement, false, null);
+    }
+
+    /**
+     * @param requirement data the command can execute without
+     * @param timeout how long after data collection starts the data must be found by
+     * @return a new set with the requirement added, unchanged other than the timeout if it's already required
+     */
+    public RequirementSet<B> request(DataRequirement<? super B> requirement, Duration timeout) {
+        return with(requirement, false, checkTimeout(timeout));
+    }
+
+    /**
+     * Combine with another set, such as the requirements shared by a group of commands.
+     *
+     * @param other the set to add
+     * @return a new set with the requirements of both sets, required if either requires it and with the shorter
+     *  timeout if both have one
+     */
+    public RequirementSet<B> with(RequirementSet<? super B> other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            @SuppressWarnings("unchecked") // The other set holds requirements of a superclass of B
+            RequirementSet<B> cast = (RequirementSet<B>) other;
+            return cast;
+        }
+        RequirementSet<B> combined = this;
+        for (Map.Entry<? extends DataRequirement<?>, Boolean> entry : other.requirements.entrySet()) {
+            @SuppressWarnings("unchecked") // The other set holds requirements of a superclass of B
+            DataRequirement<? super B> requirement = (DataRequirement<? super B>) entry.getKey();
+            combined = combined.with(requirement, entry.getValue(), other.timeouts.get(requirement));
+        }
+        return combined;
+    }
+
+    /**
+     * @return the declared requirements in order, true if required and false if requested
+     */
+    public Map<DataRequirement<? super B>, Boolean> getRequirements() {
+        return requirements;
+    }
+
+    /**
+     * @param requirement a requirement in this set
+     * @return the timeout of the requirement, empty if it has none
+     */
+    public Optional<Duration> getTimeout(DataRequirement<?> requirement) {
+        return Optional.ofNullable(timeouts.get(requirement));
+    }
+
+    public boolean isEmpty() {
+        return requirements.isEmpty();
+    }
+
+    /**
+     * @param requirement the requirement to add
+     * @param required if the requirement is required
+     * @param timeout the timeout of the requirement, null for none
+     * @return a new set with the requirement added
+     */
+    private RequirementSet<B> with(DataRequirement<? super B> requirement, boolean required, @Nullable Duration timeout) {
+        Boolean current = requirements.get(requirement);
+        Duration currentTimeout = timeouts.get(requirement);
+        boolean requiredChanged = current == null || (!current && required);
+        boolean timeoutChanged = timeout != null && (currentTimeout == null || timeout.compareTo(currentTimeout) < 0);
+        if (!requiredChanged && !timeoutChanged) {
+            return this;
+        }
+        Map<DataRequirement<? super B>, Boolean> added = new LinkedHashMap<>(requirements);
+        if (requiredChanged) {
+            added.put(requirement, required);
+        }
+        Map<DataRequirement<? super B>, Duration> addedTimeouts = timeouts;
+        if (timeoutChanged) {
+            addedTimeouts = new LinkedHashMap<>(timeouts);
+            addedTimeouts.put(requirement, timeout);
+            addedTimeouts = Collections.unmodifiableMap(addedTimeouts);
+        }
+        return new RequirementSet<>(Collections.unmodifiableMap(added), addedTimeouts);
+    }
+
+    private static Duration checkTimeout(Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("The timeout must be positive");
+        }
+        return timeout;
+    }
+}
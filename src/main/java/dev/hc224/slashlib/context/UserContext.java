@@ -4,6 +4,7 @@ import discord4j.core.event.domain.interaction.ChatInputInteractionEvent;
 import discord4j.core.event.domain.interaction.UserInteractionEvent;
 import discord4j.core.object.entity.Member;
 import discord4j.core.object.entity.User;
+import reactor.core.publisher.Mono;
 import reactor.util.annotation.NonNull;
 import reactor.util.annotation.Nullable;
 
@@ -19,6 +20,9 @@ public class UserContext extends Context {
     private final @Nullable User targetUser;
     private final @Nullable Member targetMember;
 
+    // Holds the sources of the lazily fetched targets
+    private final @NonNull UserContextBuilder builder;
+
     public UserContext(UserContextBuilder builder) {
         super(builder);
 
@@ -26,6 +30,8 @@ public class UserContext extends Context {
 
         this.targetUser     = builder.getTargetUser();
         this.targetMember   = builder.getTargetMember();
+
+        this.builder        = builder;
     }
 
     /** @return the {@link ChatInputInteractionEvent} which corresponding to this interaction */
@@ -45,4 +51,14 @@ public class UserContext extends Context {
     public Optional<Member> getTargetMember() {
         return Optional.ofNullable(targetMember);
     }
+
+    /** @return the {@link User} this interaction was called on, fetched on first subscription if not requested */
+    public Mono<User> fetchTargetUser() {
+        return (targetUser != null) ? Mono.just(targetUser) : builder.getTargetUserSource();
+    }
+
+    /** @return the {@link Member} this interaction was called on, fetched on first subscription if not requested */
+    public Mono<Member> fetchTargetMember() {
+        return (targetMember != null) ? Mono.just(targetMember) : builder.getTargetMemberSource();
+    }
 }
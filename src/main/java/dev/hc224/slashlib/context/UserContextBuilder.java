@@ -1,11 +1,15 @@
 package dev.hc224.slashlib.context;
 
+import discord4j.common.util.Snowflake;
 import discord4j.core.event.domain.interaction.UserInteractionEvent;
 import discord4j.core.object.entity.Member;
 import discord4j.core.object.entity.User;
+import reactor.core.publisher.Mono;
 import reactor.util.annotation.NonNull;
 import reactor.util.annotation.Nullable;
 
+import java.util.Optional;
+
 /**
  * A builder class provided to user commands before the command logic is called.
  */
@@ -15,6 +19,10 @@ public class UserContextBuilder extends ContextBuilder {
     @Nullable User targetUser;
     @Nullable Member targetMember;
 
+    // The targets are fetched at most once, however many requirements or lazy accessors use them
+    private @Nullable Mono<User> targetUserSource;
+    private @Nullable Mono<Member> targetMemberSource;
+
     public UserContextBuilder(@NonNull UserInteractionEvent event) {
         super(event);
 
@@ -22,6 +30,9 @@ public class UserContextBuilder extends ContextBuilder {
 
         this.targetUser     = null;
         this.targetMember   = null;
+
+        this.targetUserSource   = null;
+        this.targetMemberSource = null;
     }
 
     @Override
@@ -38,9 +49,7 @@ public class UserContextBuilder extends ContextBuilder {
      * @return this instance
      */
     public UserContextBuilder requireTargetUser() {
-        getRequiredMonoList().add(getEvent().getTargetUser()
-            .doOnNext(this::setTargetUser)
-            .map(member -> 1));
+        addRequirement(DataRequirements.TARGET_USER, true);
         return this;
     }
 
@@ -53,16 +62,13 @@ public class UserContextBuilder extends ContextBuilder {
      * @return this instance
      */
     public UserContextBuilder requestTargetUser() {
-        getRequestMonoList().add(getEvent().getTargetUser()
-            .doOnNext(this::setTargetUser)
-            .map(member -> 1));
+        addRequirement(DataRequirements.TARGET_USER, false);
         return this;
     }
 
     /**
      * Mark that the {@link Member} the interaction is called on is required for command execution.
      * This method will collect the:
-     * guild
      * targetUser
      * targetMember
      *
@@ -70,20 +76,13 @@ public class UserContextBuilder extends ContextBuilder {
      * @return this instance
      */
     public UserContextBuilder requireTargetMember() {
-        getRequiredMonoList().add(getEvent().getTargetUser()
-            .doOnNext(this::setTargetUser)
-            .flatMap(user -> getEvent().getInteraction().getGuild()
-                .doOnNext(this::setGuild)
-                .flatMap(guild -> guild.getMemberById(user.getId()))
-                .doOnNext(this::setTargetMember))
-            .map(member -> 1));
+        addRequirement(DataRequirements.TARGET_MEMBER, true);
         return this;
     }
     
     /**
      * Mark that the {@link Member} the interaction is called on is optionally used for command execution.
      * This method will collect the:
-     * guild
      * targetUser
      * targetMember
      *
@@ -91,13 +90,7 @@ public class UserContextBuilder extends ContextBuilder {
      * @return this instance
      */
     public UserContextBuilder requestTargetMember() {
-        getRequestMonoList().add(getEvent().getTargetUser()
-            .doOnNext(this::setTargetUser)
-            .flatMap(user -> getEvent().getInteraction().getGuild()
-                .doOnNext(this::setGuild)
-                .flatMap(guild -> guild.getMemberById(user.getId()))
-                .doOnNext(this::setTargetMember))
-            .map(member -> 1));
+        addRequirement(DataRequirements.TARGET_MEMBER, false);
         return this;
     }
 
@@ -110,6 +103,48 @@ public class UserContextBuilder extends ContextBuilder {
         return event;
     }
 
+    /**
+     * Only to be called by custom context classes.
+     *
+     * @return the {@link User} this interaction was called on, from the resolved data if used and present,
+     *  fetched at most once for this builder
+     */
+    public Mono<User> getTargetUserSource() {
+        if (targetUserSource == null) {
+            targetUserSource = getResolved()
+                .flatMap(resolved -> resolved.getUser(getEvent().getTargetId()))
+                .map(Mono::just)
+                .orElseGet(() -> getEvent().getTargetUser().cache());
+        }
+        return targetUserSource;
+    }
+
+    /**
+     * Only to be called by custom context classes.
+     *
+     * @return the {@link Member} this interaction was called on, from the resolved data if used and present,
+     *  empty without a request if the resolved data is used and doesn't have the member, fetched at most once for
+     *  this builder. The guild isn't fetched.
+     */
+    public Mono<Member> getTargetMemberSource() {
+        if (targetMemberSource == null) {
+            Snowflake guildId = getEvent().getInteraction().getGuildId().orElse(null);
+            Snowflake targetId = getEvent().getTargetId();
+            Optional<Member> resolvedMember = getResolvedMember(targetId);
+            if (guildId == null) {
+                targetMemberSource = Mono.empty();
+            } else if (resolvedMember.isPresent()) {
+                targetMemberSource = Mono.just(resolvedMember.get());
+            } else if (getResolved().map(resolved -> !resolved.getMember(targetId).isPresent()).orElse(false)) {
+                // Discord resolves the member of a target user that is in the guild
+                targetMemberSource = Mono.empty();
+            } else {
+                targetMemberSource = getMemberSource(guildId, targetId).cache();
+            }
+        }
+        return targetMemberSource;
+    }
+
     /**
      * Only to be called by custom context classes.
      *
@@ -0,0 +1,11 @@
+package dev.hc224.slashlib.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("dev.hc224.slashlib.CommandDispatch")
+@Label("Command Dispatch")
+@Description("Handling an interaction, from finding the command until it was executed or rejected")
+class CommandDispatchEvent extends InteractionEvent {
+}
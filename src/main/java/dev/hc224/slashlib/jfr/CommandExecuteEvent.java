@@ -0,0 +1,11 @@
+package dev.hc224.slashlib.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("dev.hc224.slashlib.CommandExecute")
+@Label("Command Execute")
+@Description("Executing a command with its built context")
+class CommandExecuteEvent extends InteractionEvent {
+}
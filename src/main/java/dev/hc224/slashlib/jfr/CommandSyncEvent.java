@@ -0,0 +1,18 @@
+package dev.hc224.slashlib.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("dev.hc224.slashlib.CommandSync")
+@Label("Command Sync")
+@Category("SlashLib")
+@Description("Synchronizing the global commands, or the commands of a guild, with Discord")
+class CommandSyncEvent extends jdk.jfr.Event {
+    @Label("Guild ID")
+    long guildId;
+
+    @Label("Changes")
+    int changes;
+}
@@ -0,0 +1,16 @@
+package dev.hc224.slashlib.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("dev.hc224.slashlib.DataFetch")
+@Label("Data Fetch")
+@Description("Collecting a piece of data requested by a command, succeeded if it was found")
+class DataFetchEvent extends InteractionEvent {
+    @Label("Data")
+    String data;
+
+    @Label("Required")
+    boolean required;
+}
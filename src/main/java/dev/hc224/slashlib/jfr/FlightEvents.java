@@ -0,0 +1,102 @@
+package dev.hc224.slashlib.jfr;
+
+import discord4j.core.object.command.Interaction;
+import reactor.core.publisher.Mono;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Records SlashLib work as Java Flight Recorder events: command dispatch, permission checks, each piece of data
+ *  fetched by a {@link dev.hc224.slashlib.context.ContextBuilder}, command execution and command synchronization.
+ *  Events have the command name, guild ID (0 outside of guilds) and duration, and are in the "SlashLib" category.
+ *
+ * Nothing is recorded on JVMs without JFR (Java 8 before 8u262), and the work is returned unchanged unless an
+ *  event type is enabled in a running recording, so this is close to free when not profiling.
+ */
+public final class FlightEvents {
+    private static final Logger logger = Loggers.getLogger(FlightEvents.class);
+
+    // null if JFR isn't available
+    private static final JfrEventRecorder RECORDER = createRecorder();
+
+    private FlightEvents() {}
+
+    /**
+     * @return true if JFR is available and events can be recorded
+     */
+    public static boolean isAvailable() {
+        return RECORDER != null;
+    }
+
+    /**
+     * Record handling an interaction, succeeded if the command was executed.
+     *
+     * @param interaction the interaction being handled
+     * @param mono handles the interaction
+     * @return the mono, recorded if enabled
+     */
+    public static <T> Mono<T> recordDispatch(Interaction interaction, Mono<T> mono) {
+        return (RECORDER == null) ? mono : RECORDER.recordDispatch(interaction, mono);
+    }
+
+    /**
+     * Record a permission check, succeeded if the command can be used.
+     *
+     * @param interaction the interaction being handled
+     * @param mono checks the permissions, going empty if the command can't be used
+     * @return the mono, recorded if enabled
+     */
+    public static <T> Mono<T> recordPermissionCheck(Interaction interaction, Mono<T> mono) {
+        return (RECORDER == null) ? mono : RECORDER.recordPermissionCheck(interaction, mono);
+    }
+
+    /**
+     * Record fetching a piece of data requested by a command, succeeded if it was found.
+     *
+     * @param interaction the interaction being handled
+     * @param data the name of the data e.g. "guild"
+     * @param required if the command requires the data, or only requests it
+     * @param mono fetches the data, going empty if it can't be found
+     * @return the mono, recorded if enabled
+     */
+    public static <T> Mono<T> recordDataFetch(Interaction interaction, String data, boolean required, Mono<T> mono) {
+        return (RECORDER == null) ? mono : RECORDER.recordDataFetch(interaction, data, required, mono);
+    }
+
+    /**
+     * Record executing a command, succeeded if it returned a context.
+     *
+     * @param interaction the interaction being handled
+     * @param mono executes the command
+     * @return the mono, recorded if enabled
+     */
+    public static <T> Mono<T> recordExecute(Interaction interaction, Mono<T> mono) {
+        return (RECORDER == null) ? mono : RECORDER.recordExecute(interaction, mono);
+    }
+
+    /**
+     * Record synchronizing commands with Discord, which blocks.
+     *
+     * @param guildId the ID of the guild the commands are synchronized for, 0 for global commands
+     * @param sync synchronizes the commands, returning the amount of changes
+     * @return the amount of changes
+     */
+    public static int recordSync(long guildId, IntSupplier sync) {
+        return (RECORDER == null) ? sync.getAsInt() : RECORDER.recordSync(guildId, sync);
+    }
+
+    /**
+     * @return a recorder if JFR is available, null otherwise
+     */
+    private static JfrEventRecorder createRecorder() {
+        try {
+            Class.forName("jdk.jfr.Event", false, FlightEvents.class.getClassLoader());
+            return new JfrEventRecorder();
+        } catch (ClassNotFoundException | LinkageError e) {
+            logger.debug("JFR isn't available, SlashLib events won't be recorded");
+            return null;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package dev.hc224.slashlib.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+
+/**
+ * The fields shared by the events recorded while handling an interaction.
+ */
+@Category("SlashLib")
+abstract class InteractionEvent extends jdk.jfr.Event {
+    @Label("Command")
+    String commandName;
+
+    @Label("Guild ID")
+    long guildId;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
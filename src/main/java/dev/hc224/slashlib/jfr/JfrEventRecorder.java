@@ -0,0 +1,92 @@
+package dev.hc224.slashlib.jfr;
+
+import discord4j.common.util.Snowflake;
+import discord4j.core.object.command.ApplicationCommandInteraction;
+import discord4j.core.object.command.Interaction;
+import jdk.jfr.EventType;
+import reactor.core.publisher.Mono;
+
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Creates and commits the JFR events, only loaded by {@link FlightEvents} when JFR is available as this class
+ *  can't be linked otherwise.
+ */
+final class JfrEventRecorder {
+    private final EventType dispatchType;
+    private final EventType permissionCheckType;
+    private final EventType dataFetchType;
+    private final EventType executeType;
+    private final EventType syncType;
+
+    JfrEventRecorder() {
+        this.dispatchType = EventType.getEventType(CommandDispatchEvent.class);
+        this.permissionCheckType = EventType.getEventType(PermissionCheckEvent.class);
+        this.dataFetchType = EventType.getEventType(DataFetchEvent.class);
+        this.executeType = EventType.getEventType(CommandExecuteEvent.class);
+        this.syncType = EventType.getEventType(CommandSyncEvent.class);
+    }
+
+    <T> Mono<T> recordDispatch(Interaction interaction, Mono<T> mono) {
+        return record(dispatchType, CommandDispatchEvent::new, interaction, mono);
+    }
+
+    <T> Mono<T> recordPermissionCheck(Interaction interaction, Mono<T> mono) {
+        return record(permissionCheckType, PermissionCheckEvent::new, interaction, mono);
+    }
+
+    <T> Mono<T> recordDataFetch(Interaction interaction, String data, boolean required, Mono<T> mono) {
+        return record(dataFetchType, () -> {
+            DataFetchEvent event = new DataFetchEvent();
+            event.data = data;
+            event.required = required;
+            return event;
+        }, interaction, mono);
+    }
+
+    <T> Mono<T> recordExecute(Interaction interaction, Mono<T> mono) {
+        return record(executeType, CommandExecuteEvent::new, interaction, mono);
+    }
+
+    int recordSync(long guildId, IntSupplier sync) {
+        if (!syncType.isEnabled()) {
+            return sync.getAsInt();
+        }
+        CommandSyncEvent event = new CommandSyncEvent();
+        event.guildId = guildId;
+        event.begin();
+        try {
+            event.changes = sync.getAsInt();
+            return event.changes;
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Record an event from subscription until the mono completes, errors or is cancelled.
+     * The mono is returned as-is when the event type isn't enabled in any recording.
+     *
+     * @param type the type of the event
+     * @param factory creates the event
+     * @param interaction the interaction being handled
+     * @param mono the work being recorded
+     * @return the mono, recorded if the event type is enabled
+     */
+    private <T, E extends InteractionEvent> Mono<T> record(EventType type, Supplier<E> factory, Interaction interaction, Mono<T> mono) {
+        if (!type.isEnabled()) {
+            return mono;
+        }
+        return Mono.defer(() -> {
+            E event = factory.get();
+            event.commandName = interaction.getCommandInteraction().flatMap(ApplicationCommandInteraction::getName).orElse(null);
+            event.guildId = interaction.getGuildId().map(Snowflake::asLong).orElse(0L);
+            event.begin();
+            return mono
+                .doOnNext(_value -> event.succeeded = true)
+                // Only committed if it lasted longer than the threshold of the recording
+                .doFinally(_signal -> event.commit());
+        });
+    }
+}
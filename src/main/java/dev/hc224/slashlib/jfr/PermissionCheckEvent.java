@@ -0,0 +1,11 @@
+package dev.hc224.slashlib.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("dev.hc224.slashlib.PermissionCheck")
+@Label("Permission Check")
+@Description("Checking the bot and calling user have the permissions required by a command, succeeded if they do")
+class PermissionCheckEvent extends InteractionEvent {
+}
@@ -0,0 +1,85 @@
+package dev.hc224.slashlib.jmx;
+
+import dev.hc224.slashlib.CommandRegister;
+import dev.hc224.slashlib.CommandSyncResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the live {@link dev.hc224.slashlib.CommandStructure} and last sync result of a {@link CommandRegister}.
+ */
+class CommandRegistryBean implements CommandRegistryMXBean {
+    private final CommandRegister<?, ?, ?, ?, ?, ?> commandRegister;
+
+    CommandRegistryBean(CommandRegister<?, ?, ?, ?, ?, ?> commandRegister) {
+        this.commandRegister = commandRegister;
+    }
+
+    @Override
+    public List<String> getGlobalChatCommands() {
+        return names(commandRegister.getCommandStructure().getGlobalChatCommands());
+    }
+
+    @Override
+    public List<String> getGlobalUserCommands() {
+        return names(commandRegister.getCommandStructure().getGlobalUserCommands());
+    }
+
+    @Override
+    public List<String> getGlobalMessageCommands() {
+        return names(commandRegister.getCommandStructure().getGlobalMessageCommands());
+    }
+
+    @Override
+    public List<String> getGuildChatCommands() {
+        return names(commandRegister.getCommandStructure().getGuildChatCommands());
+    }
+
+    @Override
+    public List<String> getGuildUserCommands() {
+        return names(commandRegister.getCommandStructure().getGuildUserCommands());
+    }
+
+    @Override
+    public List<String> getGuildMessageCommands() {
+        return names(commandRegister.getCommandStructure().getGuildMessageCommands());
+    }
+
+    @Override
+    public String getLastSyncScope() {
+        return commandRegister.getLastSyncResult().map(result -> result.isGlobal() ? "global" : "guild").orElse(null);
+    }
+
+    @Override
+    public String getLastSyncTime() {
+        return commandRegister.getLastSyncResult().map(result -> result.getStartedAt().toString()).orElse(null);
+    }
+
+    @Override
+    public long getLastSyncDurationMillis() {
+        return commandRegister.getLastSyncResult().map(result -> result.getDuration().toMillis()).orElse(-1L);
+    }
+
+    @Override
+    public int getLastSyncChanges() {
+        return commandRegister.getLastSyncResult().map(CommandSyncResult::getChanges).orElse(-1);
+    }
+
+    @Override
+    public String getLastSyncError() {
+        return commandRegister.getLastSyncResult().flatMap(CommandSyncResult::getError).orElse(null);
+    }
+
+    /**
+     * @param commands commands by name
+     * @return the sorted names of the commands
+     */
+    private static List<String> names(Map<String, ?> commands) {
+        List<String> names = new ArrayList<>(commands.keySet());
+        Collections.sort(names);
+        return names;
+    }
+}
@@ -0,0 +1,42 @@
+package dev.hc224.slashlib.jmx;
+
+import java.util.List;
+
+/**
+ * The registered commands and the last synchronization with Discord, registered as
+ *  "dev.hc224.slashlib:type=CommandRegistry".
+ */
+public interface CommandRegistryMXBean {
+    List<String> getGlobalChatCommands();
+    List<String> getGlobalUserCommands();
+    List<String> getGlobalMessageCommands();
+    List<String> getGuildChatCommands();
+    List<String> getGuildUserCommands();
+    List<String> getGuildMessageCommands();
+
+    /**
+     * @return "global" or "guild", null if commands were never synchronized
+     */
+    String getLastSyncScope();
+
+    /**
+     * @return when the last synchronization started as an ISO-8601 instant, null if commands were never synchronized
+     */
+    String getLastSyncTime();
+
+    /**
+     * @return how long the last synchronization took in milliseconds, -1 if commands were never synchronized
+     */
+    long getLastSyncDurationMillis();
+
+    /**
+     * @return the amount of commands (global) or guilds (guild) changed by the last synchronization, -1 if it failed
+     *  or commands were never synchronized
+     */
+    int getLastSyncChanges();
+
+    /**
+     * @return the message of the exception the last synchronization failed with, null if it succeeded
+     */
+    String getLastSyncError();
+}
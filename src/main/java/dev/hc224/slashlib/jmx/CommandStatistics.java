@@ -0,0 +1,83 @@
+package dev.hc224.slashlib.jmx;
+
+import dev.hc224.slashlib.CommandRegister;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registers MBeans in the platform MBean server under the "dev.hc224.slashlib" domain, so a live bot can be
+ *  inspected with standard JVM tooling such as JConsole or VisualVM.
+ *
+ * The registry MBean is registered when SlashLib is built, the MBean of a command is registered when it's first invoked.
+ * Enabled with {@link dev.hc224.slashlib.GenericSlashLibBuilder#setJmxEnabled(boolean)}.
+ */
+public class CommandStatistics {
+    private static final Logger logger = Loggers.getLogger(CommandStatistics.class);
+    public static final String DOMAIN = "dev.hc224.slashlib";
+
+    private final MBeanServer server;
+    private final ConcurrentHashMap<String, CommandStats> commands;
+
+    public CommandStatistics() {
+        this.server = ManagementFactory.getPlatformMBeanServer();
+        this.commands = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Register the MBean exposing the commands and last sync result of a {@link CommandRegister}.
+     *
+     * @param commandRegister the command register in use
+     */
+    public void registerCommandRegister(CommandRegister<?, ?, ?, ?, ?, ?> commandRegister) {
+        register(DOMAIN + ":type=CommandRegistry", new CommandRegistryBean(commandRegister));
+    }
+
+    /**
+     * @param commandPath the full path of a command
+     * @return the statistics of the command, created and registered if missing
+     */
+    public CommandStats getCommandStats(String commandPath) {
+        CommandStats stats = commands.get(commandPath);
+        if (stats != null) {
+            return stats;
+        }
+        return commands.computeIfAbsent(commandPath, path -> {
+            CommandStats created = new CommandStats(path);
+            register(DOMAIN + ":type=Command,name=" + ObjectName.quote(path), created);
+            return created;
+        });
+    }
+
+    /**
+     * @return the statistics of every invoked command by path
+     */
+    public Map<String, CommandStats> getAllCommandStats() {
+        return Collections.unmodifiableMap(commands);
+    }
+
+    /**
+     * Register an MBean, replacing one registered with the same name, logging any failure.
+     *
+     * @param name the object name of the MBean
+     * @param bean the MBean
+     */
+    private void register(String name, Object bean) {
+        try {
+            ObjectName objectName = new ObjectName(name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(bean, objectName);
+        } catch (JMException e) {
+            logger.warn("Couldn't register MBean " + name + ": " + e.getMessage());
+        }
+    }
+}
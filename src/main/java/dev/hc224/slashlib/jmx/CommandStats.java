@@ -0,0 +1,97 @@
+package dev.hc224.slashlib.jmx;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters of a single command, updated by the event receiver for every invocation.
+ */
+public class CommandStats implements CommandStatsMXBean {
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final String commandPath;
+    private final LongAdder invocations;
+    private final AtomicLong inFlight;
+    private final LongAdder errors;
+    // Only counts finished invocations, used for the mean
+    private final LongAdder finished;
+    private final LongAdder totalNanos;
+    private final AtomicLong maxNanos;
+
+    CommandStats(String commandPath) {
+        this.commandPath = commandPath;
+        this.invocations = new LongAdder();
+        this.inFlight = new AtomicLong();
+        this.errors = new LongAdder();
+        this.finished = new LongAdder();
+        this.totalNanos = new LongAdder();
+        this.maxNanos = new AtomicLong();
+    }
+
+    /**
+     * Count an invocation of the command which started.
+     */
+    public void invocationStarted() {
+        invocations.increment();
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Count an invocation of the command which finished.
+     *
+     * @param nanos the nanoseconds from the invocation starting until it finished
+     * @param error if the invocation ended with an error
+     */
+    public void invocationFinished(long nanos, boolean error) {
+        inFlight.decrementAndGet();
+        if (error) {
+            errors.increment();
+        }
+        finished.increment();
+        totalNanos.add(nanos);
+        long current;
+        while (nanos > (current = maxNanos.get()) && !maxNanos.compareAndSet(current, nanos)) {
+            // Retry, another invocation finished
+        }
+    }
+
+    @Override
+    public String getCommandPath() {
+        return commandPath;
+    }
+
+    @Override
+    public long getInvocationCount() {
+        return invocations.sum();
+    }
+
+    @Override
+    public long getInFlightCount() {
+        return inFlight.get();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getMeanLatencyMillis() {
+        long count = finished.sum();
+        return (count == 0) ? 0 : totalNanos.sum() / NANOS_PER_MILLI / count;
+    }
+
+    @Override
+    public double getMaxLatencyMillis() {
+        return maxNanos.get() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public void reset() {
+        invocations.reset();
+        errors.reset();
+        finished.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+    }
+}
@@ -0,0 +1,42 @@
+package dev.hc224.slashlib.jmx;
+
+/**
+ * The statistics of a single command, registered as "dev.hc224.slashlib:type=Command,name=&lt;command path&gt;".
+ * An invocation is counted once an interaction passes the permission and rate limit checks of the command.
+ */
+public interface CommandStatsMXBean {
+    /**
+     * @return the full path of the command e.g. "command group_command sub_command"
+     */
+    String getCommandPath();
+
+    /**
+     * @return the amount of times the command was invoked
+     */
+    long getInvocationCount();
+
+    /**
+     * @return the amount of invocations currently collecting data or executing
+     */
+    long getInFlightCount();
+
+    /**
+     * @return the amount of invocations which ended with an error, including missing data
+     */
+    long getErrorCount();
+
+    /**
+     * @return the mean time in milliseconds from the command being invoked until it finished
+     */
+    double getMeanLatencyMillis();
+
+    /**
+     * @return the largest time in milliseconds from the command being invoked until it finished
+     */
+    double getMaxLatencyMillis();
+
+    /**
+     * Reset the counters and latencies, the in-flight count isn't reset.
+     */
+    void reset();
+}
@@ -0,0 +1,87 @@
+package dev.hc224.slashlib.metrics;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps a {@link LatencyHistogram} for each phase and a counter for each outcome of every command in memory,
+ *  to be read by the bot e.g. for an owner only statistics command.
+ */
+public class HistogramInteractionMetrics implements InteractionMetrics {
+    private static final InteractionPhase[] PHASES = InteractionPhase.values();
+    private static final InteractionOutcome[] OUTCOMES = InteractionOutcome.values();
+
+    private final ConcurrentHashMap<String, CommandMetrics> commands;
+
+    public HistogramInteractionMetrics() {
+        this.commands = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void recordPhase(String commandPath, InteractionPhase phase, long nanos) {
+        getCommandMetrics(commandPath).phases[phase.ordinal()].record(nanos);
+    }
+
+    @Override
+    public void recordOutcome(String commandPath, InteractionOutcome outcome) {
+        getCommandMetrics(commandPath).outcomes[outcome.ordinal()].increment();
+    }
+
+    /**
+     * @return the paths of every command with something recorded
+     */
+    public Set<String> getCommandPaths() {
+        return Collections.unmodifiableSet(commands.keySet());
+    }
+
+    /**
+     * @param commandPath the full path of a command
+     * @param phase a phase of handling an interaction
+     * @return the latencies of the phase for the command, empty if nothing was recorded for the command
+     */
+    public Optional<LatencyHistogram> getHistogram(String commandPath, InteractionPhase phase) {
+        return Optional.ofNullable(commands.get(commandPath)).map(metrics -> metrics.phases[phase.ordinal()]);
+    }
+
+    /**
+     * @param commandPath the full path of a command
+     * @param outcome an outcome of handling an interaction
+     * @return the amount of interactions for the command which ended with the outcome
+     */
+    public long getOutcomeCount(String commandPath, InteractionOutcome outcome) {
+        CommandMetrics metrics = commands.get(commandPath);
+        return (metrics == null) ? 0 : metrics.outcomes[outcome.ordinal()].sum();
+    }
+
+    /**
+     * @param commandPath the full path of a command
+     * @return the metrics of the command, created if missing
+     */
+    private CommandMetrics getCommandMetrics(String commandPath) {
+        // Checked first as computeIfAbsent can lock on Java 8 even when present
+        CommandMetrics metrics = commands.get(commandPath);
+        return (metrics != null) ? metrics : commands.computeIfAbsent(commandPath, path -> new CommandMetrics());
+    }
+
+    /**
+     * The histograms and counters of a command, indexed by ordinal.
+     */
+    private static final class CommandMetrics {
+        private final LatencyHistogram[] phases;
+        private final LongAdder[] outcomes;
+
+        private CommandMetrics() {
+            this.phases = new LatencyHistogram[PHASES.length];
+            for (int i = 0; i < PHASES.length; i++) {
+                this.phases[i] = new LatencyHistogram();
+            }
+            this.outcomes = new LongAdder[OUTCOMES.length];
+            for (int i = 0; i < OUTCOMES.length; i++) {
+                this.outcomes[i] = new LongAdder();
+            }
+        }
+    }
+}
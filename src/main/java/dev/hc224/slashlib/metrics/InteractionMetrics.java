@@ -0,0 +1,33 @@
+package dev.hc224.slashlib.metrics;
+
+/**
+ * Receives the time taken by each phase of handling an interaction, and how the handling ended.
+ * Set with {@link dev.hc224.slashlib.GenericSlashLibBuilder#setMetrics(InteractionMetrics)}, nothing is timed by default.
+ *
+ * Commands are identified by their full path e.g. "command group_command sub_command", or their name for user and
+ *  message commands. Autocomplete interactions aren't recorded.
+ *
+ * Methods are called on the thread handling the interaction, for every interaction, so implementations must be
+ *  thread-safe and shouldn't block.
+ *
+ * @see HistogramInteractionMetrics
+ * @see MicrometerInteractionMetrics
+ */
+public interface InteractionMetrics {
+    /**
+     * Record the time taken by a phase of handling an interaction.
+     *
+     * @param commandPath the full path of the command
+     * @param phase the phase which ended
+     * @param nanos the nanoseconds the phase took
+     */
+    void recordPhase(String commandPath, InteractionPhase phase, long nanos);
+
+    /**
+     * Record how the handling of an interaction ended.
+     *
+     * @param commandPath the full path of the command
+     * @param outcome how the handling ended
+     */
+    void recordOutcome(String commandPath, InteractionOutcome outcome);
+}
@@ -0,0 +1,31 @@
+package dev.hc224.slashlib.metrics;
+
+/**
+ * How the handling of an interaction ended, counted by {@link InteractionMetrics}.
+ */
+public enum InteractionOutcome {
+    /**
+     * The command was executed.
+     */
+    EXECUTED,
+    /**
+     * No command was found for the interaction.
+     */
+    NOT_FOUND,
+    /**
+     * The bot or calling user didn't have the required permissions, or the command isn't usable in DMs.
+     */
+    PERMISSION_DENIED,
+    /**
+     * A rate limit of the command was reached.
+     */
+    RATE_LIMITED,
+    /**
+     * Data required by the command couldn't be collected.
+     */
+    DATA_MISSING,
+    /**
+     * Any other error while collecting data, building the context or executing the command.
+     */
+    ERROR
+}
@@ -0,0 +1,27 @@
+package dev.hc224.slashlib.metrics;
+
+/**
+ * The phases of handling an interaction which are timed by {@link InteractionMetrics}.
+ */
+public enum InteractionPhase {
+    /**
+     * Finding the command called by the interaction.
+     */
+    LOOKUP,
+    /**
+     * Checking the bot and calling user have the permissions required by the command.
+     */
+    PERMISSION_CHECK,
+    /**
+     * Collecting the data requested by the command.
+     */
+    COLLECT_DATA,
+    /**
+     * Building the context provided to the command from the collected data.
+     */
+    BUILD,
+    /**
+     * Executing the command.
+     */
+    EXECUTE
+}
@@ -0,0 +1,86 @@
+package dev.hc224.slashlib.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records to a Micrometer {@link MeterRegistry}, Micrometer isn't a dependency of SlashLib and must be provided by the bot.
+ *
+ * Phases are recorded to the timer "slashlib.interaction.phase" and outcomes to the counter
+ *  "slashlib.interaction.outcome", tagged with the command path and the phase or outcome. Timers publish a
+ *  percentile histogram so percentiles can be aggregated by the monitoring system.
+ */
+public class MicrometerInteractionMetrics implements InteractionMetrics {
+    private static final InteractionPhase[] PHASES = InteractionPhase.values();
+    private static final InteractionOutcome[] OUTCOMES = InteractionOutcome.values();
+
+    private final MeterRegistry registry;
+    // The meters of each command, looked up from the registry once as building the ID for each record isn't free
+    private final ConcurrentHashMap<String, Timer[]> timers;
+    private final ConcurrentHashMap<String, Counter[]> counters;
+
+    /**
+     * @param registry the registry to create meters in
+     */
+    public MicrometerInteractionMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.timers = new ConcurrentHashMap<>();
+        this.counters = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void recordPhase(String commandPath, InteractionPhase phase, long nanos) {
+        Timer[] commandTimers = timers.get(commandPath);
+        if (commandTimers == null) {
+            commandTimers = timers.computeIfAbsent(commandPath, this::createTimers);
+        }
+        commandTimers[phase.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordOutcome(String commandPath, InteractionOutcome outcome) {
+        Counter[] commandCounters = counters.get(commandPath);
+        if (commandCounters == null) {
+            commandCounters = counters.computeIfAbsent(commandPath, this::createCounters);
+        }
+        commandCounters[outcome.ordinal()].increment();
+    }
+
+    /**
+     * @param commandPath the full path of a command
+     * @return a timer for each phase of the command, indexed by ordinal
+     */
+    private Timer[] createTimers(String commandPath) {
+        Timer[] commandTimers = new Timer[PHASES.length];
+        for (InteractionPhase phase : PHASES) {
+            commandTimers[phase.ordinal()] = Timer.builder("slashlib.interaction.phase")
+                .description("The time taken by each phase of handling an interaction")
+                .tag("command", commandPath)
+                .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                .publishPercentileHistogram()
+                .register(registry);
+        }
+        return commandTimers;
+    }
+
+    /**
+     * @param commandPath the full path of a command
+     * @return a counter for each outcome of the command, indexed by ordinal
+     */
+    private Counter[] createCounters(String commandPath) {
+        Counter[] commandCounters = new Counter[OUTCOMES.length];
+        for (InteractionOutcome outcome : OUTCOMES) {
+            commandCounters[outcome.ordinal()] = Counter.builder("slashlib.interaction.outcome")
+                .description("How the handling of interactions ended")
+                .tag("command", commandPath)
+                .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                .register(registry);
+        }
+        return commandCounters;
+    }
+}
@@ -0,0 +1,226 @@
+package dev.hc224.slashlib.utility;
+
+import reactor.util.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A size bounded map which keeps the entries most likely to be used again, used by
+ *  {@link dev.hc224.slashlib.EntityCache} and {@link dev.hc224.slashlib.PermissionCache}.
+ *
+ * Eviction follows the window TinyLFU policy: new entries are placed in a small window which is evicted in least
+ *  recently used order. An entry evicted from the window is only moved into the main area if it was used more often
+ *  than the entry the main area would evict for it, as counted by a {@link FrequencySketch}. The window lets bursts
+ *  of new entries be kept for a short time, while the frequency check stops them from pushing out popular entries.
+ *
+ * The entries are split into segments by the hash of their key, each with its own window, main area, sketch and
+ *  lock, so threads using different keys rarely wait for each other. A segment is locked for every method, including
+ *  counting the use of a key in {@link #get(Object)}.
+ *
+ * @param <K> the type of key
+ * @param <V> the type of value stored
+ */
+public class BoundedCache<K, V> {
+    // Segments smaller than this have too small a window and sketch to tell popular keys apart
+    private static final int MINIMUM_SEGMENT_SIZE = 64;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+
+    /**
+     * @param maximumSize the maximum amount of entries to keep
+     */
+    @SuppressWarnings("unchecked") // Generic arrays can't be created
+    public BoundedCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("The maximum size must be at least 1");
+        }
+        int segmentCount = segmentCount(maximumSize);
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // Spread the remainder so the segments add up to the maximum size
+            segments[i] = new Segment<>(maximumSize / segmentCount + ((i < maximumSize % segmentCount) ? 1 : 0));
+        }
+        this.segmentMask = segmentCount - 1;
+    }
+
+    /**
+     * Get the value of a key, counting it as a use of the key even if it isn't stored.
+     *
+     * @param key the key of the value
+     * @return the value, null if it isn't stored
+     */
+    @Nullable
+    public V get(K key) {
+        return segmentFor(key).get(key);
+    }
+
+    /**
+     * Store a value, which may be evicted right away if the key is rarely used.
+     *
+     * @param key the key of the value
+     * @param value the value to store
+     */
+    public void put(K key, V value) {
+        segmentFor(key).put(key, value);
+    }
+
+    /**
+     * Remove the value of a key.
+     *
+     * @param key the key of the value
+     * @return the removed value, null if it wasn't stored
+     */
+    @Nullable
+    public V remove(K key) {
+        return segmentFor(key).remove(key);
+    }
+
+    /**
+     * Remove the value of a key if it's the given value.
+     *
+     * @param key the key of the value
+     * @param value the value expected to be stored
+     * @return true if the value was removed
+     */
+    public boolean remove(K key, V value) {
+        return segmentFor(key).remove(key, value);
+    }
+
+    /**
+     * Remove every value with a key matching a filter, each segment is locked in turn.
+     *
+     * @param filter returns true for keys to remove
+     */
+    public void removeIf(Predicate<? super K> filter) {
+        for (Segment<K, V> segment : segments) {
+            segment.removeIf(filter);
+        }
+    }
+
+    /**
+     * Remove every value, each segment is locked in turn.
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * @return the amount of values stored
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * @param maximumSize the maximum amount of entries to keep
+     * @return the amount of segments to use, a power of two
+     */
+    private static int segmentCount(int maximumSize) {
+        int wanted = Runtime.getRuntime().availableProcessors() * 4;
+        int count = 1;
+        while (count < wanted && (long) (count << 1) * MINIMUM_SEGMENT_SIZE <= maximumSize) {
+            count <<= 1;
+        }
+        return count;
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int hash = key.hashCode() * 0x9E3779B9;
+        return segments[(hash ^ (hash >>> 16)) & segmentMask];
+    }
+
+    /**
+     * A part of the cache with its own window TinyLFU policy, all methods synchronize on the segment.
+     */
+    private static final class Segment<K, V> {
+        private final int windowSize;
+        private final int mainSize;
+        // Both areas in least recently used order
+        private final LinkedHashMap<K, V> window;
+        private final LinkedHashMap<K, V> main;
+        private final FrequencySketch sketch;
+
+        /**
+         * @param maximumSize the maximum amount of entries to keep in this segment
+         */
+        private Segment(int maximumSize) {
+            // One percent of the entries are in the window, as used by Caffeine
+            this.windowSize = Math.max(1, maximumSize / 100);
+            this.mainSize = Math.max(0, maximumSize - windowSize);
+            this.window = new LinkedHashMap<>(16, 0.75f, true);
+            this.main = new LinkedHashMap<>(16, 0.75f, true);
+            this.sketch = new FrequencySketch(maximumSize);
+        }
+
+        private synchronized V get(K key) {
+            sketch.increment(key);
+            V value = window.get(key);
+            return (value != null) ? value : main.get(key);
+        }
+
+        private synchronized void put(K key, V value) {
+            if (window.containsKey(key)) {
+                window.put(key, value);
+                return;
+            }
+            if (main.containsKey(key)) {
+                main.put(key, value);
+                return;
+            }
+            window.put(key, value);
+            if (window.size() <= windowSize) {
+                return;
+            }
+
+            Iterator<Map.Entry<K, V>> windowIterator = window.entrySet().iterator();
+            Map.Entry<K, V> candidate = windowIterator.next();
+            windowIterator.remove();
+            if (main.size() < mainSize) {
+                main.put(candidate.getKey(), candidate.getValue());
+                return;
+            }
+            if (mainSize == 0) {
+                return;
+            }
+            Iterator<Map.Entry<K, V>> mainIterator = main.entrySet().iterator();
+            Map.Entry<K, V> victim = mainIterator.next();
+            if (sketch.frequency(candidate.getKey()) > sketch.frequency(victim.getKey())) {
+                mainIterator.remove();
+                main.put(candidate.getKey(), candidate.getValue());
+            }
+        }
+
+        private synchronized V remove(K key) {
+            V value = window.remove(key);
+            return (value != null) ? value : main.remove(key);
+        }
+
+        private synchronized boolean remove(K key, V value) {
+            return window.remove(key, value) || main.remove(key, value);
+        }
+
+        private synchronized void removeIf(Predicate<? super K> filter) {
+            window.keySet().removeIf(filter);
+            main.keySet().removeIf(filter);
+        }
+
+        private synchronized void clear() {
+            window.clear();
+            main.clear();
+        }
+
+        private synchronized int size() {
+            return window.size() + main.size();
+        }
+    }
+}
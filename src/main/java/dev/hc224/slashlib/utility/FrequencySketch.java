@@ -0,0 +1,89 @@
+package dev.hc224.slashlib.utility;
+
+/**
+ * An approximate count of how often keys were used, for the admission policy of {@link BoundedCache}.
+ *
+ * A count-min sketch of four rows of 4-bit counters, the frequency of a key is the lowest of its counters. Once
+ *  enough keys were counted every counter is halved, so keys which were popular a long time ago are forgotten.
+ *
+ * This class is not thread-safe.
+ */
+final class FrequencySketch {
+    private static final int[] SEEDS = { 0x97cb3127, 0xb492b66f, 0x9ae16a3b, 0xcc9e2d51 };
+    private static final int MAXIMUM_COUNT = 15;
+
+    private final byte[][] rows;
+    private final int mask;
+    // The amount of counted keys after which every counter is halved
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * @param maximumSize the amount of entries in the cache using this sketch
+     */
+    FrequencySketch(int maximumSize) {
+        int width = Integer.highestOneBit(Math.max(16, maximumSize - 1) << 1);
+        this.rows = new byte[SEEDS.length][width];
+        this.mask = width - 1;
+        this.sampleSize = Math.max(10, 10 * maximumSize);
+        this.additions = 0;
+    }
+
+    /**
+     * Count a use of a key.
+     *
+     * @param key the key used
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < rows.length; i++) {
+            int index = index(hash, i);
+            if (rows[i][index] < MAXIMUM_COUNT) {
+                rows[i][index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * @param key a key
+     * @return the approximate amount of uses of the key, at most 15
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAXIMUM_COUNT;
+        for (int i = 0; i < rows.length; i++) {
+            frequency = Math.min(frequency, rows[i][index(hash, i)]);
+        }
+        return frequency;
+    }
+
+    /**
+     * Halve every counter.
+     */
+    private void reset() {
+        for (byte[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = (byte) (row[i] >>> 1);
+            }
+        }
+        additions /= 2;
+    }
+
+    private int index(int hash, int row) {
+        int index = hash * SEEDS[row];
+        index ^= index >>> 16;
+        return index & mask;
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 17;
+        hash *= 0xed5ad4bb;
+        hash ^= hash >>> 11;
+        return hash;
+    }
+}
@@ -0,0 +1,397 @@
+package dev.hc224.slashlib.utility;
+
+import discord4j.common.util.Snowflake;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map from {@link Snowflake} IDs to values, used by {@link dev.hc224.slashlib.CommandStructure} to find commands
+ *  by the ID received in an interaction.
+ *
+ * IDs are stored as primitive longs in an open-addressing table with linear probing, so lookups do not allocate
+ *  or box the key. Snowflakes are never 0, which is used to mark an empty slot.
+ *
+ * This class is not thread-safe, use {@link #readOnlyView()} or {@link #asMap()} to share a map which is no longer
+ *  changed.
+ *
+ * @param <V> the type of value stored
+ */
+public class SnowflakeMap<V> implements SnowflakeMapView<V> {
+    private static final long EMPTY = 0L;
+    private static final int MINIMUM_CAPACITY = 8;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * Create an empty map.
+     */
+    public SnowflakeMap() {
+        this(MINIMUM_CAPACITY / 2);
+    }
+
+    /**
+     * Create an empty map that can hold the expected amount of entries without resizing.
+     *
+     * @param expectedSize the amount of entries expected to be added
+     */
+    public SnowflakeMap(int expectedSize) {
+        int capacity = MINIMUM_CAPACITY;
+        // Keep the load factor at or below 0.5, probe sequences stay short
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.size = 0;
+    }
+
+    /**
+     * Create a copy of another map.
+     *
+     * @param other the map to copy
+     */
+    public SnowflakeMap(SnowflakeMap<? extends V> other) {
+        this.keys = Arrays.copyOf(other.keys, other.keys.length);
+        this.values = Arrays.copyOf(other.values, other.values.length);
+        this.mask = other.mask;
+        this.size = other.size;
+    }
+
+    /**
+     * @param id the ID to get the value of
+     * @return the value mapped to the ID, null if missing
+     */
+    @Override
+    public V get(Snowflake id) {
+        return get(id.asLong());
+    }
+
+    /**
+     * @param id the ID to get the value of
+     * @return the value mapped to the ID, null if missing
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(long id) {
+        int index = indexOf(id);
+        return (index < 0) ? null : (V) values[index];
+    }
+
+    /**
+     * @param id the ID to check for
+     * @return true if a value is mapped to the ID
+     */
+    @Override
+    public boolean containsKey(long id) {
+        return indexOf(id) >= 0;
+    }
+
+    /**
+     * Map a value to an ID, replacing the existing value if present.
+     *
+     * @param id the ID to map the value to
+     * @param value the value to map, not null
+     * @return the previous value mapped to the ID, null if there was none
+     */
+    public V put(Snowflake id, V value) {
+        return put(id.asLong(), value);
+    }
+
+    /**
+     * Map a value to an ID, replacing the existing value if present.
+     *
+     * @param id the ID to map the value to
+     * @param value the value to map, not null
+     * @return the previous value mapped to the ID, null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long id, V value) {
+        if (id == EMPTY) {
+            throw new IllegalArgumentException("A Snowflake ID cannot be 0");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("Values cannot be null");
+        }
+        int index = slot(id);
+        long key;
+        while ((key = keys[index]) != EMPTY) {
+            if (key == id) {
+                V previous = (V) values[index];
+                values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = id;
+        values[index] = value;
+        if (++size * 2 > keys.length) {
+            resize(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Remove the value mapped to an ID.
+     *
+     * @param id the ID to remove
+     * @return the value which was mapped to the ID, null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long id) {
+        int gap = indexOf(id);
+        if (gap < 0) {
+            return null;
+        }
+        V previous = (V) values[gap];
+        // Shift later entries of the probe sequence back into the gap so lookups never stop early
+        int next = (gap + 1) & mask;
+        long key;
+        while ((key = keys[next]) != EMPTY) {
+            // The entry can fill the gap if the gap is between its ideal slot and where it is now
+            if (((next - slot(key)) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = key;
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        values[gap] = null;
+        size--;
+        return previous;
+    }
+
+    /**
+     * Call a consumer for every entry in this map, in no particular order.
+     *
+     * @param consumer the consumer to call with each ID and value
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(EntryConsumer<? super V> consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * @return the amount of entries in this map
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if this map has no entries
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return a view of this map which can't be used to change it, changes to this map are visible through the view
+     */
+    public SnowflakeMapView<V> readOnlyView() {
+        return new ReadOnlyView<>(this);
+    }
+
+    /**
+     * @return an unmodifiable {@link Map} view of this map, changes to this map are visible through the view.
+     *  Lookups with a {@link Snowflake} don't allocate, iterating creates a Snowflake and entry for each entry.
+     */
+    public Map<Snowflake, V> asMap() {
+        return new MapView<>(this);
+    }
+
+    /**
+     * @param id an ID
+     * @return the index the ID is stored at, -1 if missing
+     */
+    private int indexOf(long id) {
+        int index = slot(id);
+        long key;
+        while ((key = keys[index]) != EMPTY) {
+            if (key == id) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Spread the bits of an ID so sequential Snowflakes don't cluster in the table.
+     *
+     * @param id an ID
+     * @return the first slot to probe for the ID
+     */
+    private int slot(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * @param capacity the new capacity of the table, a power of two
+     */
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int index = slot(oldKeys[i]);
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * A consumer of a primitive ID and its value, used to iterate without boxing the ID.
+     *
+     * @param <V> the type of value stored
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long id, V value);
+    }
+
+    /**
+     * Delegates the read methods to a map, so the map can't be reached and changed through it.
+     *
+     * @param <V> the type of value stored
+     */
+    private static final class ReadOnlyView<V> implements SnowflakeMapView<V> {
+        private final SnowflakeMap<V> map;
+
+        private ReadOnlyView(SnowflakeMap<V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public V get(Snowflake id) { return map.get(id); }
+        @Override
+        public V get(long id) { return map.get(id); }
+        @Override
+        public boolean containsKey(long id) { return map.containsKey(id); }
+        @Override
+        public void forEach(EntryConsumer<? super V> consumer) { map.forEach(consumer); }
+        @Override
+        public int size() { return map.size(); }
+        @Override
+        public boolean isEmpty() { return map.isEmpty(); }
+    }
+
+    /**
+     * Adapts a map to the {@link Map} interface, every method changing the map throws an
+     *  {@link UnsupportedOperationException}.
+     *
+     * @param <V> the type of value stored
+     */
+    private static final class MapView<V> extends AbstractMap<Snowflake, V> {
+        private final SnowflakeMap<V> map;
+
+        private MapView(SnowflakeMap<V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public V get(Object key) {
+            return (key instanceof Snowflake) ? map.get((Snowflake) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return (key instanceof Snowflake) && map.containsKey(((Snowflake) key).asLong());
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return map.isEmpty();
+        }
+
+        @Override
+        public Set<Entry<Snowflake, V>> entrySet() {
+            return new AbstractSet<Entry<Snowflake, V>>() {
+                @Override
+                public Iterator<Entry<Snowflake, V>> iterator() {
+                    return new EntryIterator<>(map);
+                }
+
+                @Override
+                public int size() {
+                    return map.size();
+                }
+            };
+        }
+    }
+
+    /**
+     * Iterates the entries of a map in table order.
+     *
+     * @param <V> the type of value stored
+     */
+    private static final class EntryIterator<V> implements Iterator<Map.Entry<Snowflake, V>> {
+        private final SnowflakeMap<V> map;
+        // The index of the next entry in the table, the length of the table once there are no more
+        private int index;
+
+        private EntryIterator(SnowflakeMap<V> map) {
+            this.map = map;
+            this.index = advance(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < map.keys.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Map.Entry<Snowflake, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<Snowflake, V> entry = new AbstractMap.SimpleImmutableEntry<>(
+                Snowflake.of(map.keys[index]), (V) map.values[index]);
+            index = advance(index + 1);
+            return entry;
+        }
+
+        /**
+         * @param from the index to start searching at
+         * @return the index of the first entry at or after the index, the length of the table if there is none
+         */
+        private int advance(int from) {
+            long[] keys = map.keys;
+            while (from < keys.length && keys[from] == EMPTY) {
+                from++;
+            }
+            return from;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package dev.hc224.slashlib.utility;
+
+import discord4j.common.util.Snowflake;
+
+/**
+ * The read methods of a {@link SnowflakeMap}, used to expose a map without allowing it to be changed.
+ *
+ * @param <V> the type of value stored
+ */
+public interface SnowflakeMapView<V> {
+    /**
+     * @param id the ID to get the value of
+     * @return the value mapped to the ID, null if missing
+     */
+    V get(Snowflake id);
+
+    /**
+     * @param id the ID to get the value of
+     * @return the value mapped to the ID, null if missing
+     */
+    V get(long id);
+
+    /**
+     * @param id the ID to check for
+     * @return true if a value is mapped to the ID
+     */
+    boolean containsKey(long id);
+
+    /**
+     * Call a consumer for every entry in the map, in no particular order.
+     *
+     * @param consumer the consumer to call with each ID and value
+     */
+    void forEach(SnowflakeMap.EntryConsumer<? super V> consumer);
+
+    /**
+     * @return the amount of entries in the map
+     */
+    int size();
+
+    /**
+     * @return true if the map has no entries
+     */
+    boolean isEmpty();
+}
@@ -0,0 +1,195 @@
+package dev.hc224.slashlib.utility;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free store of token buckets keyed by a {@link discord4j.common.util.Snowflake} ID, used by
+ *  {@link dev.hc224.slashlib.commands.RateLimit} to limit how often a command can be used.
+ *
+ * Each bucket is a single theoretical arrival time (the generic cell rate algorithm), which is the time the bucket
+ *  will be full again. Taking a token is a compare-and-set of that time, so no locks are held.
+ *
+ * Buckets are removed once full by a time wheel: a bucket is placed in the slot of the wheel for the tick it will be
+ *  full in, and the slots of passed ticks are swept when tokens are taken. Buckets which aren't full yet when swept,
+ *  such as those further away than the wheel spans, are placed in a later slot.
+ */
+public class TokenBucketStore {
+    // Marks a bucket being removed, the time can't otherwise be reached with System#nanoTime
+    private static final long REMOVED = Long.MIN_VALUE;
+    private static final int WHEEL_SIZE = 64;
+    private static final long TICK_NANOS = Duration.ofSeconds(1).toNanos();
+
+    // Nanoseconds between each token being added to a bucket
+    private final long emissionInterval;
+    // Nanoseconds the arrival time can be ahead of now and still take a token, allowing a burst up to the capacity
+    private final long tolerance;
+
+    private final ConcurrentHashMap<Long, AtomicLong> buckets;
+    private final Queue<Long>[] wheel;
+    // The last tick which was swept, only one thread sweeps each tick
+    private final AtomicLong sweptTick;
+
+    /**
+     * @param capacity the amount of tokens a full bucket has
+     * @param period the time taken for an empty bucket to be full again
+     */
+    @SuppressWarnings("unchecked") // Arrays can't be created with a generic type
+    public TokenBucketStore(int capacity, Duration period) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be at least 1");
+        }
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("The period must be positive");
+        }
+        this.emissionInterval = Math.max(1, period.toNanos() / capacity);
+        this.tolerance = this.emissionInterval * (capacity - 1);
+
+        this.buckets = new ConcurrentHashMap<>();
+        this.wheel = new Queue[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            this.wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.sweptTick = new AtomicLong(Math.floorDiv(System.nanoTime(), TICK_NANOS));
+    }
+
+    /**
+     * Take a token from a bucket.
+     *
+     * @param id the ID of the bucket
+     * @return 0 if a token was taken, otherwise the nanoseconds until a token can be taken
+     */
+    public long tryAcquire(long id) {
+        return tryAcquire(id, System.nanoTime());
+    }
+
+    /**
+     * @param id the ID of the bucket
+     * @param now the current {@link System#nanoTime()}
+     * @return 0 if a token was taken, otherwise the nanoseconds until a token can be taken
+     */
+    long tryAcquire(long id, long now) {
+        sweep(now);
+        boolean created = false;
+        while (true) {
+            AtomicLong bucket = buckets.get(id);
+            if (bucket == null) {
+                // A missing bucket is full
+                AtomicLong full = new AtomicLong(now);
+                bucket = buckets.putIfAbsent(id, full);
+                if (bucket == null) {
+                    bucket = full;
+                    created = true;
+                }
+            }
+            long arrival = bucket.get();
+            if (arrival == REMOVED) {
+                // Swept while being used, help remove it and create a new one
+                buckets.remove(id, bucket);
+                continue;
+            }
+            long start = (arrival - now > 0) ? arrival : now;
+            long wait = start - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            long next = start + emissionInterval;
+            if (bucket.compareAndSet(arrival, next)) {
+                if (created) {
+                    schedule(id, next, now);
+                }
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Put back a token taken from a bucket, such as when a use was rejected by another limit after the token was taken.
+     *
+     * @param id the ID of the bucket
+     */
+    public void release(long id) {
+        AtomicLong bucket = buckets.get(id);
+        if (bucket == null) {
+            return;
+        }
+        while (true) {
+            long arrival = bucket.get();
+            // A removed bucket was already full, so there is nothing to put back
+            if (arrival == REMOVED || bucket.compareAndSet(arrival, arrival - emissionInterval)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the amount of buckets which aren't full, or are full but haven't been swept yet
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Place a bucket in the slot of the wheel for the tick it will be full in.
+     *
+     * @param id the ID of the bucket
+     * @param arrival the time the bucket will be full
+     * @param now the current {@link System#nanoTime()}
+     */
+    private void schedule(long id, long arrival, long now) {
+        long ticks = Math.floorDiv(arrival - now, TICK_NANOS) + 1;
+        // The current slot is being or was already swept, the last slot is as far as the wheel reaches
+        ticks = Math.max(1, Math.min(ticks, WHEEL_SIZE - 1));
+        wheel[(int) Math.floorMod(Math.floorDiv(now, TICK_NANOS) + ticks, (long) WHEEL_SIZE)].add(id);
+    }
+
+    /**
+     * Sweep the slots of every tick passed since the last sweep, removing buckets which are full.
+     *
+     * @param now the current {@link System#nanoTime()}
+     */
+    private void sweep(long now) {
+        long tick = Math.floorDiv(now, TICK_NANOS);
+        long last = sweptTick.get();
+        if (tick <= last || !sweptTick.compareAndSet(last, tick)) {
+            return;
+        }
+        long ticks = Math.min(tick - last, WHEEL_SIZE);
+        List<Long> due = new ArrayList<>();
+        for (long swept = tick - ticks + 1; swept <= tick; swept++) {
+            // Drained before any bucket is placed in a later slot, as the furthest slot from now can be this one
+            Queue<Long> slot = wheel[(int) Math.floorMod(swept, (long) WHEEL_SIZE)];
+            due.clear();
+            Long polled;
+            while ((polled = slot.poll()) != null) {
+                due.add(polled);
+            }
+            for (long id : due) {
+                AtomicLong bucket = buckets.get(id);
+                if (bucket == null) {
+                    continue;
+                }
+                while (true) {
+                    long arrival = bucket.get();
+                    if (arrival == REMOVED) {
+                        break;
+                    }
+                    if (arrival - now > 0) {
+                        schedule(id, arrival, now);
+                        break;
+                    }
+                    // Fails if a token was taken since read, in which case the new arrival time is checked
+                    if (bucket.compareAndSet(arrival, REMOVED)) {
+                        buckets.remove(id, bucket);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package dev.hc224.slashlib;
+
+import dev.hc224.slashlib.commands.standard.UserCommand;
+import dev.hc224.slashlib.context.ContextBuilder;
+import dev.hc224.slashlib.context.UserContext;
+import dev.hc224.slashlib.context.UserContextBuilder;
+import discord4j.common.util.Snowflake;
+import discord4j.core.GatewayDiscordClient;
+import discord4j.core.event.domain.interaction.UserInteractionEvent;
+import discord4j.core.object.command.Interaction;
+import discord4j.core.object.entity.Guild;
+import discord4j.core.object.entity.Member;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GenericEventReceiverImplTest {
+    private static final String COMMAND_NAME = "test";
+    private static final Snowflake COMMAND_ID = Snowflake.of(1);
+    private static final Snowflake GUILD_ID = Snowflake.of(2);
+    private static final Snowflake BOT_ID = Snowflake.of(3);
+
+    private GatewayDiscordClient client;
+    private Member botMember;
+    // Counts subscriptions to the bot member fetch, each of which would be a request to Discord
+    private AtomicInteger botMemberFetches;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(GatewayDiscordClient.class);
+        botMember = mock(Member.class);
+        botMemberFetches = new AtomicInteger();
+
+        when(client.getSelfId()).thenReturn(BOT_ID);
+        when(client.getMemberById(GUILD_ID, BOT_ID)).thenReturn(Mono.defer(() -> {
+            botMemberFetches.incrementAndGet();
+            return Mono.just(botMember);
+        }));
+    }
+
+    @Test
+    void botMemberIsCachedBetweenInteractions() {
+        SlashLib slashLib = build(SlashLibBuilder.create()
+            .addGuildUserCommand(new TestCommand(UserContextBuilder::requireBotMember))
+            .setBotMemberCache(new BotMemberCache(Duration.ofMinutes(5))));
+
+        UserContext first = slashLib.getReceiver().receiveUserInteractionEvent(createEvent()).block();
+        UserContext second = slashLib.getReceiver().receiveUserInteractionEvent(createEvent()).block();
+
+        assertEquals(1, botMemberFetches.get());
+        assertSame(botMember, first.getBotMember().orElse(null));
+        assertSame(botMember, second.getBotMember().orElse(null));
+    }
+
+    @Test
+    void slowRequestedDataIsAbandonedByDefaultDeadline() {
+        when(client.getMemberById(GUILD_ID, BOT_ID)).thenReturn(Mono.never());
+        SlashLib slashLib = build(SlashLibBuilder.create()
+            .addGuildUserCommand(new TestCommand(UserContextBuilder::requestBotMember))
+            .setRequestedDataTimeout(Duration.ofMillis(100)));
+
+        UserContext context = assertTimeoutPreemptively(Duration.ofSeconds(5),
+            () -> slashLib.getReceiver().receiveUserInteractionEvent(createEvent()).block());
+
+        assertFalse(context.doesAllRequestedDataExist());
+        assertFalse(context.getBotMember().isPresent());
+    }
+
+    @Test
+    void botMemberSetsGuildOnlyWhenCached() {
+        EntityCache entityCache = new EntityCache(10, Duration.ofMinutes(5));
+        SlashLib slashLib = build(SlashLibBuilder.create()
+            .addGuildUserCommand(new TestCommand(UserContextBuilder::requireBotMember))
+            .setEntityCache(entityCache));
+
+        UserContext uncached = slashLib.getReceiver().receiveUserInteractionEvent(createEvent()).block();
+        assertFalse(uncached.getGuild().isPresent());
+
+        Guild guild = mock(Guild.class);
+        entityCache.getGuild(GUILD_ID, Mono.just(guild)).block();
+        UserContext cached = slashLib.getReceiver().receiveUserInteractionEvent(createEvent()).block();
+        assertSame(guild, cached.getGuild().orElse(null));
+        assertTrue(cached.getBotMember().isPresent());
+    }
+
+    /**
+     * @param builder the configured builder
+     * @return a new instance, even if one was already created by another test
+     */
+    private static SlashLib build(GenericSlashLibBuilder<?, ?, ?, ?, ?, ?> builder) {
+        GenericSlashLib.created = false;
+        return ((SlashLibBuilder) builder).build();
+    }
+
+    /**
+     * @return an interaction with the test command in the test guild
+     */
+    private UserInteractionEvent createEvent() {
+        UserInteractionEvent event = mock(UserInteractionEvent.class);
+        Interaction interaction = mock(Interaction.class);
+        when(event.getInteraction()).thenReturn(interaction);
+        when(event.getClient()).thenReturn(client);
+        when(event.getCommandId()).thenReturn(COMMAND_ID);
+        when(event.getCommandName()).thenReturn(COMMAND_NAME);
+        when(interaction.getGuildId()).thenReturn(Optional.of(GUILD_ID));
+        return event;
+    }
+
+    /**
+     * A guild user command which only collects its data.
+     */
+    private static final class TestCommand extends UserCommand {
+        private final Function<UserContextBuilder, ContextBuilder> requestData;
+
+        /**
+         * @param requestData sets the data the command needs
+         */
+        private TestCommand(Function<UserContextBuilder, ContextBuilder> requestData) {
+            super(COMMAND_NAME);
+            this.requestData = requestData;
+        }
+
+        @Override
+        public UserContextBuilder setRequestData(UserContextBuilder contextBuilder) {
+            return (UserContextBuilder) requestData.apply(contextBuilder);
+        }
+
+        @Override
+        public Mono<UserContext> executeUser(UserContext context) {
+            return Mono.just(context);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package dev.hc224.slashlib.context;
+
+import discord4j.core.event.domain.interaction.DeferrableInteractionEvent;
+import discord4j.core.object.entity.Message;
+import discord4j.core.spec.InteractionApplicationCommandCallbackSpec;
+import discord4j.core.spec.InteractionFollowupCreateSpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InteractionResponderTest {
+    private DeferrableInteractionEvent event;
+    // Completes the initial reply, as Discord acknowledging it
+    private Sinks.Empty<Void> replyAcknowledged;
+    // Counts subscriptions to the initial reply, each of which would be a request to Discord
+    private AtomicInteger replies;
+    // Counts subscriptions to follow-ups, each of which would be a request to Discord
+    private AtomicInteger followups;
+
+    @BeforeEach
+    void setUp() {
+        event = mock(DeferrableInteractionEvent.class);
+        replyAcknowledged = Sinks.empty();
+        replies = new AtomicInteger();
+        followups = new AtomicInteger();
+
+        when(event.reply(any(InteractionApplicationCommandCallbackSpec.class))).thenReturn(Mono.defer(() -> {
+            replies.incrementAndGet();
+            return replyAcknowledged.asMono();
+        }));
+        when(event.createFollowup(any(InteractionFollowupCreateSpec.class))).thenReturn(Mono.defer(() -> {
+            followups.incrementAndGet();
+            return Mono.just(mock(Message.class));
+        }));
+    }
+
+    @Test
+    void followupWaitsForInitialReply() {
+        InteractionResponder responder = new InteractionResponder(event);
+
+        responder.reply("first").subscribe();
+        responder.reply("second").subscribe();
+
+        assertTrue(responder.hasResponded());
+        assertFalse(responder.isDeferred());
+        assertEquals(1, replies.get());
+        assertEquals(0, followups.get());
+
+        replyAcknowledged.tryEmitEmpty();
+
+        assertEquals(1, replies.get());
+        assertEquals(1, followups.get());
+    }
+}
@@ -0,0 +1,83 @@
+package dev.hc224.slashlib.context;
+
+import discord4j.common.util.Snowflake;
+import discord4j.core.GatewayDiscordClient;
+import discord4j.core.event.domain.interaction.MessageInteractionEvent;
+import discord4j.core.object.command.Interaction;
+import discord4j.core.object.entity.Member;
+import discord4j.core.object.entity.Message;
+import discord4j.core.object.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MessageContextBuilderTest {
+    private static final Snowflake GUILD_ID = Snowflake.of(1);
+    private static final Snowflake AUTHOR_ID = Snowflake.of(2);
+
+    private MessageInteractionEvent event;
+    private Message message;
+    private User author;
+    private Member authorAsMember;
+    // Counts subscriptions to the target message of the event, each of which would be a request to Discord
+    private AtomicInteger messageFetches;
+
+    @BeforeEach
+    void setUp() {
+        event = mock(MessageInteractionEvent.class);
+        Interaction interaction = mock(Interaction.class);
+        GatewayDiscordClient client = mock(GatewayDiscordClient.class);
+        message = mock(Message.class);
+        author = mock(User.class);
+        authorAsMember = mock(Member.class);
+        messageFetches = new AtomicInteger();
+
+        when(event.getInteraction()).thenReturn(interaction);
+        when(event.getClient()).thenReturn(client);
+        when(interaction.getGuildId()).thenReturn(Optional.of(GUILD_ID));
+        when(event.getTargetMessage()).thenReturn(Mono.defer(() -> {
+            messageFetches.incrementAndGet();
+            return Mono.just(message);
+        }));
+        when(message.getAuthor()).thenReturn(Optional.of(author));
+        when(author.getId()).thenReturn(AUTHOR_ID);
+        when(client.getMemberById(GUILD_ID, AUTHOR_ID)).thenReturn(Mono.just(authorAsMember));
+    }
+
+    @Test
+    void collectingMessageAndAuthorsFetchesMessageOnce() {
+        MessageContextBuilder builder = new MessageContextBuilder(event)
+            .requireMessage()
+            .requireMessageAuthor()
+            .requireMessageAuthorAsMember();
+
+        builder.collectData().block();
+
+        assertEquals(1, messageFetches.get());
+        assertSame(message, builder.getTargetMessage());
+        assertSame(author, builder.getMessageAuthor());
+        assertSame(authorAsMember, builder.getMessageAuthorAsMember());
+        assertTrue(builder.build().doesAllRequestedDataExist());
+    }
+
+    @Test
+    void sourcesShareOneFetch() {
+        MessageContextBuilder builder = new MessageContextBuilder(event);
+
+        assertSame(authorAsMember, builder.getMessageAuthorAsMemberSource().block());
+        assertSame(author, builder.getMessageAuthorSource().block());
+        assertSame(message, builder.getTargetMessageSource().block());
+        assertSame(author, builder.getMessageAuthorSource().block());
+
+        assertEquals(1, messageFetches.get());
+    }
+}
@@ -1,12 +1,11 @@
 package dev.hc224.slashlib.example.basic.interactions.chat.info;
 
-import dev.hc224.slashlib.commands.standard.SubCommand;
+import dev.hc224.slashlib.commands.standard.BlockingSubCommand;
 import dev.hc224.slashlib.context.ChatContext;
 import dev.hc224.slashlib.context.ChatContextBuilder;
 import discord4j.core.spec.EmbedCreateSpec;
 import discord4j.core.spec.InteractionApplicationCommandCallbackSpec;
 import discord4j.rest.util.Image;
-import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -14,7 +13,7 @@ import java.util.List;
  * An example chat input interaction which belongs to a top or mid level group.
  * This command can be called with `/info guild`
  */
-class InfoGuild extends SubCommand {
+class InfoGuild extends BlockingSubCommand {
     /**
      * Create a new instance of this class, we have no options to set for it.
      * But do note, due to how the classes are arranged in the packages this
@@ -28,19 +27,15 @@ class InfoGuild extends SubCommand {
 
     /**
      * For this command we will focus on how to use blocking code.
-     * To do this we simply create a mono from the context then *map* to a locally created
-     *  non-reactive method.
+     * As this is a blocking command, this method is called on a thread where blocking
+     *  is allowed instead of a reactive execute method, so we can block directly.
      *
      * @param context a {@link ChatContext} provided by SlashLib with some data provided about the interaction.
      * @return the same context provided
      */
     @Override
-    public Mono<ChatContext> executeChat(ChatContext context) {
-        return Mono.just(context).map(this::executeChatBlocking);
-    }
-
     @SuppressWarnings("OptionalGetWithoutIsPresent") // We can safely call Optional#get() for the guild since we required it
-    private ChatContext executeChatBlocking(ChatContext context) {
+    public ChatContext executeChatBlocking(ChatContext context) {
         EmbedCreateSpec.Builder embed = EmbedCreateSpec.builder();
 
         embed.title(context.getGuild().get().getName());
@@ -51,28 +51,21 @@ public class ContextExampleBot {
         // Create an EventDispatcher we will register SlashLib with
         EventDispatcher dispatcher = EventDispatcher.builder().build();
 
-        // Things get dirty here, the GenericSlashLibBuilder must be provided the classes
-        //  of the context classes, it will find the constructors for each builder.
-        // As a result, a `NoSuchMethod` exception can be thrown when obtaining the constructors.
-        // Although, this should not happen if the classes are properly extended and the constructor
-        //  is overloaded.
+        // The GenericSlashLibBuilder must be provided a way to create each context builder and
+        //  a way to build each context. Constructor and method references do both without reflection.
+        // The context classes can be provided instead, but the constructors are then looked up
+        //  at runtime and a `NoSuchMethod` exception can be thrown.
 
         // Setup SlashLib and add Interactions
         GenericSlashLibBuilder<
                 CustomChatContext, CustomChatContextBuilder,
                 UserContext, UserContextBuilder, MessageContext, MessageContextBuilder
-                > slashLibBuilder = null;
-        try {
-             slashLibBuilder = new GenericSlashLibBuilder<>(
-                // Provide our custom classes
-                CustomChatContext.class, CustomChatContextBuilder.class,
-                // Provided the default classes
-                     UserContext.class, UserContextBuilder.class, MessageContext.class, MessageContextBuilder.class
-             );
-        } catch (NoSuchMethodException nsme) {
-            logger.error("Couldn't get constructors for custom classes, this may be a Java version error!");
-            System.exit(-1);
-        }
+                > slashLibBuilder = new GenericSlashLibBuilder<>(
+            // Provide our custom classes
+            CustomChatContextBuilder::new, CustomChatContextBuilder::build,
+            // Provided the default classes
+            UserContextBuilder::new, UserContextBuilder::build, MessageContextBuilder::new, MessageContextBuilder::build
+        );
 
         // From here on, things are much more normal.
         // Add Chat Input commands, the types will match for these.
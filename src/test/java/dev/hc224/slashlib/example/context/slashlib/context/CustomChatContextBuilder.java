@@ -26,8 +26,8 @@ public class CustomChatContextBuilder extends ChatContextBuilder {
 
     /**
      * While not an abstract class (anymore) there must be an override here to
-     *  construct an instance of the class. If you don't then your commands will silently be
-     *  dropped!
+     *  construct an instance of the class. The covariant return type lets this method be used
+     *  directly as the context factory with {@code CustomChatContextBuilder::build}.
      *
      * @return a new {@link CustomChatContext} created based on data collected from this class
      */
@@ -0,0 +1,66 @@
+package dev.hc224.slashlib.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketStoreTest {
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Test
+    void cooldownLongerThanWheelIsSweptWithoutHanging() {
+        TokenBucketStore store = new TokenBucketStore(1, Duration.ofMinutes(5));
+        long start = System.nanoTime();
+        assertTimeoutPreemptively(TIMEOUT, () -> {
+            assertEquals(0, store.tryAcquire(1, start));
+            // Every tick, including gaps larger than the wheel, while the bucket is further away than the wheel spans
+            for (long seconds = 1; seconds <= 400; seconds += (seconds % 50 == 0) ? 70 : 1) {
+                store.tryAcquire(2, start + seconds * SECOND);
+            }
+        });
+    }
+
+    @Test
+    void cooldownAllowsOneUsePerPeriod() {
+        TokenBucketStore store = new TokenBucketStore(1, Duration.ofMinutes(5));
+        long start = System.nanoTime();
+        assertTimeoutPreemptively(TIMEOUT, () -> {
+            assertEquals(0, store.tryAcquire(1, start));
+            assertTrue(store.tryAcquire(1, start + 2 * SECOND) > 0);
+            // Other IDs have their own bucket
+            assertEquals(0, store.tryAcquire(2, start + 2 * SECOND));
+            assertEquals(0, store.tryAcquire(1, start + 301 * SECOND));
+        });
+    }
+
+    @Test
+    void fullBucketsAreRemoved() {
+        TokenBucketStore store = new TokenBucketStore(1, Duration.ofSeconds(100));
+        long start = System.nanoTime();
+        assertTimeoutPreemptively(TIMEOUT, () -> {
+            for (long id = 1; id <= 10; id++) {
+                assertEquals(0, store.tryAcquire(id, start));
+            }
+            for (long seconds = 1; seconds <= 250; seconds++) {
+                store.tryAcquire(0, start + seconds * SECOND);
+            }
+        });
+        // Only the bucket used to step through time can remain
+        assertTrue(store.size() <= 1);
+    }
+
+    @Test
+    void releasedTokenCanBeTakenAgain() {
+        TokenBucketStore store = new TokenBucketStore(1, Duration.ofMinutes(5));
+        long start = System.nanoTime();
+        assertEquals(0, store.tryAcquire(1, start));
+        store.release(1);
+        assertEquals(0, store.tryAcquire(1, start));
+        assertTrue(store.tryAcquire(1, start) > 0);
+    }
+}